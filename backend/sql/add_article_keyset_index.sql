@@ -0,0 +1,4 @@
+-- 为文章游标分页添加复合索引
+-- 游标分页按 (create_time DESC, id DESC) 定位，deleted 作为前导列过滤逻辑删除数据
+
+ALTER TABLE articles ADD INDEX idx_deleted_create_time_id (deleted, create_time DESC, id DESC);
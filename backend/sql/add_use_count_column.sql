@@ -3,12 +3,13 @@
 
 ALTER TABLE tags ADD COLUMN use_count INT DEFAULT 0 COMMENT '使用次数' AFTER description;
 
--- 更新现有数据的 use_count 值（基于 article_tags 关联表）
+-- 更新现有数据的 use_count 值（基于 article_tags 关联表，只统计未删除的文章，与应用定时对账的口径一致）
 UPDATE tags t
 LEFT JOIN (
-    SELECT tag_id, COUNT(*) as count
-    FROM article_tags
-    GROUP BY tag_id
+    SELECT r.tag_id, COUNT(*) as count
+    FROM article_tags r
+    JOIN articles a ON a.id = r.article_id AND a.deleted = 0
+    GROUP BY r.tag_id
 ) at ON t.id = at.tag_id
 SET t.use_count = COALESCE(at.count, 0)
 WHERE t.deleted = 0;
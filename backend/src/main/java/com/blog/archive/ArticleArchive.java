@@ -0,0 +1,211 @@
+package com.blog.archive;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.domain.po.Articles;
+import com.blog.domain.vo.ArchiveYearVO;
+import com.blog.enums.ArticleStatus;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.mapper.ArticlesMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 文章归档
+ *
+ * <p>按发布时间把已发布文章放入月份桶，桶内按发布时间倒序排列；由文章变更事件增量维护，
+ * 归档树与月份分页都直接读内存，不对文章表做 GROUP BY</p>
+ * <p>归档树在内容变化后首次读取时重建并缓存；启动时及定时任务全量加载对账，用于同步其他实例上的变更</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleArchive {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ArticlesMapper articlesMapper;
+
+    /**
+     * 以下状态只在持有锁时读写
+     */
+    private final Map<Long, LocalDateTime> publishTimes = new HashMap<>();
+    private final TreeMap<YearMonth, TreeSet<Long>> buckets = new TreeMap<>(Comparator.reverseOrder());
+    private final Comparator<Long> newestFirst = Comparator
+            .comparing((Long id) -> publishTimes.get(id)).reversed()
+            .thenComparing(Comparator.reverseOrder());
+
+    private volatile List<ArchiveYearVO> tree;
+
+    /**
+     * 月份分页结果
+     *
+     * @param total 该月文章总数
+     * @param ids 当前页文章ID，按发布时间倒序
+     */
+    public record MonthPage(int total, List<Long> ids) {
+    }
+
+    /**
+     * 获取归档树，按年、月倒序
+     */
+    public List<ArchiveYearVO> tree() {
+        List<ArchiveYearVO> current = tree;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (tree == null) {
+                tree = render();
+            }
+            return tree;
+        }
+    }
+
+    /**
+     * 分页获取某月的文章ID
+     *
+     * @param year 年
+     * @param month 月
+     * @param pageNo 页码，从1开始
+     * @param pageSize 每页数量
+     */
+    public synchronized MonthPage page(int year, int month, int pageNo, int pageSize) {
+        TreeSet<Long> bucket = buckets.get(YearMonth.of(year, month));
+        if (bucket == null) {
+            return new MonthPage(0, List.of());
+        }
+        long from = (long) (pageNo - 1) * pageSize;
+        List<Long> ids = new ArrayList<>(Math.min(pageSize, bucket.size()));
+        Iterator<Long> iterator = bucket.iterator();
+        for (long i = 0; iterator.hasNext() && ids.size() < pageSize; i++) {
+            Long id = iterator.next();
+            if (i >= from) {
+                ids.add(id);
+            }
+        }
+        return new MonthPage(bucket.size(), ids);
+    }
+
+    /**
+     * 文章发布时放入对应月份，下架、删除时移出，发布时间修改时换桶
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onArticleChanged(ArticleChangedEvent event) {
+        boolean changed = false;
+        for (ArticleChangedEvent.Change change : event.getChanges()) {
+            changed |= remove(change.getId());
+            Articles after = change.getAfter();
+            if (after != null && Integer.valueOf(ArticleStatus.PUBLISHED.getValue()).equals(after.getStatus())) {
+                add(after.getId(), publishTime(after));
+                changed = true;
+            }
+        }
+        if (changed) {
+            tree = null;
+        }
+    }
+
+    /**
+     * 对账：全量加载已发布文章的发布时间
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${blog.archive.reconcile-interval:10m}",
+            fixedDelayString = "${blog.archive.reconcile-interval:10m}")
+    public void reconcile() {
+        try {
+            Map<Long, LocalDateTime> fresh = new HashMap<>();
+            long lastId = 0;
+            while (true) {
+                List<Articles> batch = articlesMapper.selectList(Wrappers.<Articles>lambdaQuery()
+                        .select(Articles::getId, Articles::getPublishTime, Articles::getCreateTime)
+                        .eq(Articles::getStatus, ArticleStatus.PUBLISHED.getValue())
+                        .gt(Articles::getId, lastId)
+                        .orderByAsc(Articles::getId)
+                        .last("LIMIT " + BATCH_SIZE));
+                for (Articles article : batch) {
+                    fresh.put(article.getId(), publishTime(article));
+                }
+                if (batch.size() < BATCH_SIZE) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            synchronized (this) {
+                if (!fresh.equals(publishTimes)) {
+                    buckets.clear();
+                    publishTimes.clear();
+                    fresh.forEach(this::add);
+                    tree = null;
+                }
+            }
+            log.info("文章归档对账完成 - 已发布文章：{}", fresh.size());
+        } catch (Exception e) {
+            log.error("文章归档对账失败", e);
+        }
+    }
+
+    private void add(Long id, LocalDateTime publishTime) {
+        if (publishTime == null) {
+            return;
+        }
+        publishTimes.put(id, publishTime);
+        buckets.computeIfAbsent(YearMonth.from(publishTime), k -> new TreeSet<>(newestFirst)).add(id);
+    }
+
+    private boolean remove(Long id) {
+        LocalDateTime publishTime = publishTimes.get(id);
+        if (publishTime == null) {
+            return false;
+        }
+        YearMonth key = YearMonth.from(publishTime);
+        TreeSet<Long> bucket = buckets.get(key);
+        // 先从有序集合移除，比较器依赖 publishTimes
+        if (bucket != null) {
+            bucket.remove(id);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+        publishTimes.remove(id);
+        return true;
+    }
+
+    private List<ArchiveYearVO> render() {
+        List<ArchiveYearVO> years = new ArrayList<>();
+        ArchiveYearVO year = null;
+        for (Map.Entry<YearMonth, TreeSet<Long>> entry : buckets.entrySet()) {
+            YearMonth key = entry.getKey();
+            if (year == null || year.getYear() != key.getYear()) {
+                year = new ArchiveYearVO().setYear(key.getYear()).setCount(0).setMonths(new ArrayList<>());
+                years.add(year);
+            }
+            int count = entry.getValue().size();
+            year.setCount(year.getCount() + count);
+            year.getMonths().add(new ArchiveYearVO.MonthVO().setMonth(key.getMonthValue()).setCount(count));
+        }
+        return years;
+    }
+
+    private static LocalDateTime publishTime(Articles article) {
+        return article.getPublishTime() != null ? article.getPublishTime() : article.getCreateTime();
+    }
+}
@@ -0,0 +1,241 @@
+package com.blog.batch;
+
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.cache.ArticleDetailCache;
+import com.blog.domain.dto.ArticleBatchDTO;
+import com.blog.domain.dto.BatchJobProgress;
+import com.blog.domain.po.Articles;
+import com.blog.enums.OperationType;
+import com.blog.event.ArticleChangePublisher;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.mapper.CategoryMapper;
+import com.blog.publish.ScheduledPublisher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 文章批量操作引擎
+ *
+ * <p>按 {@code blog.batch.chunk-size} 分块执行，每块一个独立事务：先取状态快照（不含正文）筛出满足条件的文章，
+ * 再执行带同样条件的 UPDATE，以影响行数作为实际变更数；中途失败时已提交的分块保持生效</p>
+ * <p>文章数超过 {@code blog.batch.async-threshold} 时提交到后台线程池，立即返回任务ID，进度通过任务ID查询</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+public class ArticleBatchEngine {
+
+    private static final String STATUS_RUNNING = "running";
+    private static final String STATUS_COMPLETED = "completed";
+    private static final String STATUS_FAILED = "failed";
+
+    private final ArticlesMapper articlesMapper;
+    private final CategoryMapper categoryMapper;
+    private final ArticleDetailCache articleDetailCache;
+    private final ArticleChangePublisher articleChangePublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+
+    /**
+     * 任务进度，结束后保留一段时间供查询
+     */
+    private final Cache<String, BatchJobProgress> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    @Value("${blog.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${blog.batch.async-threshold:2000}")
+    private int asyncThreshold;
+
+    public ArticleBatchEngine(ArticlesMapper articlesMapper,
+                              CategoryMapper categoryMapper,
+                              ArticleDetailCache articleDetailCache,
+                              ArticleChangePublisher articleChangePublisher,
+                              TransactionTemplate transactionTemplate,
+                              @Qualifier("articleBatchExecutor") ThreadPoolTaskExecutor executor) {
+        this.articlesMapper = articlesMapper;
+        this.categoryMapper = categoryMapper;
+        this.articleDetailCache = articleDetailCache;
+        this.articleChangePublisher = articleChangePublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+    }
+
+    /**
+     * 提交批量操作
+     * @param dto 批量操作参数
+     * @return 任务进度：同步执行时为最终结果，中途失败但已有分块提交时状态为 failed 并带有已变更数；异步执行时为初始状态
+     */
+    public BatchJobProgress submit(ArticleBatchDTO dto) {
+        OperationType type = dto.getOperationType();
+        if (type == null) {
+            throw new RuntimeException("操作类型不能为空");
+        }
+        if (dto.getIds() == null || dto.getIds().isEmpty()) {
+            throw new RuntimeException("文章ID列表不能为空");
+        }
+        if (type == OperationType.CATEGORY_MOVE) {
+            if (dto.getTargetCategoryId() == null) {
+                throw new RuntimeException("目标分类ID不能为空");
+            }
+            if (categoryMapper.selectById(dto.getTargetCategoryId()) == null) {
+                throw new RuntimeException("目标分类不存在");
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(dto.getIds()));
+        ids.removeIf(Objects::isNull);
+        boolean async = ids.size() > asyncThreshold;
+        BatchJobProgress progress = BatchJobProgress.builder()
+                .jobId(UUID.randomUUID().toString())
+                .operationType(type)
+                .async(async)
+                .total(ids.size())
+                .startTime(LocalDateTime.now())
+                .build();
+        jobs.put(progress.getJobId(), progress);
+
+        if (async) {
+            try {
+                executor.execute(() -> run(progress, dto, ids));
+            } catch (RejectedExecutionException e) {
+                // 队列已满时任务不会执行，标记失败，避免进度一直停留在运行中
+                progress.setError("批量任务繁忙，请稍后重试");
+                progress.setStatus(STATUS_FAILED);
+                progress.setEndTime(LocalDateTime.now());
+                log.warn("{}任务被拒绝，任务ID：{}，提交：{}", type.getDesc(), progress.getJobId(), ids.size());
+                throw new RuntimeException(progress.getError());
+            }
+            return progress;
+        }
+        run(progress, dto, ids);
+        if (STATUS_FAILED.equals(progress.getStatus())) {
+            // 已提交的分块不会回滚，有变更时返回部分结果，由调用方根据状态和变更数处理
+            if (progress.getAffected() > 0) {
+                return progress;
+            }
+            throw new RuntimeException(type.getDesc() + "失败：" + progress.getError());
+        }
+        if (progress.getAffected() == 0) {
+            throw new RuntimeException("未找到可" + type.getDesc() + "的文章");
+        }
+        return progress;
+    }
+
+    /**
+     * 查询任务进度
+     * @param jobId 任务ID
+     * @return 任务进度，不存在或已过期时返回null
+     */
+    public BatchJobProgress getProgress(String jobId) {
+        return jobs.getIfPresent(jobId);
+    }
+
+    private void run(BatchJobProgress progress, ArticleBatchDTO dto, List<Long> ids) {
+        LocalDateTime publishTime = dto.getPublishTime() != null ? dto.getPublishTime() : LocalDateTime.now();
+        try {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + chunkSize));
+                Integer affected = transactionTemplate.execute(status ->
+                        executeChunk(dto.getOperationType(), chunk, dto.getTargetCategoryId(), publishTime));
+                progress.setProcessed(progress.getProcessed() + chunk.size());
+                progress.setAffected(progress.getAffected() + (affected == null ? 0 : affected));
+            }
+            progress.setStatus(STATUS_COMPLETED);
+            log.info("{}完成，任务ID：{}，提交：{}，变更：{}，原因：{}", dto.getOperationType().getDesc(),
+                    progress.getJobId(), progress.getTotal(), progress.getAffected(), dto.getReason());
+        } catch (Exception e) {
+            progress.setError(e.getMessage());
+            progress.setStatus(STATUS_FAILED);
+            log.error("{}失败，任务ID：{}，已处理：{}/{}", dto.getOperationType().getDesc(),
+                    progress.getJobId(), progress.getProcessed(), progress.getTotal(), e);
+        } finally {
+            progress.setEndTime(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 执行一个分块，返回实际变更的文章数
+     */
+    private int executeChunk(OperationType type, List<Long> chunk, Long targetCategoryId, LocalDateTime publishTime) {
+        Predicate<Articles> eligible = eligibility(type, targetCategoryId);
+        Map<Long, Articles> before = articleChangePublisher.snapshot(chunk).values().stream()
+                .filter(eligible)
+                .collect(Collectors.toMap(Articles::getId, article -> article));
+        if (before.isEmpty()) {
+            return 0;
+        }
+
+        LambdaUpdateWrapper<Articles> update = Wrappers.<Articles>lambdaUpdate()
+                .in(Articles::getId, before.keySet())
+                .set(Articles::getUpdateTime, LocalDateTime.now());
+        // UPDATE 条件与快照筛选一致，防止快照之后被并发修改的文章被误更新
+        switch (type) {
+            case BATCH_DELETE -> update.set(Articles::getDeleted, true);
+            case BATCH_PUBLISH -> update.in(Articles::getStatus, 0, 2, 4)
+                    .set(Articles::getStatus, ScheduledPublisher.isScheduled(publishTime) ? 4 : 1)
+                    .set(Articles::getPublishTime, publishTime);
+            case BATCH_UNPUBLISH -> update.in(Articles::getStatus, 1, 4)
+                    .set(Articles::getStatus, 2);
+            case BATCH_SET_TOP -> update.eq(Articles::getIsTop, false)
+                    .set(Articles::getIsTop, true);
+            case BATCH_CANCEL_TOP -> update.eq(Articles::getIsTop, true)
+                    .set(Articles::getIsTop, false);
+            case BATCH_SET_FEATURED -> update.and(w -> w.isNull(Articles::getIsRecommend).or().ne(Articles::getIsRecommend, 1))
+                    .set(Articles::getIsRecommend, 1);
+            case BATCH_CANCEL_FEATURED -> update.eq(Articles::getIsRecommend, 1)
+                    .set(Articles::getIsRecommend, 0);
+            case CATEGORY_MOVE -> update.and(w -> w.isNull(Articles::getCategoryId).or().ne(Articles::getCategoryId, targetCategoryId))
+                    .set(Articles::getCategoryId, targetCategoryId);
+            default -> throw new RuntimeException("不支持的操作类型: " + type.getDesc());
+        }
+        int affected = articlesMapper.update(null, update);
+        if (affected > 0) {
+            articleDetailCache.evict(before.keySet());
+            articleChangePublisher.publish(before, articleChangePublisher.snapshot(before.keySet()));
+        }
+        return affected;
+    }
+
+    /**
+     * 与 UPDATE 条件一致的快照筛选条件
+     */
+    private static Predicate<Articles> eligibility(OperationType type, Long targetCategoryId) {
+        return switch (type) {
+            case BATCH_DELETE -> article -> true;
+            case BATCH_PUBLISH -> article -> Integer.valueOf(0).equals(article.getStatus())
+                    || Integer.valueOf(2).equals(article.getStatus())
+                    || Integer.valueOf(4).equals(article.getStatus());
+            case BATCH_UNPUBLISH -> article -> Integer.valueOf(1).equals(article.getStatus())
+                    || Integer.valueOf(4).equals(article.getStatus());
+            case BATCH_SET_TOP -> article -> Boolean.FALSE.equals(article.getIsTop());
+            case BATCH_CANCEL_TOP -> article -> Boolean.TRUE.equals(article.getIsTop());
+            case BATCH_SET_FEATURED -> article -> !Integer.valueOf(1).equals(article.getIsRecommend());
+            case BATCH_CANCEL_FEATURED -> article -> Integer.valueOf(1).equals(article.getIsRecommend());
+            case CATEGORY_MOVE -> article -> !targetCategoryId.equals(article.getCategoryId());
+        };
+    }
+}
@@ -0,0 +1,223 @@
+package com.blog.cache;
+
+import com.blog.domain.vo.ArticleDetailVO;
+import com.blog.utils.CollUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 文章详情二级缓存
+ *
+ * <p>L1 为进程内 Caffeine 缓存（容量与过期时间有界），L2 为多节点共享的 Redis 缓存</p>
+ * <p>写操作在事务提交后删除两级缓存，并通过 Redis 频道广播通知其他节点清理 L1</p>
+ * <p>每篇文章在 Redis 中另有一个代数，删除缓存时递增；回源前先读取代数，回填 L2 时代数已变化说明期间发生过删除，
+ * 读到的可能是旧数据，放弃回填，避免旧值在删除之后被写回</p>
+ * <p>返回的对象为缓存共享实例，调用方不得直接修改</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+public class ArticleDetailCache implements MessageListener {
+
+    private static final String KEY_PREFIX = "blog:article:detail:";
+    private static final String GENERATION_PREFIX = "blog:article:detail:gen:";
+    private static final String EVICT_CHANNEL = "blog:article:detail:evict";
+    private static final String METRIC_NAME = "blog.cache.article.detail";
+
+    /**
+     * 代数未变化时写入缓存：KEYS[1] 缓存键，KEYS[2] 代数键；ARGV[1] 回源前读到的代数，ARGV[2] 缓存值，ARGV[3] 过期毫秒数
+     */
+    private static final RedisScript<Long> WRITE_IF_CURRENT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) return 1", Long.class);
+
+    /**
+     * 删除缓存并递增代数：KEYS 依次为每篇文章的缓存键、代数键；ARGV[1] 代数键过期毫秒数
+     */
+    private static final RedisScript<Long> INVALIDATE = new DefaultRedisScript<>(
+            "for i = 1, #KEYS, 2 do redis.call('DEL', KEYS[i]) redis.call('INCR', KEYS[i + 1]) " +
+            "redis.call('PEXPIRE', KEYS[i + 1], ARGV[1]) end return #KEYS / 2", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Duration remoteTtl;
+    private final Cache<Long, ArticleDetailVO> localCache;
+
+    private final Counter localHitCounter;
+    private final Counter remoteHitCounter;
+    private final Counter missCounter;
+
+    public ArticleDetailCache(StringRedisTemplate stringRedisTemplate,
+                              ObjectMapper objectMapper,
+                              RedisMessageListenerContainer listenerContainer,
+                              MeterRegistry meterRegistry,
+                              @Value("${blog.cache.article-detail.local-max-size:10000}") long localMaxSize,
+                              @Value("${blog.cache.article-detail.local-ttl:60s}") Duration localTtl,
+                              @Value("${blog.cache.article-detail.remote-ttl:30m}") Duration remoteTtl) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+        this.remoteTtl = remoteTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        this.localHitCounter = meterRegistry.counter(METRIC_NAME, "level", "l1", "result", "hit");
+        this.remoteHitCounter = meterRegistry.counter(METRIC_NAME, "level", "l2", "result", "hit");
+        this.missCounter = meterRegistry.counter(METRIC_NAME, "level", "db", "result", "miss");
+        meterRegistry.gauge(METRIC_NAME + ".size", localCache, Cache::estimatedSize);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    /**
+     * 读取文章详情，依次查询 L1、L2，均未命中时调用 loader 回源并回填两级缓存
+     *
+     * @param id 文章ID
+     * @param loader 回源加载函数
+     * @return 文章详情
+     */
+    public ArticleDetailVO get(Long id, Function<Long, ArticleDetailVO> loader) {
+        ArticleDetailVO cached = localCache.getIfPresent(id);
+        if (cached != null) {
+            localHitCounter.increment();
+            return cached;
+        }
+        // 同一节点上并发的未命中请求只会回源一次
+        return localCache.get(id, key -> {
+            Remote remote = readRemote(key);
+            if (remote.value() != null) {
+                remoteHitCounter.increment();
+                return remote.value();
+            }
+            missCounter.increment();
+            ArticleDetailVO loaded = loader.apply(key);
+            if (loaded != null && remote.generation() != null) {
+                writeRemote(key, remote.generation(), loaded);
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * 删除指定文章的缓存；若当前处于事务中，则在事务提交后再删除，避免并发读把旧数据重新写回缓存
+     *
+     * @param ids 文章ID集合
+     */
+    public void evict(Collection<Long> ids) {
+        if (CollUtils.isEmpty(ids)) {
+            return;
+        }
+        List<Long> snapshot = List.copyOf(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(snapshot);
+                }
+            });
+        } else {
+            doEvict(snapshot);
+        }
+    }
+
+    public void evict(Long id) {
+        evict(List.of(id));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        List<Long> ids = Arrays.stream(body.split(","))
+                .filter(s -> !s.isBlank())
+                .map(Long::valueOf)
+                .toList();
+        localCache.invalidateAll(ids);
+    }
+
+    private void doEvict(List<Long> ids) {
+        localCache.invalidateAll(ids);
+        try {
+            List<String> keys = new ArrayList<>(ids.size() * 2);
+            for (Long id : ids) {
+                keys.add(KEY_PREFIX + id);
+                keys.add(GENERATION_PREFIX + id);
+            }
+            // 代数键须比任何一次回源都存活得久，与 L2 同样的过期时间足够
+            stringRedisTemplate.execute(INVALIDATE, keys, String.valueOf(remoteTtl.toMillis()));
+            stringRedisTemplate.convertAndSend(EVICT_CHANNEL, CollUtils.join(ids, ","));
+        } catch (Exception e) {
+            // L2 设有过期时间，删除失败时最多在 remoteTtl 内读到旧数据
+            log.warn("删除文章详情Redis缓存失败，ids：{}", ids, e);
+        }
+    }
+
+    /**
+     * 一次读取缓存值与当前代数，读取失败时两者均为null，不再回填
+     */
+    private Remote readRemote(Long id) {
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(List.of(KEY_PREFIX + id, GENERATION_PREFIX + id));
+            if (values == null) {
+                return new Remote(null, null);
+            }
+            String json = values.get(0);
+            String generation = values.get(1) == null ? "0" : values.get(1);
+            return new Remote(json == null ? null : objectMapper.readValue(json, ArticleDetailVO.class), generation);
+        } catch (Exception e) {
+            log.warn("读取文章详情Redis缓存失败，id：{}", id, e);
+            return new Remote(null, null);
+        }
+    }
+
+    private void writeRemote(Long id, String generation, ArticleDetailVO vo) {
+        try {
+            stringRedisTemplate.execute(WRITE_IF_CURRENT, List.of(KEY_PREFIX + id, GENERATION_PREFIX + id),
+                    generation, objectMapper.writeValueAsString(vo), String.valueOf(remoteTtl.toMillis()));
+        } catch (JsonProcessingException e) {
+            log.warn("序列化文章详情失败，id：{}", id, e);
+        } catch (Exception e) {
+            log.warn("写入文章详情Redis缓存失败，id：{}", id, e);
+        }
+    }
+
+    /**
+     * L2 读取结果
+     *
+     * @param value 缓存的详情，未命中时为null
+     * @param generation 读取时的代数，读取失败时为null
+     */
+    private record Remote(ArticleDetailVO value, String generation) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.blog.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 文章详情响应缓存
+ *
+ * <p>缓存 {@code Result<ArticleDetailVO>} 序列化后的最终字节，包括原始和 gzip 两种编码，
+ * 以文章 ETag（即 id 与版本）为键；命中时按 Accept-Encoding 直接写出，不再经过 Jackson 序列化和压缩</p>
+ * <p>按字节数计算权重淘汰，总量由 {@code blog.cache.article-response.max-size} 限制；
+ * 浏览量、相关文章等不改变文章版本的字段最多在 {@code ttl} 内保持旧值，与详情 L1 缓存一致</p>
+ * <p>序列化使用 {@code WebConfig} 中的 ObjectMapper，输出与正常响应一致</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+public class ArticleResponseCache {
+
+    private static final String METRIC_NAME = "blog.cache.article.response";
+
+    /**
+     * 小于该字节数的响应不压缩，压缩收益不足以抵消开销
+     */
+    private static final int MIN_COMPRESS_BYTES = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> cache;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public ArticleResponseCache(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${blog.cache.article-response.max-size:64MB}") DataSize maxSize,
+                                @Value("${blog.cache.article-response.ttl:60s}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, Entry entry) -> entry.weight())
+                .expireAfterWrite(ttl)
+                .build();
+        this.hitCounter = meterRegistry.counter(METRIC_NAME, "result", "hit");
+        this.missCounter = meterRegistry.counter(METRIC_NAME, "result", "miss");
+    }
+
+    /**
+     * 命中时直接写出缓存的响应
+     *
+     * @param etag 文章 ETag
+     * @return 是否已写出响应
+     */
+    public boolean serve(String etag, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Entry entry = cache.getIfPresent(etag);
+        if (entry == null) {
+            missCounter.increment();
+            return false;
+        }
+        hitCounter.increment();
+        entry.writeTo(request, response);
+        return true;
+    }
+
+    /**
+     * 序列化并缓存响应，然后写出
+     *
+     * @param etag 文章 ETag
+     * @param body 响应体
+     */
+    public void store(String etag, Object body, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] identity = objectMapper.writeValueAsBytes(body);
+        Entry entry = new Entry(identity, identity.length >= MIN_COMPRESS_BYTES ? gzip(identity) : null);
+        cache.put(etag, entry);
+        entry.writeTo(request, response);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accept == null) {
+            return false;
+        }
+        for (String part : accept.split(",")) {
+            String[] coding = part.trim().split(";");
+            if (coding[0].trim().equalsIgnoreCase("gzip")) {
+                // gzip;q=0 表示明确拒绝
+                return coding.length < 2 || !coding[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 同一响应的各编码版本
+     */
+    private record Entry(byte[] identity, byte[] gzip) {
+
+        int weight() {
+            return identity.length + (gzip == null ? 0 : gzip.length);
+        }
+
+        void writeTo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            byte[] body = identity;
+            if (gzip != null) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (acceptsGzip(request)) {
+                    response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                    body = gzip;
+                }
+            }
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
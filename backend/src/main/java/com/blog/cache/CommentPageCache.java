@@ -0,0 +1,100 @@
+package com.blog.cache;
+
+import com.blog.domain.dto.CursorPageDTO;
+import com.blog.domain.vo.CommentVO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 文章评论首页缓存
+ *
+ * <p>绝大多数访问只看第一页评论，按文章缓存默认页大小的第一页（含全部回复），后续页不缓存</p>
+ * <p>评论写入后在事务提交后清除本节点缓存，并通过 Redis 频道通知其他节点；另设过期时间兜底</p>
+ * <p>返回的对象为缓存共享实例，调用方不得直接修改</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+public class CommentPageCache implements MessageListener {
+
+    private static final String EVICT_CHANNEL = "blog:comment:page:evict";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Cache<Long, CursorPageDTO<CommentVO>> localCache;
+
+    public CommentPageCache(StringRedisTemplate stringRedisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            @Value("${blog.cache.comment-page.max-size:5000}") long maxSize,
+                            @Value("${blog.cache.comment-page.ttl:5m}") Duration ttl) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    /**
+     * 读取文章的评论首页，未命中时调用 loader 加载；同一节点上并发的未命中只加载一次
+     */
+    public CursorPageDTO<CommentVO> get(Long articleId, Function<Long, CursorPageDTO<CommentVO>> loader) {
+        return localCache.get(articleId, loader);
+    }
+
+    /**
+     * 清除文章的评论首页；若当前处于事务中，则在事务提交后再清除，避免并发读把旧数据重新写回缓存
+     */
+    public void evict(Long articleId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(articleId);
+                }
+            });
+        } else {
+            doEvict(articleId);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!body.isBlank()) {
+            localCache.invalidate(Long.valueOf(body));
+        }
+    }
+
+    private void doEvict(Long articleId) {
+        localCache.invalidate(articleId);
+        try {
+            stringRedisTemplate.convertAndSend(EVICT_CHANNEL, String.valueOf(articleId));
+        } catch (Exception e) {
+            // 本地缓存设有过期时间，广播失败时其他节点最多在 ttl 内读到旧数据
+            log.warn("广播评论缓存清除失败，articleId：{}", articleId, e);
+        }
+    }
+}
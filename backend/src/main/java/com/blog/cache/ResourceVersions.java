@@ -0,0 +1,302 @@
+package com.blog.cache;
+
+import com.blog.domain.po.Articles;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.utils.CollUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 资源版本号，用于条件请求（ETag / If-None-Match / Last-Modified）
+ *
+ * <p>文章详情的 ETag 由 (id, updateTime) 生成，列表的 ETag 由集合版本号生成；控制器在调用服务层之前
+ * 比较版本，未变化时直接返回 304</p>
+ * <p>集合版本号保存在 Redis 中，各节点共用同一序列，负载均衡后的 ETag 仍能匹配；本节点缓存版本号，
+ * 变更通过 Redis 频道广播，另每隔 {@link #SYNC_INTERVAL_MILLIS} 毫秒回读一次兜底。版本号以首次创建时的时间戳为起点，
+ * Redis 数据丢失后重新创建也不会与旧 ETag 误匹配；Redis 不可用时不返回集合 ETag，不再产生 304</p>
+ * <p>文章列表项带有浏览、点赞、评论数及分类、标签名称，除文章变更外，计数写回和分类、标签改名也要递增文章集合版本；
+ * 分类列表带文章数时由分类、文章两个集合的版本共同组成 ETag</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+public class ResourceVersions implements MessageListener {
+
+    public static final String ARTICLES = "articles";
+    public static final String CATEGORIES = "categories";
+
+    private static final String CHANNEL = "blog:resource:version";
+    private static final String VERSION_KEY_PREFIX = "blog:resource:version:";
+    private static final String ARTICLE_PREFIX = "article:";
+    private static final String COLLECTION_PREFIX = "collection:";
+
+    private static final long SYNC_INTERVAL_MILLIS = 5000;
+
+    /**
+     * 版本不存在时以当前时间戳初始化，返回 "版本:最后修改时间"
+     */
+    private static final RedisScript<String> SYNC = new DefaultRedisScript<>(
+            "if redis.call('HSETNX', KEYS[1], 'v', ARGV[1]) == 1 then redis.call('HSET', KEYS[1], 't', ARGV[1]) end " +
+            "return redis.call('HGET', KEYS[1], 'v') .. ':' .. (redis.call('HGET', KEYS[1], 't') or ARGV[1])", String.class);
+
+    /**
+     * 递增版本并记录修改时间，返回 "版本:最后修改时间"
+     */
+    private static final RedisScript<String> BUMP = new DefaultRedisScript<>(
+            "if redis.call('HSETNX', KEYS[1], 'v', ARGV[1]) == 0 then redis.call('HINCRBY', KEYS[1], 'v', 1) end " +
+            "redis.call('HSET', KEYS[1], 't', ARGV[1]) " +
+            "return redis.call('HGET', KEYS[1], 'v') .. ':' .. ARGV[1]", String.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, Version> collections = new ConcurrentHashMap<>();
+
+    /**
+     * 文章ID -> 更新时间（毫秒），只记录已知的文章，未知时由调用方回源后补充
+     */
+    private final Cache<Long, Long> articles = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .build();
+
+    public ResourceVersions(StringRedisTemplate stringRedisTemplate,
+                            RedisMessageListenerContainer listenerContainer) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 获取集合的强 ETag，传入多个集合时任一集合变化都会改变 ETag
+     *
+     * @return 任一版本未知（Redis 不可用）时返回null
+     */
+    public String collectionETag(String... collections) {
+        StringJoiner etag = new StringJoiner("-", "\"", "\"");
+        for (String collection : collections) {
+            long value = current(collection).value;
+            if (value < 0) {
+                return null;
+            }
+            etag.add(collection).add(String.valueOf(value));
+        }
+        return etag.toString();
+    }
+
+    /**
+     * 获取集合最后一次变更的时间（毫秒），传入多个集合时取最晚的一个，任一未知时返回-1
+     */
+    public long collectionLastModified(String... collections) {
+        long lastModified = -1;
+        for (String collection : collections) {
+            long value = current(collection).lastModified;
+            if (value < 0) {
+                return -1;
+            }
+            lastModified = Math.max(lastModified, value);
+        }
+        return lastModified;
+    }
+
+    /**
+     * 集合发生变更，递增共享版本并通知其他节点
+     */
+    public void bump(String collection) {
+        Version version = version(collection);
+        try {
+            long[] parsed = parse(stringRedisTemplate.execute(BUMP, List.of(VERSION_KEY_PREFIX + collection),
+                    String.valueOf(System.currentTimeMillis())));
+            version.advance(parsed[0], parsed[1]);
+            broadcast(COLLECTION_PREFIX + collection + ":" + parsed[0] + ":" + parsed[1]);
+        } catch (Exception e) {
+            // 无法递增共享版本时本节点停止返回 304，直到下次同步成功
+            version.unknown();
+            log.warn("递增资源版本失败：{}", collection, e);
+        }
+    }
+
+    /**
+     * 获取已知文章的强 ETag
+     *
+     * @return 文章版本未知时返回null
+     */
+    public String articleETag(Long id) {
+        Long updateTime = articles.getIfPresent(id);
+        return updateTime == null ? null : articleETag(id, updateTime);
+    }
+
+    /**
+     * 获取已知文章的最后修改时间（毫秒），未知时返回-1
+     */
+    public long articleLastModified(Long id) {
+        Long updateTime = articles.getIfPresent(id);
+        return updateTime == null ? -1 : updateTime;
+    }
+
+    /**
+     * 记录回源得到的文章更新时间并返回其 ETag；只接受更新的版本，读到旧数据时不会让已知版本回退
+     */
+    public String rememberArticle(Long id, LocalDateTime updateTime) {
+        if (updateTime == null) {
+            return null;
+        }
+        long millis = toMillis(updateTime);
+        articles.asMap().merge(id, millis, Math::max);
+        return articleETag(id, millis);
+    }
+
+    /**
+     * 文章变更后更新文章版本并递增文章集合版本
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        List<Long> ids = new ArrayList<>(event.getChanges().size());
+        for (ArticleChangedEvent.Change change : event.getChanges()) {
+            Articles after = change.getAfter();
+            if (after != null && after.getUpdateTime() != null) {
+                articles.put(after.getId(), toMillis(after.getUpdateTime()));
+            } else {
+                articles.invalidate(change.getId());
+            }
+            ids.add(change.getId());
+        }
+        broadcast(ARTICLE_PREFIX + CollUtils.join(ids, ","));
+        bump(ARTICLES);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String raw = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        // 忽略本节点发出的消息
+        if (separator < 0 || raw.substring(0, separator).equals(epoch)) {
+            return;
+        }
+        String body = raw.substring(separator + 1);
+        try {
+            if (body.startsWith(ARTICLE_PREFIX)) {
+                // 本节点的更新时间可能落后，清除后由下一次请求回源补充
+                articles.invalidateAll(Arrays.stream(body.substring(ARTICLE_PREFIX.length()).split(","))
+                        .filter(s -> !s.isBlank())
+                        .map(Long::valueOf)
+                        .toList());
+            } else if (body.startsWith(COLLECTION_PREFIX)) {
+                String[] parts = body.substring(COLLECTION_PREFIX.length()).split(":");
+                version(parts[0]).advance(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            }
+        } catch (Exception e) {
+            log.warn("处理资源版本消息失败：{}", body, e);
+        }
+    }
+
+    /**
+     * 获取集合版本，距上次同步超过间隔时先从 Redis 回读
+     */
+    private Version current(String collection) {
+        Version version = version(collection);
+        long now = System.currentTimeMillis();
+        if (now - version.syncedAt >= SYNC_INTERVAL_MILLIS) {
+            version.syncedAt = now;
+            try {
+                long[] parsed = parse(stringRedisTemplate.execute(SYNC, List.of(VERSION_KEY_PREFIX + collection),
+                        String.valueOf(now)));
+                version.reset(parsed[0], parsed[1]);
+            } catch (Exception e) {
+                version.unknown();
+                log.warn("同步资源版本失败：{}", collection, e);
+            }
+        }
+        return version;
+    }
+
+    private Version version(String collection) {
+        return collections.computeIfAbsent(collection, k -> new Version());
+    }
+
+    private void broadcast(String body) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, epoch + "|" + body);
+        } catch (Exception e) {
+            log.warn("广播资源版本变更失败：{}", body, e);
+        }
+    }
+
+    /**
+     * 解析 "版本:最后修改时间"
+     */
+    private static long[] parse(String value) {
+        if (value == null) {
+            throw new IllegalStateException("资源版本为空");
+        }
+        int colon = value.indexOf(':');
+        return new long[]{Long.parseLong(value.substring(0, colon)), Long.parseLong(value.substring(colon + 1))};
+    }
+
+    private static String articleETag(Long id, long updateTime) {
+        return "\"article-" + id + "-" + updateTime + "\"";
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 本节点缓存的集合版本，value 为 -1 表示未知
+     */
+    private static class Version {
+        private volatile long value = -1;
+        private volatile long lastModified = -1;
+        private volatile long syncedAt;
+
+        /**
+         * 以 Redis 中的值为准
+         */
+        synchronized void reset(long value, long lastModified) {
+            this.value = value;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * 广播消息可能乱序到达，只前进不后退
+         */
+        synchronized void advance(long value, long lastModified) {
+            if (value > this.value) {
+                this.value = value;
+                this.lastModified = lastModified;
+            }
+        }
+
+        synchronized void unknown() {
+            this.value = -1;
+            this.lastModified = -1;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.blog.comment;
+
+import com.blog.cache.CommentPageCache;
+import com.blog.cache.ResourceVersions;
+import com.blog.counter.ArticleStatsCounter;
+import com.blog.counter.HotArticleRanking;
+import com.blog.domain.entity.Comment;
+import com.blog.exception.BusinessException;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.mapper.CommentMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 评论写入管道
+ *
+ * <p>评论在请求线程中完成校验并分配ID后放入有界队列即返回，由定时任务批量取出，
+ * 在一个事务中用一条多值 INSERT 写入评论，并把各文章的评论数增量合并为一条 {@code UPDATE ... CASE id}，
+ * 热门文章的 comment_count 行每个周期只加锁一次</p>
+ * <p>队列满时拒绝新评论；尚未写入的评论保留在本节点的待写索引中，供作者本人读取和回复</p>
+ * <p>ID 由 Redis 自增分配，与自增主键同一序列，回复总是晚于父评论分配ID；计数丢失时按评论表最大ID重新校准。
+ * 写入时主键冲突说明计数落后于评论表，校准后为冲突的评论及其待写回复重新分配ID再写入，已受理的评论不会丢弃</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+public class CommentWritePipeline {
+
+    private static final String ID_KEY = "blog:comment:id";
+
+    /**
+     * 当前值小于评论表最大ID时抬高到该值，再自增
+     */
+    private static final RedisScript<Long> SEED_AND_INCR = new DefaultRedisScript<>(
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "if current < tonumber(ARGV[1]) then redis.call('SET', KEYS[1], ARGV[1]) end " +
+            "return redis.call('INCR', KEYS[1])", Long.class);
+
+    private final CommentMapper commentMapper;
+    private final ArticlesMapper articlesMapper;
+    private final CommentPageCache commentPageCache;
+    private final HotArticleRanking hotArticleRanking;
+    private final ArticleStatsCounter articleStatsCounter;
+    private final ResourceVersions resourceVersions;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Comment> queue;
+    private final int batchSize;
+
+    /**
+     * 已受理、尚未写入数据库的评论：ID -> 评论
+     */
+    private final Map<Long, Comment> pending = new ConcurrentHashMap<>();
+
+    /**
+     * ID 分配器需要按评论表重新校准，启动时及写入发生主键冲突时置位
+     */
+    private volatile boolean reseed = true;
+
+    public CommentWritePipeline(CommentMapper commentMapper,
+                                ArticlesMapper articlesMapper,
+                                CommentPageCache commentPageCache,
+                                HotArticleRanking hotArticleRanking,
+                                ArticleStatsCounter articleStatsCounter,
+                                ResourceVersions resourceVersions,
+                                StringRedisTemplate stringRedisTemplate,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${blog.comment.queue-capacity:10000}") int queueCapacity,
+                                @Value("${blog.comment.batch-size:500}") int batchSize) {
+        this.commentMapper = commentMapper;
+        this.articlesMapper = articlesMapper;
+        this.commentPageCache = commentPageCache;
+        this.hotArticleRanking = hotArticleRanking;
+        this.articleStatsCounter = articleStatsCounter;
+        this.resourceVersions = resourceVersions;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 受理一条已校验的评论：分配ID后入队
+     *
+     * @param comment 评论，ID由本方法填充
+     * @return 已分配ID的评论
+     */
+    public Comment submit(Comment comment) {
+        comment.setId(nextId());
+        pending.put(comment.getId(), comment);
+        if (!queue.offer(comment)) {
+            pending.remove(comment.getId());
+            throw new BusinessException(503, "评论太多了，请稍后再试");
+        }
+        return comment;
+    }
+
+    /**
+     * 查询尚未写入数据库的评论
+     */
+    public Comment getPending(Long id) {
+        return pending.get(id);
+    }
+
+    /**
+     * 查询某用户在某文章下尚未写入数据库的评论，按ID升序
+     */
+    public List<Comment> pendingOf(Long articleId, Long userId) {
+        if (pending.isEmpty() || userId == null) {
+            return new ArrayList<>();
+        }
+        return pending.values().stream()
+                .filter(c -> c.getArticleId().equals(articleId) && c.getUserId().equals(userId))
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 定时批量写入队列中的评论
+     */
+    @Scheduled(fixedDelayString = "${blog.comment.flush-interval:500ms}")
+    public synchronized void flush() {
+        List<Comment> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("应用关闭，写入未持久化的评论：{}", queue.size());
+        flush();
+    }
+
+    private void write(List<Comment> batch) {
+        try {
+            persist(batch);
+        } catch (Exception e) {
+            // 整批回滚后逐条重试，隔离无法写入的评论，其余照常写入
+            log.warn("评论批量写入失败，改为逐条写入，条数：{}", batch.size(), e);
+            if (e instanceof DuplicateKeyException) {
+                reseed = true;
+            }
+            List<Comment> written = new ArrayList<>(batch.size());
+            for (Comment comment : batch) {
+                try {
+                    persistSingle(comment);
+                    written.add(comment);
+                } catch (Exception single) {
+                    log.error("评论写入失败，已丢弃 - ID：{}，文章ID：{}，用户ID：{}",
+                            comment.getId(), comment.getArticleId(), comment.getUserId(), single);
+                    pending.remove(comment.getId());
+                }
+            }
+            afterPersist(written);
+            return;
+        }
+        afterPersist(batch);
+    }
+
+    /**
+     * 写入单条评论，主键冲突时重新分配ID后再写一次
+     */
+    private void persistSingle(Comment comment) {
+        try {
+            persist(List.of(comment));
+        } catch (DuplicateKeyException e) {
+            reseed = true;
+            Long oldId = comment.getId();
+            rekey(comment);
+            log.warn("评论ID与已有评论冲突，重新分配后写入 - 原ID：{}，新ID：{}", oldId, comment.getId());
+            persist(List.of(comment));
+        }
+    }
+
+    /**
+     * 为待写评论重新分配ID，并同步改写、重新分配其待写回复，保持回复ID晚于父评论
+     */
+    private void rekey(Comment comment) {
+        Long oldId = comment.getId();
+        Long newId = nextId();
+        pending.remove(oldId);
+        comment.setId(newId);
+        pending.put(newId, comment);
+        List<Comment> replies = pending.values().stream()
+                .filter(c -> oldId.equals(c.getParentId()))
+                .toList();
+        for (Comment reply : replies) {
+            reply.setParentId(newId);
+            rekey(reply);
+        }
+    }
+
+    /**
+     * 在一个事务中写入评论并累加评论数，只包含数据库写入，失败时整体回滚可安全重试
+     */
+    private void persist(List<Comment> comments) {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Comment comment : comments) {
+            deltas.merge(comment.getArticleId(), 1L, Long::sum);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            commentMapper.insertBatch(comments);
+            articlesMapper.incrementCommentCounts(deltas);
+        });
+    }
+
+    /**
+     * 事务已提交后清理待写索引、评论缓存并更新热度与统计；各步骤单独捕获异常，
+     * 任何一步失败都不能让已提交的评论进入重试
+     */
+    private void afterPersist(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return;
+        }
+        Set<Long> articleIds = new LinkedHashSet<>();
+        for (Comment comment : comments) {
+            pending.remove(comment.getId());
+            articleIds.add(comment.getArticleId());
+        }
+        for (Long articleId : articleIds) {
+            try {
+                commentPageCache.evict(articleId);
+            } catch (Exception e) {
+                log.warn("清除评论缓存失败，等待缓存过期 - 文章ID：{}", articleId, e);
+            }
+        }
+        try {
+            comments.forEach(comment -> hotArticleRanking.recordComment(comment.getArticleId()));
+        } catch (Exception e) {
+            log.warn("记录评论热度失败，条数：{}", comments.size(), e);
+        }
+        try {
+            articleStatsCounter.addComments(comments.size());
+        } catch (Exception e) {
+            log.warn("更新评论统计失败，等待对账修正，条数：{}", comments.size(), e);
+        }
+        // 列表项带有评论数；bump 自身不抛出异常
+        resourceVersions.bump(ResourceVersions.ARTICLES);
+        log.debug("评论写入完成 - 条数：{}，文章数：{}", comments.size(), articleIds.size());
+    }
+
+    private long nextId() {
+        Long id;
+        if (reseed) {
+            id = seedAndIncrement();
+            reseed = false;
+        } else {
+            id = stringRedisTemplate.opsForValue().increment(ID_KEY);
+            // 计数键丢失后会从1重新开始，按评论表重新校准
+            if (id == null || id == 1L) {
+                id = seedAndIncrement();
+            }
+        }
+        return id;
+    }
+
+    private Long seedAndIncrement() {
+        long maxId = commentMapper.selectMaxId();
+        Long id = stringRedisTemplate.execute(SEED_AND_INCR, List.of(ID_KEY), String.valueOf(maxId));
+        if (id == null) {
+            throw new IllegalStateException("评论ID分配失败");
+        }
+        return id;
+    }
+}
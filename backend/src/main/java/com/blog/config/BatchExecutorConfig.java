@@ -0,0 +1,27 @@
+package com.blog.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 后台批量任务线程池配置
+ */
+@Configuration
+public class BatchExecutorConfig {
+
+    /**
+     * 文章批量操作、回填等后台任务线程池，任务串行度低，线程数保持较小以免挤占数据库连接
+     */
+    @Bean
+    public ThreadPoolTaskExecutor articleBatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("article-batch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+}
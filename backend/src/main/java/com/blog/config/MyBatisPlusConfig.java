@@ -1,18 +1,32 @@
 package com.blog.config;
 
+import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
 import org.apache.ibatis.reflection.MetaObject;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 
 /**
- * MyBatis Plus 自动填充配置
+ * MyBatis Plus 自动填充与分页配置
  */
 @Configuration
 public class MyBatisPlusConfig implements MetaObjectHandler {
 
+    /**
+     * 分页插件，未注册时 Page 查询会返回全表数据
+     */
+    @Bean
+    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
+        return interceptor;
+    }
+
     /**
      * 插入时自动填充
      */
@@ -0,0 +1,14 @@
+package com.blog.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置
+ *
+ * <p>调度线程数由 spring.task.scheduling.pool.size 配置</p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
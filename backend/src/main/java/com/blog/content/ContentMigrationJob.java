@@ -0,0 +1,170 @@
+package com.blog.content;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.cache.ArticleDetailCache;
+import com.blog.domain.entity.InterviewQuestion;
+import com.blog.domain.po.Articles;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.mapper.InterviewQuestionMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 正文迁移
+ *
+ * <p>把已有的、超过外置阈值的文章和面试题正文（Markdown 与 HTML）迁移到 {@link ContentStore}；
+ * 按主键分批读取，每批逐行写回，每行一次独立的条件更新，不会长时间锁表</p>
+ * <p>写回条件要求 update_time 与读取时一致，期间被编辑过的行跳过，编辑时已按新规则保存；
+ * 写回时保持 update_time 不变，迁移不算作内容修改</p>
+ * <p>启动后在后台执行一次，可通过 {@code blog.content.migrate-on-startup} 关闭；任务可重复执行，已迁移的行不会再次处理</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentMigrationJob {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final ArticlesMapper articlesMapper;
+    private final InterviewQuestionMapper interviewQuestionMapper;
+    private final ContentStore contentStore;
+    private final ArticleDetailCache articleDetailCache;
+
+    @Value("${blog.content.migrate-on-startup:true}")
+    private boolean migrateOnStartup;
+
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (migrateOnStartup) {
+            Thread thread = new Thread(this::run, "content-migration");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * 执行迁移，已有迁移在执行时直接返回
+     */
+    public void run() {
+        synchronized (this) {
+            if (running) {
+                return;
+            }
+            running = true;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            long threshold = contentStore.inlineThresholdBytes();
+            int articles = migrateArticles(threshold);
+            int questions = migrateQuestions(threshold);
+            log.info("正文迁移完成 - 文章：{}，面试题：{}，耗时：{}ms", articles, questions, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("正文迁移失败", e);
+        } finally {
+            running = false;
+        }
+    }
+
+    private int migrateArticles(long threshold) {
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            List<Articles> batch = articlesMapper.selectList(Wrappers.<Articles>lambdaQuery()
+                    .select(Articles::getId, Articles::getContent, Articles::getContentRef, Articles::getContentHtml,
+                            Articles::getContentHtmlRef, Articles::getUpdateTime)
+                    .gt(Articles::getId, lastId)
+                    .and(w -> w
+                            .nested(n -> n.and(r -> r.isNull(Articles::getContentRef).or().eq(Articles::getContentRef, ""))
+                                    .apply("LENGTH(content) >= {0}", threshold))
+                            .or()
+                            .nested(n -> n.and(r -> r.isNull(Articles::getContentHtmlRef).or().eq(Articles::getContentHtmlRef, ""))
+                                    .apply("LENGTH(content_html) >= {0}", threshold)))
+                    .orderByAsc(Articles::getId)
+                    .last("LIMIT " + BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Long> updated = new ArrayList<>(batch.size());
+            for (Articles article : batch) {
+                // 已外置的一侧保持不变
+                ContentStore.Stored content = isEmpty(article.getContentRef()) ? contentStore.store(article.getContent()) : null;
+                ContentStore.Stored html = isEmpty(article.getContentHtmlRef()) ? contentStore.store(article.getContentHtml()) : null;
+                int affected = articlesMapper.update(null, Wrappers.<Articles>lambdaUpdate()
+                        .eq(Articles::getId, article.getId())
+                        .eq(Articles::getUpdateTime, article.getUpdateTime())
+                        .set(content != null, Articles::getContent, content == null ? null : content.inline())
+                        .set(content != null, Articles::getContentRef, content == null ? null : content.ref())
+                        .set(content != null, Articles::getContentExcerpt,
+                                content == null ? null : ContentWriter.head(article.getContent()))
+                        .set(html != null, Articles::getContentHtml, html == null ? null : html.inline())
+                        .set(html != null, Articles::getContentHtmlRef, html == null ? null : html.ref())
+                        .setSql("update_time = update_time"));
+                if (affected > 0) {
+                    updated.add(article.getId());
+                }
+            }
+            articleDetailCache.evict(updated);
+            total += updated.size();
+            if (batch.size() < BATCH_SIZE) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        return total;
+    }
+
+    private int migrateQuestions(long threshold) {
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            List<InterviewQuestion> batch = interviewQuestionMapper.selectList(Wrappers.<InterviewQuestion>lambdaQuery()
+                    .select(InterviewQuestion::getId, InterviewQuestion::getContent, InterviewQuestion::getContentRef,
+                            InterviewQuestion::getContentHtml, InterviewQuestion::getContentHtmlRef, InterviewQuestion::getUpdateTime)
+                    .gt(InterviewQuestion::getId, lastId)
+                    .and(w -> w
+                            .nested(n -> n.and(r -> r.isNull(InterviewQuestion::getContentRef).or().eq(InterviewQuestion::getContentRef, ""))
+                                    .apply("LENGTH(content) >= {0}", threshold))
+                            .or()
+                            .nested(n -> n.and(r -> r.isNull(InterviewQuestion::getContentHtmlRef).or().eq(InterviewQuestion::getContentHtmlRef, ""))
+                                    .apply("LENGTH(content_html) >= {0}", threshold)))
+                    .orderByAsc(InterviewQuestion::getId)
+                    .last("LIMIT " + BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (InterviewQuestion question : batch) {
+                ContentStore.Stored content = isEmpty(question.getContentRef()) ? contentStore.store(question.getContent()) : null;
+                ContentStore.Stored html = isEmpty(question.getContentHtmlRef()) ? contentStore.store(question.getContentHtml()) : null;
+                total += interviewQuestionMapper.update(null, Wrappers.<InterviewQuestion>lambdaUpdate()
+                        .eq(InterviewQuestion::getId, question.getId())
+                        .eq(InterviewQuestion::getUpdateTime, question.getUpdateTime())
+                        .set(content != null, InterviewQuestion::getContent, content == null ? null : content.inline())
+                        .set(content != null, InterviewQuestion::getContentRef, content == null ? null : content.ref())
+                        .set(html != null, InterviewQuestion::getContentHtml, html == null ? null : html.inline())
+                        .set(html != null, InterviewQuestion::getContentHtmlRef, html == null ? null : html.ref())
+                        .setSql("update_time = update_time"));
+            }
+            if (batch.size() < BATCH_SIZE) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        return total;
+    }
+
+    private static boolean isEmpty(String ref) {
+        return ref == null || ref.isEmpty();
+    }
+}
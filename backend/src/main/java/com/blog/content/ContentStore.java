@@ -0,0 +1,232 @@
+package com.blog.content;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.domain.entity.ContentBlob;
+import com.blog.mapper.ContentBlobMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 大正文存储
+ *
+ * <p>超过 {@code blog.content.inline-threshold} 的正文（Markdown 原文与渲染后的 HTML）压缩后存入
+ * {@code content_blobs} 表，按内容 SHA-256 去重，主表只保留引用，避免大字段占用主表的缓冲池</p>
+ * <p>引用为空（null 或空串）表示正文仍保存在主表中；读取时只有详情等确实需要正文的地方才解压</p>
+ * <p>不再被引用的正文由定时任务清理，只清理创建超过一小时的，避免删掉刚写入、引用尚未提交的正文</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentStore {
+
+    private static final int CODEC_DEFLATE = 1;
+
+    private final ContentBlobMapper contentBlobMapper;
+
+    @Value("${blog.content.inline-threshold:16KB}")
+    private DataSize inlineThreshold;
+
+    /**
+     * 保存结果
+     *
+     * @param inline 写入主表正文列的值，外置时为空串
+     * @param ref 写入主表引用列的值，未外置时为空串
+     */
+    public record Stored(String inline, String ref) {
+
+        public boolean external() {
+            return !ref.isEmpty();
+        }
+    }
+
+    /**
+     * 外置阈值（字节）
+     */
+    public long inlineThresholdBytes() {
+        return inlineThreshold.toBytes();
+    }
+
+    /**
+     * 保存正文：超过阈值时写入正文存储并返回引用，否则原样保留在主表
+     *
+     * @param body 正文，为null表示本次未修改正文
+     * @return 保存结果，入参为null时返回null
+     */
+    public Stored store(String body) {
+        if (body == null) {
+            return null;
+        }
+        byte[] raw = body.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < inlineThreshold.toBytes()) {
+            return new Stored(body, "");
+        }
+        String hash = DigestUtil.sha256Hex(raw);
+        contentBlobMapper.upsert(new ContentBlob()
+                .setHash(hash)
+                .setCodec(CODEC_DEFLATE)
+                .setRawLength(raw.length)
+                .setData(deflate(raw)));
+        return new Stored("", hash);
+    }
+
+    /**
+     * 读取单个正文
+     *
+     * @return 正文，不存在时返回null
+     */
+    public String load(String ref) {
+        if (ref == null || ref.isEmpty()) {
+            return null;
+        }
+        ContentBlob blob = contentBlobMapper.selectById(ref);
+        return blob == null ? null : decode(blob);
+    }
+
+    /**
+     * 为引用了正文存储的记录批量填充正文，一次 IN 查询
+     *
+     * @param rows 记录
+     * @param ref 读取引用
+     * @param setter 写入正文
+     */
+    public <T> void inflate(Collection<T> rows, Function<T, String> ref, BiConsumer<T, String> setter) {
+        Map<String, String> bodies = loadAll(collectRefs(rows, List.of(ref)));
+        fill(rows, ref, setter, bodies);
+    }
+
+    /**
+     * 同时填充原文和 HTML 两个外置字段，合并为一次 IN 查询
+     *
+     * @param rows 记录
+     * @param ref 读取原文引用
+     * @param setter 写入原文
+     * @param htmlRef 读取 HTML 引用
+     * @param htmlSetter 写入 HTML
+     */
+    public <T> void inflate(Collection<T> rows, Function<T, String> ref, BiConsumer<T, String> setter,
+                            Function<T, String> htmlRef, BiConsumer<T, String> htmlSetter) {
+        Map<String, String> bodies = loadAll(collectRefs(rows, List.of(ref, htmlRef)));
+        fill(rows, ref, setter, bodies);
+        fill(rows, htmlRef, htmlSetter, bodies);
+    }
+
+    private static <T> Set<String> collectRefs(Collection<T> rows, List<Function<T, String>> refs) {
+        Set<String> values = new HashSet<>();
+        for (T row : rows) {
+            for (Function<T, String> ref : refs) {
+                String value = ref.apply(row);
+                if (value != null && !value.isEmpty()) {
+                    values.add(value);
+                }
+            }
+        }
+        return values;
+    }
+
+    private Map<String, String> loadAll(Set<String> refs) {
+        Map<String, String> bodies = new HashMap<>();
+        if (refs.isEmpty()) {
+            return bodies;
+        }
+        for (ContentBlob blob : contentBlobMapper.selectList(Wrappers.<ContentBlob>lambdaQuery()
+                .in(ContentBlob::getHash, refs))) {
+            bodies.put(blob.getHash(), decode(blob));
+        }
+        return bodies;
+    }
+
+    private static <T> void fill(Collection<T> rows, Function<T, String> ref, BiConsumer<T, String> setter,
+                                 Map<String, String> bodies) {
+        if (bodies.isEmpty()) {
+            return;
+        }
+        for (T row : rows) {
+            String value = ref.apply(row);
+            if (value != null && bodies.containsKey(value)) {
+                setter.accept(row, bodies.get(value));
+            }
+        }
+    }
+
+    /**
+     * 清理不再被引用的正文
+     */
+    @Scheduled(cron = "${blog.content.purge-cron:0 30 3 * * ?}")
+    public void purgeUnreferenced() {
+        try {
+            int deleted = contentBlobMapper.deleteUnreferenced(LocalDateTime.now().minusHours(1));
+            log.info("清理无引用正文完成 - 删除：{}", deleted);
+        } catch (Exception e) {
+            log.error("清理无引用正文失败", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 解压正文，供已关联查出压缩数据的调用方直接使用
+     */
+    public static String decode(ContentBlob blob) {
+        if (blob.getCodec() == null || blob.getCodec() != CODEC_DEFLATE) {
+            throw new IllegalStateException("不支持的正文压缩格式：" + blob.getCodec());
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(blob.getData());
+            byte[] raw = new byte[blob.getRawLength()];
+            int offset = 0;
+            while (offset < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, offset, raw.length - offset);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += n;
+            }
+            if (offset != raw.length) {
+                throw new IllegalStateException("正文数据损坏：" + blob.getHash());
+            }
+            return new String(raw, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("正文数据损坏：" + blob.getHash(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
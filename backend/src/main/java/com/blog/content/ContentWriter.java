@@ -0,0 +1,90 @@
+package com.blog.content;
+
+import com.blog.domain.entity.InterviewQuestion;
+import com.blog.domain.po.Articles;
+import com.blog.render.MarkdownRenderer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 正文写入
+ *
+ * <p>文章与面试题保存前调用：正文哈希变化时渲染 HTML 和目录，再把超过阈值的原文和 HTML 交给 {@link ContentStore} 外置；
+ * 正文未变化时清空实体上的正文，让按非空字段更新时不再重写正文相关列</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentWriter {
+
+    /**
+     * 保留的正文开头字符数，列表摘要从中生成，列表查询不再读取正文大字段
+     */
+    private static final int EXCERPT_LENGTH = 1000;
+
+    private final ContentStore contentStore;
+
+    /**
+     * 准备文章正文
+     *
+     * @param article 待保存的文章，content 为null表示本次未修改正文
+     * @param previousHash 当前保存的内容哈希，新建时为null
+     */
+    public void prepare(Articles article, String previousHash) {
+        String markdown = article.getContent();
+        MarkdownRenderer.Rendered rendered = MarkdownRenderer.renderIfChanged(markdown, previousHash);
+        if (rendered == null) {
+            article.setContent(null);
+            return;
+        }
+        ContentStore.Stored content = contentStore.store(markdown);
+        ContentStore.Stored html = contentStore.store(rendered.html());
+        article.setContent(content.inline())
+                .setContentRef(content.ref())
+                .setContentExcerpt(head(markdown))
+                .setContentHtml(html.inline())
+                .setContentHtmlRef(html.ref())
+                .setContentToc(rendered.toc())
+                .setContentHash(rendered.hash());
+    }
+
+    /**
+     * 准备面试题内容
+     *
+     * @param question 待保存的面试题，content 为null表示本次未修改内容
+     * @param previousHash 当前保存的内容哈希，新建时为null
+     */
+    public void prepare(InterviewQuestion question, String previousHash) {
+        String markdown = question.getContent();
+        MarkdownRenderer.Rendered rendered = MarkdownRenderer.renderIfChanged(markdown, previousHash);
+        if (rendered == null) {
+            question.setContent(null);
+            return;
+        }
+        ContentStore.Stored content = contentStore.store(markdown);
+        ContentStore.Stored html = contentStore.store(rendered.html());
+        question.setContent(content.inline())
+                .setContentRef(content.ref())
+                .setContentHtml(html.inline())
+                .setContentHtmlRef(html.ref())
+                .setContentToc(rendered.toc())
+                .setContentHash(rendered.hash());
+    }
+
+    /**
+     * 截取正文开头，供列表生成摘要
+     */
+    public static String head(String markdown) {
+        if (markdown.length() <= EXCERPT_LENGTH) {
+            return markdown;
+        }
+        int end = EXCERPT_LENGTH;
+        // 不在代理对中间截断
+        if (Character.isHighSurrogate(markdown.charAt(end - 1))) {
+            end--;
+        }
+        return markdown.substring(0, end);
+    }
+}
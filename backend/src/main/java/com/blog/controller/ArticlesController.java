@@ -1,19 +1,44 @@
 package com.blog.controller;
 
 import com.blog.annotation.OperationLog;
+import com.blog.cache.ArticleResponseCache;
+import com.blog.cache.ResourceVersions;
 import com.blog.common.Result;
 import com.blog.domain.dto.ArticleBatchDTO;
 import com.blog.domain.dto.ArticleCreateDTO;
+import com.blog.domain.dto.ArticleQueryDTO;
+import com.blog.domain.dto.BatchJobProgress;
+import com.blog.domain.dto.CursorPageDTO;
 import com.blog.domain.dto.PageDTO;
+import com.blog.domain.query.CursorPageQuery;
 import com.blog.domain.query.PageQuery;
+import com.blog.domain.vo.ArchiveYearVO;
 import com.blog.domain.vo.ArticleDetailVO;
+import com.blog.domain.vo.ArticleFilterOptionsVO;
+import com.blog.domain.vo.ArticleListItemVO;
+import com.blog.domain.vo.ArticleReactionVO;
+import com.blog.domain.vo.ArticleRevisionVO;
+import com.blog.domain.vo.ArticleStatsVO;
 import com.blog.service.IArticlesService;
-import com.blog.dto.response.ArticleStatsResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * <p>
@@ -29,18 +54,179 @@ import org.springframework.web.bind.annotation.*;
 @Validated
 public class ArticlesController {
     private final IArticlesService articlesService;
+    private final ResourceVersions resourceVersions;
+    private final ArticleResponseCache articleResponseCache;
 
+    /**
+     * 分页获取文章列表，文章集合未变化时返回304
+     */
     @GetMapping
-    public Result<PageDTO<ArticleDetailVO>> getArticles(@Valid PageQuery query){
-        PageDTO<ArticleDetailVO> list =  articlesService.getArticles(query);
+    public Result<PageDTO<ArticleListItemVO>> getArticles(@Valid PageQuery query, WebRequest request){
+        if (request.checkNotModified(resourceVersions.collectionETag(ResourceVersions.ARTICLES),
+                resourceVersions.collectionLastModified(ResourceVersions.ARTICLES))) {
+            return null;
+        }
+        PageDTO<ArticleListItemVO> list =  articlesService.getArticles(query);
         return Result.success(list);
     }
 
+    /**
+     * 游标分页获取文章列表，深度翻页耗时恒定
+     * @param query 游标分页参数，首页不传cursor，后续页传上一页返回的nextCursor
+     * @return 当前页文章及下一页游标
+     */
+    @GetMapping("/cursor")
+    public Result<CursorPageDTO<ArticleListItemVO>> getArticlesByCursor(@Valid CursorPageQuery query, WebRequest request){
+        if (request.checkNotModified(resourceVersions.collectionETag(ResourceVersions.ARTICLES),
+                resourceVersions.collectionLastModified(ResourceVersions.ARTICLES))) {
+            return null;
+        }
+        CursorPageDTO<ArticleListItemVO> page = articlesService.getArticlesByCursor(query);
+        return Result.success(page);
+    }
+
+    /**
+     * 获取文章归档：每年、每月的已发布文章数
+     */
+    @GetMapping("/archive")
+    public Result<List<ArchiveYearVO>> getArchive(WebRequest request){
+        if (request.checkNotModified(resourceVersions.collectionETag(ResourceVersions.ARTICLES),
+                resourceVersions.collectionLastModified(ResourceVersions.ARTICLES))) {
+            return null;
+        }
+        return Result.success(articlesService.getArchive());
+    }
+
+    /**
+     * 分页获取某月发布的文章，按发布时间倒序
+     */
+    @GetMapping("/archive/{year}/{month}")
+    public Result<PageDTO<ArticleListItemVO>> getArchiveMonth(@Min(1970) @Max(9999) @PathVariable Integer year,
+                                                              @Min(1) @Max(12) @PathVariable Integer month,
+                                                              @Valid PageQuery query, WebRequest request){
+        if (request.checkNotModified(resourceVersions.collectionETag(ResourceVersions.ARTICLES),
+                resourceVersions.collectionLastModified(ResourceVersions.ARTICLES))) {
+            return null;
+        }
+        return Result.success(articlesService.getArchiveMonth(year, month, query));
+    }
+
+    /**
+     * 流式导出文章，每行一个 JSON 对象（NDJSON），内存占用与文章数量无关
+     * @param query 筛选条件，分页参数不生效
+     * @param gzip 是否以 gzip 压缩下载
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportArticles(ArticleQueryDTO query,
+                                                                @RequestParam(defaultValue = "false") boolean gzip){
+        //todo 判断是否为管理员
+        String filename = "articles-" + LocalDate.now() + (gzip ? ".ndjson.gz" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(articlesService.exportArticles(query, gzip));
+    }
+
+    /**
+     * 获取热门文章
+     * @param limit 数量，最多100
+     * @return 按热度倒序的已发布文章
+     */
+    @GetMapping("/hot")
+    public Result<List<ArticleListItemVO>> getHotArticles(@Positive @Max(100) @RequestParam(defaultValue = "10") Integer limit){
+        return Result.success(articlesService.getHotArticles(limit));
+    }
+
+    /**
+     * 获取文章详情，ETag 由 (id, updateTime) 生成；版本已知且未变化时不经过服务层直接返回304，
+     * 版本已知且响应已缓存时直接写出缓存的字节
+     */
     @GetMapping("/{id}")
-    public Result<ArticleDetailVO> getArticleById(@Positive  @PathVariable Long id){
+    public Result<ArticleDetailVO> getArticleById(@Positive  @PathVariable Long id, WebRequest request,
+                                                  HttpServletRequest servletRequest,
+                                                  HttpServletResponse servletResponse) throws IOException {
+        String etag = resourceVersions.articleETag(id);
+        if (etag != null) {
+            if (request.checkNotModified(etag, resourceVersions.articleLastModified(id))) {
+                // 客户端缓存命中同样计为一次浏览，与返回缓存字节的路径一致
+                articlesService.recordArticleView(id);
+                return null;
+            }
+            if (articleResponseCache.serve(etag, servletRequest, servletResponse)) {
+                articlesService.recordArticleView(id);
+                return null;
+            }
+        }
         ArticleDetailVO vo =   articlesService.getArticleById(id);
-        return Result.success(vo);
+        String current = resourceVersions.rememberArticle(id, vo.getUpdateTime());
+        if (current == null) {
+            return Result.success(vo);
+        }
+        // 版本此前未知时仍需比较一次，同时写入 ETag 与 Last-Modified 响应头
+        if (etag == null && request.checkNotModified(current, resourceVersions.articleLastModified(id))) {
+            return null;
+        }
+        articleResponseCache.store(current, Result.success(vo), servletRequest, servletResponse);
+        return null;
+    }
+
+    /**
+     * 分页获取文章版本列表，按版本号倒序，不含正文
+     */
+    @GetMapping("/{id}/revisions")
+    public Result<PageDTO<ArticleRevisionVO>> getRevisions(@Positive @PathVariable Long id, @Valid PageQuery query){
+        return Result.success(articlesService.getRevisions(id, query));
+    }
+
+    /**
+     * 获取文章的单个版本，含该版本的正文
+     */
+    @GetMapping("/{id}/revisions/{revisionNo}")
+    public Result<ArticleRevisionVO> getRevision(@Positive @PathVariable Long id,
+                                                 @Positive @PathVariable Integer revisionNo){
+        return Result.success(articlesService.getRevision(id, revisionNo));
     }
+
+    /**
+     * 获取文章的点赞、收藏数及当前用户的状态
+     */
+    @GetMapping("/{id}/reaction")
+    public Result<ArticleReactionVO> getReaction(@Positive @PathVariable Long id){
+        return Result.success(articlesService.getReaction(id));
+    }
+
+    /**
+     * 点赞，重复点赞不产生变化
+     */
+    @PostMapping("/{id}/like")
+    public Result<ArticleReactionVO> like(@Positive @PathVariable Long id){
+        return Result.success(articlesService.setLiked(id, true));
+    }
+
+    /**
+     * 取消点赞
+     */
+    @DeleteMapping("/{id}/like")
+    public Result<ArticleReactionVO> unlike(@Positive @PathVariable Long id){
+        return Result.success(articlesService.setLiked(id, false));
+    }
+
+    /**
+     * 收藏，重复收藏不产生变化
+     */
+    @PostMapping("/{id}/collect")
+    public Result<ArticleReactionVO> collect(@Positive @PathVariable Long id){
+        return Result.success(articlesService.setCollected(id, true));
+    }
+
+    /**
+     * 取消收藏
+     */
+    @DeleteMapping("/{id}/collect")
+    public Result<ArticleReactionVO> uncollect(@Positive @PathVariable Long id){
+        return Result.success(articlesService.setCollected(id, false));
+    }
+
     @PostMapping
     @OperationLog(
             operationType = "CREATE_ARTICLE",
@@ -86,18 +272,25 @@ public class ArticlesController {
             recordParams = true,
             level = 2
     )
-    public Result batchArticle(@RequestBody ArticleBatchDTO dto){
-        articlesService.batchArticle(dto);
-        return Result.success();
+    public Result<BatchJobProgress> batchArticle(@RequestBody ArticleBatchDTO dto){
+        return Result.success(articlesService.batchArticle(dto));
+    }
+
+    /**
+     * 查询批量任务进度
+     */
+    @GetMapping("/batch/jobs/{jobId}")
+    public Result<BatchJobProgress> getBatchJob(@PathVariable String jobId){
+        return Result.success(articlesService.getBatchJob(jobId));
     }
     
     /**
      * 获取文章统计信息
-     * @return 文章统计数据，包括总数、已发布、草稿、浏览量等信息
+     * @return 文章统计数据，包括总数、已发布、草稿、置顶、精选、今日/本周/本月新增、浏览量等信息
      */
     @io.swagger.v3.oas.annotations.Operation(
             summary = "获取文章统计信息",
-            description = "获取系统中文章的统计数据，包括总文章数、已发布数、草稿数、总浏览量、总点赞数和总评论数",
+            description = "获取系统中文章的统计数据，包括总文章数、已发布数、草稿数、置顶数、精选数、今日/本周/本月新增数、总浏览量、总点赞数和总评论数",
             tags = {"文章管理"}
     )
     @io.swagger.v3.oas.annotations.responses.ApiResponses({
@@ -106,7 +299,7 @@ public class ArticlesController {
                     description = "获取成功",
                     content = @io.swagger.v3.oas.annotations.media.Content(
                             mediaType = "application/json",
-                            schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = ArticleStatsResponse.class)
+                            schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = ArticleStatsVO.class)
                     )
             ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -121,8 +314,23 @@ public class ArticlesController {
             targetType = "ARTICLE",
             level = 1
     )
-    public Result<ArticleStatsResponse> getStats(){
-        ArticleStatsResponse stats = articlesService.getArticleStats();
+    public Result<ArticleStatsVO> getStats(){
+        ArticleStatsVO stats = articlesService.getArticleStats();
         return Result.success(stats);
     }
+
+    /**
+     * 获取文章筛选项
+     * @return 分类、标签、作者、状态、类型及各自的文章数
+     */
+    @io.swagger.v3.oas.annotations.Operation(
+            summary = "获取文章筛选项",
+            description = "获取管理端筛选栏所需的分类、标签、作者、状态和文章类型选项，每项附带文章数量",
+            tags = {"文章管理"}
+    )
+    @GetMapping("/filter-options")
+    public Result<ArticleFilterOptionsVO> getFilterOptions(){
+        ArticleFilterOptionsVO options = articlesService.getFilterOptions();
+        return Result.success(options);
+    }
 }
@@ -0,0 +1,51 @@
+package com.blog.controller;
+
+import com.blog.common.Result;
+import com.blog.domain.dto.CommentCreateDTO;
+import com.blog.domain.dto.CursorPageDTO;
+import com.blog.domain.query.CursorPageQuery;
+import com.blog.domain.vo.CommentVO;
+import com.blog.service.ICommentService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 文章评论控制器
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@RestController
+@RequestMapping("/articles/{articleId}/comments")
+@RequiredArgsConstructor
+@Validated
+public class CommentController {
+
+    private final ICommentService commentService;
+
+    /**
+     * 游标分页获取评论树：每页为若干根评论（按时间倒序）及其全部回复
+     */
+    @GetMapping
+    public Result<CursorPageDTO<CommentVO>> getComments(@Positive @PathVariable Long articleId,
+                                                        @Valid CursorPageQuery query){
+        return Result.success(commentService.getCommentTree(articleId, query));
+    }
+
+    /**
+     * 发表评论或回复，返回已分配ID的评论；评论异步写入数据库，作者本人立即可见
+     */
+    @PostMapping
+    public Result<CommentVO> addComment(@Positive @PathVariable Long articleId,
+                                       @Valid @RequestBody CommentCreateDTO dto){
+        return Result.success(commentService.addComment(articleId, dto));
+    }
+}
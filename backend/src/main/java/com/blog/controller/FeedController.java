@@ -0,0 +1,77 @@
+package com.blog.controller;
+
+import com.blog.feed.FeedGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+/**
+ * 站点地图与订阅源控制器
+ *
+ * <p>返回 {@link FeedGenerator} 预先生成的字节，ETag 为内容哈希，内容未变化时返回304</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@RestController
+@RequiredArgsConstructor
+public class FeedController {
+
+    private static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+    private static final MediaType ATOM = MediaType.parseMediaType("application/atom+xml;charset=UTF-8");
+    private static final CacheControl CACHE = CacheControl.maxAge(Duration.ofMinutes(10)).cachePublic();
+
+    private final FeedGenerator feedGenerator;
+
+    /**
+     * 站点地图索引，列出全部分片
+     */
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<byte[]> sitemapIndex(WebRequest request) {
+        return serve(feedGenerator.sitemapIndex(), MediaType.APPLICATION_XML, request);
+    }
+
+    /**
+     * 站点地图分片，分片号 = 文章ID / 50000
+     */
+    @GetMapping("/sitemap-{shard}.xml")
+    public ResponseEntity<byte[]> sitemap(@PathVariable int shard, WebRequest request) {
+        return serve(feedGenerator.sitemap(shard), MediaType.APPLICATION_XML, request);
+    }
+
+    /**
+     * RSS 2.0 订阅源
+     */
+    @GetMapping("/rss.xml")
+    public ResponseEntity<byte[]> rss(WebRequest request) {
+        return serve(feedGenerator.rss(), RSS, request);
+    }
+
+    /**
+     * Atom 订阅源
+     */
+    @GetMapping("/atom.xml")
+    public ResponseEntity<byte[]> atom(WebRequest request) {
+        return serve(feedGenerator.atom(), ATOM, request);
+    }
+
+    private static ResponseEntity<byte[]> serve(FeedGenerator.Document document, MediaType type, WebRequest request) {
+        if (document == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(document.etag(), document.lastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(type)
+                .cacheControl(CACHE)
+                .body(document.body());
+    }
+}
@@ -0,0 +1,47 @@
+package com.blog.controller;
+
+import com.blog.common.Result;
+import com.blog.domain.dto.PageDTO;
+import com.blog.domain.vo.SearchHitVO;
+import com.blog.service.ISearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 全文搜索控制器
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+@Tag(name = "全文搜索", description = "文章和面试题的全文搜索")
+public class SearchController {
+
+    private final ISearchService searchService;
+
+    @Operation(summary = "搜索文章", description = "搜索已发布文章，按相关度排序，标题和正文片段中的命中词用<em>标记")
+    @GetMapping("/articles")
+    public Result<PageDTO<SearchHitVO>> searchArticles(
+            @Parameter(description = "搜索关键词") @RequestParam String keyword,
+            @Parameter(description = "页码") @RequestParam(defaultValue = "1") Integer pageNo,
+            @Parameter(description = "每页数量，最大50") @RequestParam(defaultValue = "10") Integer pageSize) {
+        return Result.success(searchService.searchArticles(keyword, pageNo, pageSize));
+    }
+
+    @Operation(summary = "搜索面试题", description = "搜索已启用的面试题，按相关度排序，标题和正文片段中的命中词用<em>标记")
+    @GetMapping("/questions")
+    public Result<PageDTO<SearchHitVO>> searchQuestions(
+            @Parameter(description = "搜索关键词") @RequestParam String keyword,
+            @Parameter(description = "页码") @RequestParam(defaultValue = "1") Integer pageNo,
+            @Parameter(description = "每页数量，最大50") @RequestParam(defaultValue = "10") Integer pageSize) {
+        return Result.success(searchService.searchQuestions(keyword, pageNo, pageSize));
+    }
+}
@@ -0,0 +1,409 @@
+package com.blog.counter;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.domain.dto.ArticleFacetRowDTO;
+import com.blog.domain.dto.ArticleTagDTO;
+import com.blog.domain.dto.IdCountDTO;
+import com.blog.domain.entity.Category;
+import com.blog.domain.entity.Tag;
+import com.blog.domain.entity.User;
+import com.blog.domain.po.Articles;
+import com.blog.domain.vo.ArticleFilterOptionsVO;
+import com.blog.enums.ArticleStatus;
+import com.blog.enums.ArticleType;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.mapper.CategoryMapper;
+import com.blog.mapper.TagMapper;
+import com.blog.mapper.UserMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 文章筛选项计数器
+ *
+ * <p>在内存中维护分类、标签、作者、状态、类型五个维度的文章数，以及各分类的已发布文章数（供分类树使用），
+ * 由文章变更事件增量更新；增量同时通过 Redis 频道广播，其他节点收到后直接累加</p>
+ * <p>渲染好的 {@link ArticleFilterOptionsVO} 会被缓存，计数变化后下次读取时重建，重建只按主键查询名称</p>
+ * <p>启动时及定时任务用一次组合聚合（另加一次标签关联统计）对账；对账查询期间收到的增量先记下，
+ * 替换计数时补到新计数上，不会因整体替换而丢失</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleFacetCounter implements MessageListener {
+
+    private static final String CHANNEL = "blog:article:facet";
+
+    private final ArticlesMapper articlesMapper;
+    private final CategoryMapper categoryMapper;
+    private final TagMapper tagMapper;
+    private final UserMapper userMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile Facets facets = new Facets();
+
+    /**
+     * 对账期间收到的增量，不在对账时为null；与计数替换一起由 this 保护
+     */
+    private Facets journal;
+
+    /**
+     * 计数版本号，任何计数变化都会递增，用于判断缓存的视图是否过期
+     */
+    private final AtomicLong version = new AtomicLong();
+    private volatile ArticleFilterOptionsVO rendered;
+    private volatile long renderedVersion = -1;
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 计数版本号，任何计数变化都会递增
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * 各分类直接包含的已发布文章数，只含大于0的分类
+     */
+    public Map<Long, Long> publishedCategoryCounts() {
+        return Facets.positive(facets.publishedCategories);
+    }
+
+    /**
+     * 获取筛选项，计数未变化时直接返回缓存的视图
+     */
+    public ArticleFilterOptionsVO snapshot() {
+        long current = version.get();
+        ArticleFilterOptionsVO view = rendered;
+        if (view != null && renderedVersion == current) {
+            return view;
+        }
+        view = render(facets);
+        // 渲染期间计数又发生变化时不缓存，避免把旧结果当成新版本
+        if (version.get() == current) {
+            rendered = view;
+            renderedVersion = current;
+        }
+        return view;
+    }
+
+    /**
+     * 文章变更后更新计数：先扣除变更前的贡献，再加上变更后的贡献
+     * 标签关联不随文章状态变化，这里只处理新建和删除，修改标签由 {@link #recordTagChanges} 处理
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        Facets delta = new Facets();
+        Map<Long, Integer> tagSigns = new HashMap<>();
+        for (ArticleChangedEvent.Change change : event.getChanges()) {
+            if (change.getBefore() != null) {
+                delta.apply(change.getBefore(), -1);
+            }
+            if (change.getAfter() != null) {
+                delta.apply(change.getAfter(), 1);
+            }
+            if (change.isCreated() != change.isDeleted()) {
+                tagSigns.put(change.getId(), change.isCreated() ? 1 : -1);
+            }
+        }
+        if (!tagSigns.isEmpty()) {
+            for (ArticleTagDTO tag : articlesMapper.selectTagsByArticleIds(tagSigns.keySet())) {
+                Facets.add(delta.tags, tag.getTagId(), tagSigns.get(tag.getArticleId()));
+            }
+        }
+        if (delta.isEmpty()) {
+            return;
+        }
+        apply(delta);
+        broadcast(delta.encode());
+    }
+
+    /**
+     * 已有文章修改标签后更新标签计数，变更事件的快照不含标签，由写入方传入关联的增减
+     *
+     * @param deltas 标签ID -> 关联数增量
+     */
+    public void recordTagChanges(Map<Long, Long> deltas) {
+        Facets delta = new Facets();
+        deltas.forEach((tagId, count) -> Facets.add(delta.tags, tagId, count));
+        if (delta.isEmpty()) {
+            return;
+        }
+        apply(delta);
+        broadcast(delta.encode());
+    }
+
+    /**
+     * 对账：用聚合查询重建计数
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${blog.counter.stats.reconcile-interval:10m}",
+            fixedDelayString = "${blog.counter.stats.reconcile-interval:10m}")
+    public void reconcile() {
+        Facets pending = new Facets();
+        synchronized (this) {
+            journal = pending;
+        }
+        try {
+            Facets fresh = new Facets();
+            for (ArticleFacetRowDTO row : articlesMapper.selectFacetAggregate()) {
+                long count = row.getCount() == null ? 0L : row.getCount();
+                Facets.add(fresh.categories, row.getCategoryId(), count);
+                Facets.add(fresh.authors, row.getAuthorId(), count);
+                Facets.add(fresh.statuses, row.getStatus(), count);
+                Facets.add(fresh.types, row.getArticleType(), count);
+                if (Objects.equals(row.getStatus(), ArticleStatus.PUBLISHED.getValue())) {
+                    Facets.add(fresh.publishedCategories, row.getCategoryId(), count);
+                }
+            }
+            for (IdCountDTO row : articlesMapper.selectTagArticleCounts()) {
+                Facets.add(fresh.tags, row.getId(), row.getCount() == null ? 0L : row.getCount());
+            }
+            synchronized (this) {
+                fresh.merge(pending);
+                facets = fresh;
+                journal = null;
+                version.incrementAndGet();
+            }
+            log.info("文章筛选项对账完成 - 分类：{}，标签：{}，作者：{}",
+                    fresh.categories.size(), fresh.tags.size(), fresh.authors.size());
+        } catch (Exception e) {
+            log.error("文章筛选项对账失败", e);
+        } finally {
+            synchronized (this) {
+                if (journal == pending) {
+                    journal = null;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String raw = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        // 忽略本节点发出的消息
+        if (separator < 0 || raw.substring(0, separator).equals(epoch)) {
+            return;
+        }
+        String body = raw.substring(separator + 1);
+        try {
+            apply(Facets.decode(body));
+        } catch (Exception e) {
+            log.warn("处理文章计数增量失败，等待下次对账：{}", body, e);
+        }
+    }
+
+    /**
+     * 累加增量；对账期间同时记入日志，替换计数时补上
+     */
+    private synchronized void apply(Facets delta) {
+        facets.merge(delta);
+        if (journal != null) {
+            journal.merge(delta);
+        }
+        version.incrementAndGet();
+    }
+
+    private void broadcast(String body) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, epoch + "|" + body);
+        } catch (Exception e) {
+            log.warn("广播文章计数增量失败，其他节点将在下次对账时同步：{}", body, e);
+        }
+    }
+
+    private ArticleFilterOptionsVO render(Facets source) {
+        Map<Long, Long> categoryCounts = Facets.positive(source.categories);
+        Map<Long, Long> tagCounts = Facets.positive(source.tags);
+        Map<Long, Long> authorCounts = Facets.positive(source.authors);
+
+        List<ArticleFilterOptionsVO.CategoryOptionVO> categories = categoryCounts.isEmpty() ? new ArrayList<>() :
+                categoryMapper.selectList(Wrappers.<Category>lambdaQuery()
+                                .select(Category::getId, Category::getName)
+                                .in(Category::getId, categoryCounts.keySet()))
+                        .stream()
+                        .map(category -> new ArticleFilterOptionsVO.CategoryOptionVO()
+                                .setId(category.getId())
+                                .setName(category.getName())
+                                .setArticleCount(categoryCounts.get(category.getId()).intValue()))
+                        .sorted(Comparator.comparing(ArticleFilterOptionsVO.CategoryOptionVO::getArticleCount).reversed())
+                        .collect(Collectors.toList());
+        List<ArticleFilterOptionsVO.TagOptionVO> tags = tagCounts.isEmpty() ? new ArrayList<>() :
+                tagMapper.selectList(Wrappers.<Tag>lambdaQuery()
+                                .select(Tag::getId, Tag::getName)
+                                .in(Tag::getId, tagCounts.keySet()))
+                        .stream()
+                        .map(tag -> new ArticleFilterOptionsVO.TagOptionVO()
+                                .setId(tag.getId())
+                                .setName(tag.getName())
+                                .setArticleCount(tagCounts.get(tag.getId()).intValue()))
+                        .sorted(Comparator.comparing(ArticleFilterOptionsVO.TagOptionVO::getArticleCount).reversed())
+                        .collect(Collectors.toList());
+        List<ArticleFilterOptionsVO.AuthorOptionVO> authors = authorCounts.isEmpty() ? new ArrayList<>() :
+                userMapper.selectList(Wrappers.<User>lambdaQuery()
+                                .select(User::getId, User::getNickname, User::getAvatar)
+                                .in(User::getId, authorCounts.keySet()))
+                        .stream()
+                        .map(user -> new ArticleFilterOptionsVO.AuthorOptionVO()
+                                .setId(user.getId())
+                                .setNickname(user.getNickname())
+                                .setAvatar(user.getAvatar())
+                                .setArticleCount(authorCounts.get(user.getId()).intValue()))
+                        .sorted(Comparator.comparing(ArticleFilterOptionsVO.AuthorOptionVO::getArticleCount).reversed())
+                        .collect(Collectors.toList());
+
+        // 状态和类型固定列出全部取值，没有文章的计数为0
+        List<ArticleFilterOptionsVO.StatusOptionVO> statuses = new ArrayList<>();
+        for (ArticleStatus status : ArticleStatus.values()) {
+            statuses.add(new ArticleFilterOptionsVO.StatusOptionVO()
+                    .setValue(status.getValue())
+                    .setText(status.getDesc())
+                    .setCount(Facets.count(source.statuses, status.getValue())));
+        }
+        List<ArticleFilterOptionsVO.TypeOptionVO> types = new ArrayList<>();
+        for (ArticleType type : ArticleType.values()) {
+            types.add(new ArticleFilterOptionsVO.TypeOptionVO()
+                    .setValue(type.getValue())
+                    .setText(type.getDesc())
+                    .setCount(Facets.count(source.types, type.getValue())));
+        }
+
+        return new ArticleFilterOptionsVO()
+                .setCategories(categories)
+                .setTags(tags)
+                .setAuthors(authors)
+                .setStatuses(statuses)
+                .setArticleTypes(types);
+    }
+
+    /**
+     * 各维度计数，对账时整体替换；也用于表示一次变更的增量
+     */
+    private static class Facets {
+        private final Map<Long, AtomicLong> categories = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> publishedCategories = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> tags = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> authors = new ConcurrentHashMap<>();
+        private final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+        private final Map<Integer, AtomicLong> types = new ConcurrentHashMap<>();
+
+        void apply(Articles article, int sign) {
+            add(categories, article.getCategoryId(), sign);
+            add(authors, article.getAuthorId(), sign);
+            add(statuses, article.getStatus(), sign);
+            add(types, article.getArticleType(), sign);
+            if (Objects.equals(article.getStatus(), ArticleStatus.PUBLISHED.getValue())) {
+                add(publishedCategories, article.getCategoryId(), sign);
+            }
+        }
+
+        void merge(Facets delta) {
+            merge(categories, delta.categories);
+            merge(publishedCategories, delta.publishedCategories);
+            merge(tags, delta.tags);
+            merge(authors, delta.authors);
+            merge(statuses, delta.statuses);
+            merge(types, delta.types);
+        }
+
+        /**
+         * 所有增量均为0，如只修改标题
+         */
+        boolean isEmpty() {
+            return List.<Map<?, AtomicLong>>of(categories, publishedCategories, tags, authors, statuses, types).stream()
+                    .allMatch(counts -> counts.values().stream().allMatch(value -> value.get() == 0));
+        }
+
+        /**
+         * 编码为 "维度=键:增量,键:增量;..."，维度依次为分类、已发布分类、标签、作者、状态、类型
+         */
+        String encode() {
+            return String.join(";", encode(categories), encode(publishedCategories), encode(tags),
+                    encode(authors), encode(statuses), encode(types));
+        }
+
+        static Facets decode(String body) {
+            Facets delta = new Facets();
+            String[] parts = body.split(";", -1);
+            decode(parts[0], Long::valueOf, delta.categories);
+            decode(parts[1], Long::valueOf, delta.publishedCategories);
+            decode(parts[2], Long::valueOf, delta.tags);
+            decode(parts[3], Long::valueOf, delta.authors);
+            decode(parts[4], Integer::valueOf, delta.statuses);
+            decode(parts[5], Integer::valueOf, delta.types);
+            return delta;
+        }
+
+        static <K> void add(Map<K, AtomicLong> counts, K key, long delta) {
+            if (key != null) {
+                counts.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+            }
+        }
+
+        static <K> Integer count(Map<K, AtomicLong> counts, K key) {
+            AtomicLong value = counts.get(key);
+            return value == null ? 0 : (int) Math.max(value.get(), 0);
+        }
+
+        static Map<Long, Long> positive(Map<Long, AtomicLong> counts) {
+            return counts.entrySet().stream()
+                    .filter(entry -> entry.getValue().get() > 0)
+                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get()));
+        }
+
+        private static <K> void merge(Map<K, AtomicLong> target, Map<K, AtomicLong> delta) {
+            delta.forEach((key, value) -> add(target, key, value.get()));
+        }
+
+        private static <K> String encode(Map<K, AtomicLong> counts) {
+            return counts.entrySet().stream()
+                    .filter(entry -> entry.getValue().get() != 0)
+                    .map(entry -> entry.getKey() + ":" + entry.getValue().get())
+                    .collect(Collectors.joining(","));
+        }
+
+        private static <K> void decode(String part, Function<String, K> parser, Map<K, AtomicLong> counts) {
+            for (String pair : part.split(",")) {
+                int colon = pair.indexOf(':');
+                if (colon > 0) {
+                    add(counts, parser.apply(pair.substring(0, colon)), Long.parseLong(pair.substring(colon + 1)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.blog.counter;
+
+import com.blog.domain.dto.DailyCountDTO;
+import com.blog.domain.po.Articles;
+import com.blog.domain.vo.ArticleStatsVO;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.mapper.ArticlesMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 文章统计计数器
+ *
+ * <p>在内存中维护文章统计快照，由文章变更事件按"变更后 - 变更前"增量更新，读取为 O(1)</p>
+ * <p>浏览、点赞、评论、收藏数由各自的写回路径通过 {@code add*} 累加；变更事件只在文章新建、删除时计入这些计数，
+ * 修改文章时只比较状态、置顶、推荐等结构字段，避免两次快照之间写回的计数被重复累加</p>
+ * <p>新增文章按创建日期分桶，只保留最近 {@value #DAILY_WINDOW_DAYS} 天，用于今日/本周/本月统计</p>
+ * <p>启动时及定时任务会用一次聚合查询对账，修正多节点或异常情况下的累计误差</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleStatsCounter {
+
+    private static final int DAILY_WINDOW_DAYS = 32;
+
+    private final ArticlesMapper articlesMapper;
+
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong draft = new AtomicLong();
+    private final AtomicLong unpublished = new AtomicLong();
+    private final AtomicLong topCount = new AtomicLong();
+    private final AtomicLong featuredCount = new AtomicLong();
+    private final AtomicLong totalViews = new AtomicLong();
+    private final AtomicLong totalLikes = new AtomicLong();
+    private final AtomicLong totalComments = new AtomicLong();
+    private final AtomicLong totalCollects = new AtomicLong();
+    private final Map<LocalDate, AtomicLong> dailyCreated = new ConcurrentHashMap<>();
+
+    /**
+     * 获取统计快照
+     */
+    public ArticleStatsVO snapshot() {
+        LocalDate today = LocalDate.now();
+        long count = total.get();
+        return new ArticleStatsVO()
+                .setTotal(count)
+                .setPublished(published.get())
+                .setDraft(draft.get())
+                .setUnpublished(unpublished.get())
+                .setTopCount(topCount.get())
+                .setFeaturedCount(featuredCount.get())
+                .setTodayCount(createdSince(today))
+                .setWeekCount(createdSince(today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))))
+                .setMonthCount(createdSince(today.withDayOfMonth(1)))
+                .setTotalViews(totalViews.get())
+                .setTotalLikes(totalLikes.get())
+                .setTotalComments(totalComments.get())
+                .setTotalCollects(totalCollects.get())
+                .setAvgViews(average(totalViews.get(), count))
+                .setAvgLikes(average(totalLikes.get(), count))
+                .setAvgComments(average(totalComments.get(), count));
+    }
+
+    /**
+     * 文章变更后更新统计：先扣除变更前的贡献，再加上变更后的贡献；浏览等计数只在新建、删除时计入
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        for (ArticleChangedEvent.Change change : event.getChanges()) {
+            boolean withCounters = change.isCreated() || change.isDeleted();
+            if (change.getBefore() != null) {
+                apply(change.getBefore(), -1, withCounters);
+            }
+            if (change.getAfter() != null) {
+                apply(change.getAfter(), 1, withCounters);
+            }
+        }
+    }
+
+    /**
+     * 浏览量写回数据库后累加总浏览量
+     */
+    public void addViews(long delta) {
+        totalViews.addAndGet(delta);
+    }
+
+    public void addLikes(long delta) {
+        totalLikes.addAndGet(delta);
+    }
+
+    public void addComments(long delta) {
+        totalComments.addAndGet(delta);
+    }
+
+    public void addCollects(long delta) {
+        totalCollects.addAndGet(delta);
+    }
+
+    /**
+     * 对账：用一次聚合查询重置快照
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${blog.counter.stats.reconcile-interval:10m}",
+            fixedDelayString = "${blog.counter.stats.reconcile-interval:10m}")
+    public void reconcile() {
+        try {
+            ArticleStatsVO stats = articlesMapper.selectStatsAggregate();
+            LocalDate windowStart = LocalDate.now().minusDays(DAILY_WINDOW_DAYS - 1);
+            List<DailyCountDTO> daily = articlesMapper.selectDailyCreatedCounts(windowStart.atStartOfDay());
+
+            total.set(nullToZero(stats.getTotal()));
+            published.set(nullToZero(stats.getPublished()));
+            draft.set(nullToZero(stats.getDraft()));
+            unpublished.set(nullToZero(stats.getUnpublished()));
+            topCount.set(nullToZero(stats.getTopCount()));
+            featuredCount.set(nullToZero(stats.getFeaturedCount()));
+            totalViews.set(nullToZero(stats.getTotalViews()));
+            totalLikes.set(nullToZero(stats.getTotalLikes()));
+            totalComments.set(nullToZero(stats.getTotalComments()));
+            totalCollects.set(nullToZero(stats.getTotalCollects()));
+
+            dailyCreated.clear();
+            for (DailyCountDTO item : daily) {
+                dailyCreated.put(item.getDay(), new AtomicLong(nullToZero(item.getCount())));
+            }
+            log.info("文章统计对账完成 - 总数：{}，已发布：{}，草稿：{}，总浏览：{}",
+                    total.get(), published.get(), draft.get(), totalViews.get());
+        } catch (Exception e) {
+            log.error("文章统计对账失败", e);
+        }
+    }
+
+    private void apply(Articles article, int sign, boolean withCounters) {
+        total.addAndGet(sign);
+        Integer status = article.getStatus();
+        if (status != null) {
+            switch (status) {
+                case 0 -> draft.addAndGet(sign);
+                case 1 -> published.addAndGet(sign);
+                case 2 -> unpublished.addAndGet(sign);
+                default -> {
+                }
+            }
+        }
+        if (Boolean.TRUE.equals(article.getIsTop())) {
+            topCount.addAndGet(sign);
+        }
+        if (Integer.valueOf(1).equals(article.getIsRecommend())) {
+            featuredCount.addAndGet(sign);
+        }
+        if (withCounters) {
+            totalViews.addAndGet(sign * nullToZero(article.getViewCount()));
+            totalLikes.addAndGet(sign * nullToZero(article.getLikeCount()));
+            totalComments.addAndGet(sign * nullToZero(article.getCommentCount()));
+            totalCollects.addAndGet(sign * nullToZero(article.getCollectCount()));
+        }
+        if (article.getCreateTime() != null) {
+            LocalDate day = article.getCreateTime().toLocalDate();
+            if (!day.isBefore(LocalDate.now().minusDays(DAILY_WINDOW_DAYS - 1))) {
+                dailyCreated.computeIfAbsent(day, k -> new AtomicLong()).addAndGet(sign);
+            }
+        }
+    }
+
+    private long createdSince(LocalDate from) {
+        long sum = 0;
+        for (Map.Entry<LocalDate, AtomicLong> entry : dailyCreated.entrySet()) {
+            if (!entry.getKey().isBefore(from)) {
+                sum += entry.getValue().get();
+            }
+        }
+        return sum;
+    }
+
+    private static Double average(long sum, long count) {
+        return count == 0 ? 0D : (double) sum / count;
+    }
+
+    private static long nullToZero(Long value) {
+        return value == null ? 0L : value;
+    }
+}
@@ -0,0 +1,345 @@
+package com.blog.counter;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.cache.ResourceVersions;
+import com.blog.domain.entity.Category;
+import com.blog.domain.vo.CategoryVO;
+import com.blog.mapper.CategoryMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分类树与分类文章数
+ *
+ * <p>分类结构以不可变快照保存在内存中，分类增删改后整体重新加载并通过 Redis 频道通知其他节点重新加载，启动时及定时重新加载兜底</p>
+ * <p>各分类直接包含的已发布文章数取自 {@link ArticleFacetCounter}，含子分类的汇总数在渲染时自底向上累加</p>
+ * <p>渲染好的列表和树按（结构版本，计数版本）缓存，版本未变化时直接返回；ETag 由 {@link ResourceVersions} 中
+ * 分类集合（带文章数时再加文章集合）的共享版本组成，各节点一致</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+public class CategoryTree implements MessageListener {
+
+    private static final String CHANNEL = "blog:category:changed";
+    private static final String RELOAD = "reload";
+
+    /**
+     * 同级分类按排序值升序，相同时按ID升序
+     */
+    private static final Comparator<Category> ORDER = Comparator
+            .comparing((Category category) -> category.getSortOrder() == null ? 0 : category.getSortOrder())
+            .thenComparing(Category::getId);
+
+    private final CategoryMapper categoryMapper;
+    private final ArticleFacetCounter articleFacetCounter;
+    private final ResourceVersions resourceVersions;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile Structure structure;
+
+    /**
+     * 本节点的结构版本，每次重新加载都会递增，用于判断缓存的视图是否过期
+     */
+    private final AtomicLong structureVersion = new AtomicLong();
+
+    private volatile View plainView;
+    private volatile View countedView;
+
+    public CategoryTree(CategoryMapper categoryMapper,
+                        ArticleFacetCounter articleFacetCounter,
+                        ResourceVersions resourceVersions,
+                        StringRedisTemplate stringRedisTemplate,
+                        RedisMessageListenerContainer listenerContainer) {
+        this.categoryMapper = categoryMapper;
+        this.articleFacetCounter = articleFacetCounter;
+        this.resourceVersions = resourceVersions;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 全部分类的平铺列表，按层级先序排列
+     *
+     * @param withCounts 是否填充文章数
+     */
+    public List<CategoryVO> list(boolean withCounts) {
+        return view(withCounts).list();
+    }
+
+    /**
+     * 分类树，只返回顶级分类，子分类挂在 children 下
+     *
+     * @param withCounts 是否填充文章数
+     */
+    public List<CategoryVO> tree(boolean withCounts) {
+        return view(withCounts).tree();
+    }
+
+    public Category get(Long id) {
+        return id == null ? null : current().byId().get(id);
+    }
+
+    public boolean hasChildren(Long id) {
+        return current().children().containsKey(id);
+    }
+
+    /**
+     * 判断 id 是否为 ancestorId 本身或其子孙分类
+     */
+    public boolean isSelfOrDescendant(Long ancestorId, Long id) {
+        Map<Long, Category> byId = current().byId();
+        Long cursor = id;
+        // 结构异常成环时最多走分类总数步
+        for (int i = 0; cursor != null && i <= byId.size(); i++) {
+            if (cursor.equals(ancestorId)) {
+                return true;
+            }
+            Category category = byId.get(cursor);
+            cursor = category == null ? null : category.getParentId();
+        }
+        return false;
+    }
+
+    /**
+     * 列表的强 ETag，带文章数时文章变化也会改变 ETag
+     *
+     * @return 版本未知时返回null
+     */
+    public String etag(boolean withCounts) {
+        return withCounts
+                ? resourceVersions.collectionETag(ResourceVersions.CATEGORIES, ResourceVersions.ARTICLES)
+                : resourceVersions.collectionETag(ResourceVersions.CATEGORIES);
+    }
+
+    public long lastModified(boolean withCounts) {
+        return withCounts
+                ? resourceVersions.collectionLastModified(ResourceVersions.CATEGORIES, ResourceVersions.ARTICLES)
+                : resourceVersions.collectionLastModified(ResourceVersions.CATEGORIES);
+    }
+
+    /**
+     * 分类写操作后重新加载结构，通知其他节点并递增分类集合版本
+     */
+    public void changed() {
+        reload();
+        broadcast(RELOAD);
+        resourceVersions.bump(ResourceVersions.CATEGORIES);
+    }
+
+    /**
+     * 兜底：定时重新加载结构，弥补丢失的通知
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${blog.category.reconcile-interval:10m}",
+            fixedDelayString = "${blog.category.reconcile-interval:10m}")
+    public void reconcile() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("重新加载分类失败", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String raw = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        // 忽略本节点发出的消息
+        if (separator < 0 || raw.substring(0, separator).equals(epoch)) {
+            return;
+        }
+        String body = raw.substring(separator + 1);
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("处理分类变更消息失败，等待下次重新加载：{}", body, e);
+        }
+    }
+
+    /**
+     * 从数据库加载全部分类结构
+     */
+    public synchronized void reload() {
+        List<Category> categories = categoryMapper.selectList(Wrappers.<Category>lambdaQuery()
+                .select(Category::getId, Category::getName, Category::getDescription, Category::getParentId,
+                        Category::getSortOrder, Category::getIcon, Category::getCreateTime, Category::getUpdateTime));
+        categories.sort(ORDER);
+        Map<Long, Category> byId = new HashMap<>(categories.size() * 2);
+        categories.forEach(category -> byId.put(category.getId(), category));
+        Map<Long, List<Long>> children = new HashMap<>();
+        List<Long> roots = new ArrayList<>();
+        for (Category category : categories) {
+            Long parentId = category.getParentId();
+            // 父分类不存在（含已删除）时按顶级分类展示
+            if (parentId == null || parentId == 0 || !byId.containsKey(parentId)) {
+                roots.add(category.getId());
+            } else {
+                children.computeIfAbsent(parentId, k -> new ArrayList<>()).add(category.getId());
+            }
+        }
+        structure = new Structure(Collections.unmodifiableMap(byId), Collections.unmodifiableMap(children),
+                List.copyOf(roots));
+        structureVersion.incrementAndGet();
+    }
+
+    private Structure current() {
+        Structure current = structure;
+        if (current == null) {
+            synchronized (this) {
+                if (structure == null) {
+                    reload();
+                }
+                current = structure;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 获取渲染好的视图，版本未变化时直接返回缓存
+     */
+    private View view(boolean withCounts) {
+        Structure source = current();
+        long structureAt = structureVersion.get();
+        long countAt = withCounts ? articleFacetCounter.version() : 0;
+        View view = withCounts ? countedView : plainView;
+        if (view != null && view.structureVersion() == structureAt && view.countVersion() == countAt) {
+            return view;
+        }
+        view = render(source, withCounts ? articleFacetCounter.publishedCategoryCounts() : null, structureAt, countAt);
+        // 渲染期间版本又发生变化时不缓存，避免把旧结果当成新版本
+        if (structureVersion.get() == structureAt && (!withCounts || articleFacetCounter.version() == countAt)) {
+            if (withCounts) {
+                countedView = view;
+            } else {
+                plainView = view;
+            }
+        }
+        return view;
+    }
+
+    /**
+     * 从顶级分类开始用显式栈先序遍历，得到平铺顺序；再倒序把子分类的汇总数累加到父分类
+     */
+    private View render(Structure source, Map<Long, Long> directCounts, long structureAt, long countAt) {
+        List<Long> order = new ArrayList<>(source.byId().size());
+        Deque<Long> stack = new ArrayDeque<>();
+        for (int i = source.roots().size() - 1; i >= 0; i--) {
+            stack.push(source.roots().get(i));
+        }
+        Map<Long, Boolean> visited = new HashMap<>(source.byId().size() * 2);
+        while (!stack.isEmpty()) {
+            Long id = stack.pop();
+            if (visited.putIfAbsent(id, Boolean.TRUE) != null) {
+                continue;
+            }
+            order.add(id);
+            List<Long> children = source.children().getOrDefault(id, List.of());
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+
+        Map<Long, Long> totals = new HashMap<>();
+        if (directCounts != null) {
+            for (int i = order.size() - 1; i >= 0; i--) {
+                Long id = order.get(i);
+                long total = totals.merge(id, Math.max(directCounts.getOrDefault(id, 0L), 0L), Long::sum);
+                Long parentId = source.byId().get(id).getParentId();
+                if (parentId != null && visited.containsKey(parentId)) {
+                    totals.merge(parentId, total, Long::sum);
+                }
+            }
+        }
+
+        List<CategoryVO> list = new ArrayList<>(order.size());
+        Map<Long, CategoryVO> nodes = new HashMap<>(order.size() * 2);
+        List<CategoryVO> tree = new ArrayList<>();
+        for (Long id : order) {
+            Category category = source.byId().get(id);
+            CategoryVO item = toVO(category);
+            CategoryVO node = toVO(category).setChildren(new ArrayList<>());
+            if (directCounts != null) {
+                long direct = Math.max(directCounts.getOrDefault(id, 0L), 0L);
+                item.setArticleCount(direct).setTotalArticleCount(totals.get(id));
+                node.setArticleCount(direct).setTotalArticleCount(totals.get(id));
+            }
+            list.add(item);
+            nodes.put(id, node);
+            CategoryVO parent = nodes.get(category.getParentId());
+            if (parent != null) {
+                parent.getChildren().add(node);
+            } else {
+                tree.add(node);
+            }
+        }
+        return new View(structureAt, countAt, Collections.unmodifiableList(list), Collections.unmodifiableList(tree));
+    }
+
+    private static CategoryVO toVO(Category category) {
+        return new CategoryVO()
+                .setId(category.getId())
+                .setName(category.getName())
+                .setDescription(category.getDescription())
+                .setIcon(category.getIcon())
+                .setParentId(category.getParentId() == null ? 0L : category.getParentId())
+                .setSortOrder(category.getSortOrder() == null ? 0 : category.getSortOrder())
+                .setCreateTime(category.getCreateTime())
+                .setUpdateTime(category.getUpdateTime());
+    }
+
+    private void broadcast(String body) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, epoch + "|" + body);
+        } catch (Exception e) {
+            log.warn("广播分类变更失败，其他节点将在下次重新加载时同步：{}", body, e);
+        }
+    }
+
+    /**
+     * 分类结构快照，创建后不再修改
+     *
+     * @param byId     分类ID -> 分类
+     * @param children 父分类ID -> 按顺序排列的子分类ID
+     * @param roots    按顺序排列的顶级分类ID
+     */
+    private record Structure(Map<Long, Category> byId, Map<Long, List<Long>> children, List<Long> roots) {
+    }
+
+    /**
+     * 渲染好的视图；其中的对象为共享实例，调用方不得修改
+     */
+    private record View(long structureVersion, long countVersion, List<CategoryVO> list, List<CategoryVO> tree) {
+    }
+}
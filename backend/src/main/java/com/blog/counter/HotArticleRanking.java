@@ -0,0 +1,273 @@
+package com.blog.counter;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.domain.po.Articles;
+import com.blog.enums.ArticleStatus;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.mapper.ArticlesMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 热门文章排行
+ *
+ * <p>每篇已发布文章维护一个随时间指数衰减的热度分，浏览、点赞、评论按权重累加，半衰期由
+ * {@code blog.hot.half-life} 配置</p>
+ * <p>采用前向衰减：事件发生在时刻 t 时累加 {@code 权重 × 2^((t - 基准时刻) / 半衰期)}，
+ * 所有文章按同一比例衰减，因此无需随时间改写分数，只在指数过大时整体换算到新的基准时刻</p>
+ * <p>分数只增不减，内存中只保留前 {@code blog.hot.size} 名的有序集合：不在榜内的文章只有自身得分变化时才可能入榜；
+ * 文章下架或删除时从榜中移除并从全部分数中补位</p>
+ * <p>事件先在内存中合并，每秒应用一次；榜单读取只是复制一份ID列表。分数不持久化，启动时按累计计数和发布时间估算</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotArticleRanking {
+
+    private static final double VIEW_WEIGHT = 1;
+    private static final double LIKE_WEIGHT = 5;
+    private static final double COMMENT_WEIGHT = 10;
+
+    /**
+     * 基准时刻距今超过该半衰期数时换算到新的基准，避免分数溢出
+     */
+    private static final double REBASE_HALF_LIVES = 64;
+    private static final int BATCH_SIZE = 500;
+
+    private final ArticlesMapper articlesMapper;
+
+    @Value("${blog.hot.half-life:24h}")
+    private Duration halfLife;
+
+    @Value("${blog.hot.size:100}")
+    private int size;
+
+    /**
+     * 尚未应用的事件权重，文章ID -> 权重和
+     */
+    private final Map<Long, Double> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 以下状态只在持有锁时读写
+     */
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final TreeSet<Long> top = new TreeSet<>(Comparator
+            .comparingDouble((Long id) -> scores.get(id)).reversed()
+            .thenComparing(Comparator.naturalOrder()));
+    private long baseMillis = System.currentTimeMillis();
+
+    private volatile List<Long> ranking = List.of();
+
+    /**
+     * 获取热门文章ID
+     *
+     * @param limit 数量
+     * @return 按热度倒序的文章ID
+     */
+    public List<Long> top(int limit) {
+        List<Long> current = ranking;
+        return current.size() <= limit ? current : current.subList(0, limit);
+    }
+
+    public void recordView(Long articleId) {
+        record(articleId, VIEW_WEIGHT);
+    }
+
+    /**
+     * 记录点赞，取消点赞不扣减热度
+     */
+    public void recordLike(Long articleId) {
+        record(articleId, LIKE_WEIGHT);
+    }
+
+    public void recordComment(Long articleId) {
+        record(articleId, COMMENT_WEIGHT);
+    }
+
+    private void record(Long articleId, double weight) {
+        if (articleId != null) {
+            pending.merge(articleId, weight, Double::sum);
+        }
+    }
+
+    /**
+     * 应用累积的事件
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void apply() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            rebaseIfNeeded(now);
+            double factor = growth(now);
+            boolean changed = false;
+            for (Long id : new ArrayList<>(pending.keySet())) {
+                Double weight = pending.remove(id);
+                // 只为已知的已发布文章计分，未发布或已删除文章的事件直接丢弃
+                if (weight != null && scores.containsKey(id)) {
+                    changed |= add(id, weight * factor);
+                }
+            }
+            if (changed) {
+                ranking = List.copyOf(top);
+            }
+        }
+    }
+
+    /**
+     * 文章发布时加入计分，下架或删除时移出
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        synchronized (this) {
+            boolean changed = false;
+            for (ArticleChangedEvent.Change change : event.getChanges()) {
+                boolean wasPublished = isPublished(change.getBefore());
+                boolean published = isPublished(change.getAfter());
+                if (published && !wasPublished) {
+                    changed |= add(change.getId(), 0);
+                } else if (!published && wasPublished) {
+                    changed |= remove(change.getId());
+                }
+            }
+            if (changed) {
+                refill();
+                ranking = List.copyOf(top);
+            }
+        }
+    }
+
+    /**
+     * 启动后按累计计数估算初始热度：把全部计数视为发生在发布时刻
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            Map<Long, Double> seeded = new HashMap<>();
+            long lastId = 0;
+            while (true) {
+                List<Articles> batch = articlesMapper.selectList(Wrappers.<Articles>lambdaQuery()
+                        .select(Articles::getId, Articles::getViewCount, Articles::getLikeCount,
+                                Articles::getCommentCount, Articles::getPublishTime, Articles::getCreateTime)
+                        .eq(Articles::getStatus, ArticleStatus.PUBLISHED.getValue())
+                        .gt(Articles::getId, lastId)
+                        .orderByAsc(Articles::getId)
+                        .last("LIMIT " + BATCH_SIZE));
+                for (Articles article : batch) {
+                    LocalDateTime time = article.getPublishTime() != null ? article.getPublishTime() : article.getCreateTime();
+                    long millis = time == null ? start : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                    double weight = VIEW_WEIGHT * nullToZero(article.getViewCount())
+                            + LIKE_WEIGHT * nullToZero(article.getLikeCount())
+                            + COMMENT_WEIGHT * nullToZero(article.getCommentCount());
+                    seeded.put(article.getId(), weight * Math.pow(2, (millis - start) / (double) halfLife.toMillis()));
+                }
+                if (batch.size() < BATCH_SIZE) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            synchronized (this) {
+                top.clear();
+                scores.clear();
+                baseMillis = start;
+                seeded.forEach(this::add);
+                ranking = List.copyOf(top);
+            }
+            log.info("热门文章排行初始化完成 - 文章数：{}，耗时：{}ms", seeded.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("热门文章排行初始化失败", e);
+        }
+    }
+
+    /**
+     * 累加分数并维护榜单
+     *
+     * @return 榜单是否变化
+     */
+    private boolean add(Long id, double delta) {
+        // 榜单的比较器按 scores 取分，必须按旧分数移出后再改分；没有分数的文章不可能在榜内
+        boolean inTop = scores.containsKey(id) && top.remove(id);
+        scores.merge(id, delta, Double::sum);
+        if (inTop || top.size() < size) {
+            top.add(id);
+            return true;
+        }
+        Long last = top.last();
+        if (scores.get(id) > scores.get(last)) {
+            top.pollLast();
+            top.add(id);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean remove(Long id) {
+        boolean inTop = scores.containsKey(id) && top.remove(id);
+        scores.remove(id);
+        return inTop;
+    }
+
+    /**
+     * 榜单因移除而不足时从全部分数中补位
+     */
+    private void refill() {
+        if (top.size() >= size || top.size() >= scores.size()) {
+            return;
+        }
+        scores.entrySet().stream()
+                .filter(entry -> !top.contains(entry.getKey()))
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .limit(size - top.size())
+                .forEach(entry -> top.add(entry.getKey()));
+    }
+
+    private double growth(long now) {
+        return Math.pow(2, (now - baseMillis) / (double) halfLife.toMillis());
+    }
+
+    /**
+     * 基准时刻过旧时把全部分数折算到当前时刻，相对大小不变
+     */
+    private void rebaseIfNeeded(long now) {
+        if ((now - baseMillis) / (double) halfLife.toMillis() < REBASE_HALF_LIVES) {
+            return;
+        }
+        double factor = growth(now);
+        List<Long> members = new ArrayList<>(top);
+        top.clear();
+        scores.replaceAll((id, score) -> score / factor);
+        top.addAll(members);
+        baseMillis = now;
+    }
+
+    private static boolean isPublished(Articles article) {
+        return article != null && Integer.valueOf(ArticleStatus.PUBLISHED.getValue()).equals(article.getStatus());
+    }
+
+    private static long nullToZero(Long value) {
+        return value == null ? 0L : value;
+    }
+}
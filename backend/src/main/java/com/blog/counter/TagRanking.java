@@ -0,0 +1,321 @@
+package com.blog.counter;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.domain.dto.ArticleTagDTO;
+import com.blog.domain.entity.Tag;
+import com.blog.domain.vo.TagVO;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.mapper.TagMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 标签列表与热门标签
+ *
+ * <p>内存中保持一份按使用次数倒序的不可变标签快照及其前 {@code blog.tag.hot-size} 名，读取只是返回快照引用</p>
+ * <p>标签增删改、文章标签关联变化时复制快照，只把变化的标签按二分查找移出、插回，不再整表排序</p>
+ * <p>使用次数的增量先在内存中合并，定时用一条 {@code UPDATE ... CASE id} 写回，并定时按关联表对账</p>
+ * <p>本节点的标签增删改通过 Redis 频道通知其他节点重新加载；使用次数在各节点对账后收敛</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+public class TagRanking implements MessageListener {
+
+    private static final String CHANNEL = "blog:tag:changed";
+
+    /**
+     * 使用次数倒序，相同时按ID升序，保证排序稳定、可二分查找
+     */
+    private static final Comparator<TagVO> ORDER = Comparator
+            .comparing((TagVO tag) -> tag.getUseCount() == null ? 0 : tag.getUseCount()).reversed()
+            .thenComparing(TagVO::getId);
+
+    private final TagMapper tagMapper;
+    private final ArticlesMapper articlesMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final int hotSize;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final WriteBehindCounter useDeltas = new WriteBehindCounter();
+
+    private volatile Snapshot snapshot;
+
+    public TagRanking(TagMapper tagMapper,
+                      ArticlesMapper articlesMapper,
+                      StringRedisTemplate stringRedisTemplate,
+                      RedisMessageListenerContainer listenerContainer,
+                      @Value("${blog.tag.hot-size:10}") int hotSize) {
+        this.tagMapper = tagMapper;
+        this.articlesMapper = articlesMapper;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.hotSize = hotSize;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 全部标签，按使用次数倒序
+     */
+    public List<TagVO> all() {
+        return current().sorted();
+    }
+
+    /**
+     * 使用次数最多的标签
+     */
+    public List<TagVO> hot(int limit) {
+        Snapshot current = current();
+        List<TagVO> source = limit <= current.top().size() ? current.top() : current.sorted();
+        return source.size() <= limit ? source : source.subList(0, limit);
+    }
+
+    public TagVO get(Long id) {
+        return current().byId().get(id);
+    }
+
+    /**
+     * 标签新增或修改后更新快照并通知其他节点
+     */
+    public synchronized void saved(TagVO tag) {
+        replace(Map.of(tag.getId(), tag), List.of());
+        broadcast();
+    }
+
+    /**
+     * 标签删除后更新快照并通知其他节点
+     */
+    public synchronized void removed(Long id) {
+        replace(Map.of(), List.of(id));
+        broadcast();
+    }
+
+    /**
+     * 记录文章标签关联的增减
+     *
+     * @param deltas 标签ID -> 关联数增量
+     */
+    public synchronized void recordUsage(Map<Long, Long> deltas) {
+        Snapshot current = current();
+        Map<Long, TagVO> changed = new HashMap<>();
+        deltas.forEach((tagId, delta) -> {
+            if (delta == 0) {
+                return;
+            }
+            useDeltas.add(tagId, delta);
+            TagVO tag = current.byId().get(tagId);
+            if (tag != null) {
+                int useCount = (int) Math.max((tag.getUseCount() == null ? 0 : tag.getUseCount()) + delta, 0);
+                changed.put(tagId, copy(tag).setUseCount(useCount));
+            }
+        });
+        if (!changed.isEmpty()) {
+            replace(changed, List.of());
+        }
+    }
+
+    /**
+     * 文章新建或删除时，按其标签关联增减使用次数；修改文章标签的增量由写入方直接记录
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        Map<Long, Integer> signs = new HashMap<>();
+        for (ArticleChangedEvent.Change change : event.getChanges()) {
+            if (change.isCreated() != change.isDeleted()) {
+                signs.put(change.getId(), change.isCreated() ? 1 : -1);
+            }
+        }
+        if (signs.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> deltas = new HashMap<>();
+        for (ArticleTagDTO tag : articlesMapper.selectTagsByArticleIds(signs.keySet())) {
+            deltas.merge(tag.getTagId(), (long) signs.get(tag.getArticleId()), Long::sum);
+        }
+        recordUsage(deltas);
+    }
+
+    /**
+     * 定时写回使用次数增量
+     */
+    @Scheduled(fixedDelayString = "${blog.tag.flush-interval:5s}")
+    public synchronized void flush() {
+        if (useDeltas.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> deltas = useDeltas.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            tagMapper.incrementUseCounts(deltas);
+        } catch (Exception e) {
+            log.error("标签使用次数刷新失败，增量已放回等待下次刷新，条数：{}", deltas.size(), e);
+            useDeltas.restore(deltas);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 对账：写回增量后按关联表重算使用次数，再重新加载快照
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${blog.tag.reconcile-interval:10m}",
+            fixedDelayString = "${blog.tag.reconcile-interval:10m}")
+    public void reconcile() {
+        try {
+            flush();
+            int fixed = tagMapper.reconcileUseCounts();
+            reload();
+            log.info("标签使用次数对账完成 - 标签数：{}，修正：{}", current().sorted().size(), fixed);
+        } catch (Exception e) {
+            log.error("标签使用次数对账失败", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String sender = new String(message.getBody(), StandardCharsets.UTF_8);
+        // 忽略本节点发出的消息
+        if (!epoch.equals(sender)) {
+            try {
+                reload();
+            } catch (Exception e) {
+                log.warn("重新加载标签失败，等待下次对账", e);
+            }
+        }
+    }
+
+    /**
+     * 从数据库加载全部标签，叠加本节点尚未写回的使用次数增量
+     */
+    public synchronized void reload() {
+        List<TagVO> tags = new ArrayList<>();
+        for (Tag tag : tagMapper.selectList(Wrappers.<Tag>lambdaQuery()
+                .select(Tag::getId, Tag::getName, Tag::getColor, Tag::getDescription, Tag::getUseCount,
+                        Tag::getCreateTime, Tag::getUpdateTime))) {
+            TagVO vo = toVO(tag);
+            long useCount = (vo.getUseCount() == null ? 0 : vo.getUseCount()) + useDeltas.pending(tag.getId());
+            tags.add(vo.setUseCount((int) Math.max(useCount, 0)));
+        }
+        tags.sort(ORDER);
+        Map<Long, TagVO> byId = new HashMap<>(tags.size() * 2);
+        tags.forEach(tag -> byId.put(tag.getId(), tag));
+        snapshot = build(tags, byId);
+    }
+
+    public static TagVO toVO(Tag tag) {
+        return new TagVO()
+                .setId(tag.getId())
+                .setName(tag.getName())
+                .setColor(tag.getColor())
+                .setDescription(tag.getDescription())
+                .setUseCount(tag.getUseCount() == null ? 0 : tag.getUseCount())
+                .setCreateTime(tag.getCreateTime())
+                .setUpdateTime(tag.getUpdateTime());
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 复制快照，把变化的标签移出后按序插回
+     */
+    private void replace(Map<Long, TagVO> replacements, Collection<Long> removals) {
+        Snapshot current = current();
+        List<TagVO> sorted = new ArrayList<>(current.sorted());
+        Map<Long, TagVO> byId = new HashMap<>(current.byId());
+        List<Long> affected = new ArrayList<>(removals);
+        affected.addAll(replacements.keySet());
+        for (Long id : affected) {
+            TagVO old = byId.remove(id);
+            if (old != null) {
+                int index = Collections.binarySearch(sorted, old, ORDER);
+                if (index >= 0) {
+                    sorted.remove(index);
+                }
+            }
+        }
+        for (TagVO tag : replacements.values()) {
+            int index = Collections.binarySearch(sorted, tag, ORDER);
+            sorted.add(index < 0 ? -index - 1 : index, tag);
+            byId.put(tag.getId(), tag);
+        }
+        snapshot = build(sorted, byId);
+    }
+
+    private Snapshot build(List<TagVO> sorted, Map<Long, TagVO> byId) {
+        return new Snapshot(
+                Collections.unmodifiableList(sorted),
+                List.copyOf(sorted.subList(0, Math.min(hotSize, sorted.size()))),
+                Collections.unmodifiableMap(byId));
+    }
+
+    private void broadcast() {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, epoch);
+        } catch (Exception e) {
+            log.warn("广播标签变更失败，其他节点将在下次对账时同步", e);
+        }
+    }
+
+    private static TagVO copy(TagVO tag) {
+        return new TagVO()
+                .setId(tag.getId())
+                .setName(tag.getName())
+                .setColor(tag.getColor())
+                .setDescription(tag.getDescription())
+                .setUseCount(tag.getUseCount())
+                .setCreateTime(tag.getCreateTime())
+                .setUpdateTime(tag.getUpdateTime());
+    }
+
+    /**
+     * 标签快照，创建后不再修改；快照中的对象为共享实例，调用方不得修改
+     */
+    private record Snapshot(List<TagVO> sorted, List<TagVO> top, Map<Long, TagVO> byId) {
+    }
+}
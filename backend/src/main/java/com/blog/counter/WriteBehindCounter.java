@@ -0,0 +1,82 @@
+package com.blog.counter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 写回式计数器
+ *
+ * <p>按ID累加增量，每个ID使用独立的 {@link LongAdder}，热点ID上的并发自增不会互相阻塞</p>
+ * <p>由调用方定期 {@link #drain()} 取出增量并批量持久化，持久化失败时通过 {@link #restore(Map)} 放回</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+public class WriteBehindCounter {
+
+    private final ConcurrentHashMap<Long, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 计数 +1
+     */
+    public void increment(Long id) {
+        add(id, 1L);
+    }
+
+    /**
+     * 累加任意增量，可为负数
+     */
+    public void add(Long id, long delta) {
+        LongAdder adder = counters.computeIfAbsent(id, k -> new LongAdder());
+        adder.add(delta);
+        // drain 只移除值为0的计数器；若累加落在移除之后，计数器已不在映射中，把增量补到新的计数器上
+        while (counters.get(id) != adder) {
+            adder = counters.computeIfAbsent(id, k -> new LongAdder());
+            adder.add(delta);
+        }
+    }
+
+    /**
+     * 获取尚未持久化的增量
+     */
+    public long pending(Long id) {
+        LongAdder adder = counters.get(id);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * 取出所有待持久化的增量
+     *
+     * <p>只扣减读取到的值，取出期间发生的并发自增会保留到下一轮；
+     * 一整个周期没有新增量的ID会被移除，避免计数器无限增长，移除与并发累加的竞争由 {@link #add(Long, long)} 补偿</p>
+     *
+     * @return ID -> 增量
+     */
+    public Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        counters.forEach((id, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) {
+                adder.add(-delta);
+                deltas.put(id, delta);
+            } else {
+                // 在映射锁内复查，期间有新增量时保留
+                counters.computeIfPresent(id, (k, current) -> current == adder && current.sum() == 0 ? null : current);
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * 将持久化失败的增量放回计数器
+     */
+    public void restore(Map<Long, Long> deltas) {
+        deltas.forEach(this::add);
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+}
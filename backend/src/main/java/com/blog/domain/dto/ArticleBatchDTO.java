@@ -33,7 +33,7 @@ public class ArticleBatchDTO {
     @Schema(description = "目标分类ID（仅分类移动时使用）", example = "2")
     private Long targetCategoryId;
 
-    @Schema(description = "发布时间（仅批量发布时使用）", example = "2024-09-20T14:30:00")
+    @Schema(description = "发布时间（仅批量发布时使用，晚于当前时间时转为定时发布）", example = "2024-09-20T14:30:00")
     private LocalDateTime publishTime;
 
     @Schema(description = "操作原因/备注", example = "统一调整分类结构")
@@ -49,7 +49,7 @@ public class ArticleCreateDTO {
     @Schema(description = "标签ID数组", example = "[1, 2, 3]")
     private List<Long> tagIds;
 
-    @Schema(description = "文章状态：0-草稿，1-已发布，2-已下架", example = "0")
+    @Schema(description = "文章状态：0-草稿，1-已发布（发布时间在未来时转为定时发布），2-已下架", example = "0")
     private Integer status = 0;
 
     @Schema(description = "是否置顶", example = "false")
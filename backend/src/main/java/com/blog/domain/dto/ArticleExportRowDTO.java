@@ -0,0 +1,47 @@
+package com.blog.domain.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章导出行，正文外置时同时带出压缩正文，导出过程中不再发起其他查询
+ */
+@Data
+public class ArticleExportRowDTO {
+    private Long id;
+    private String title;
+    private String summary;
+    private String content;
+    private String coverImage;
+    private Long authorId;
+    private Long categoryId;
+    private Integer status;
+    private Boolean isTop;
+    private Integer isRecommend;
+    private Integer articleType;
+    private String originalUrl;
+    private String keywords;
+    private String description;
+    private Long viewCount;
+    private Long likeCount;
+    private Long commentCount;
+    private Long collectCount;
+    private LocalDateTime publishTime;
+    private LocalDateTime createTime;
+    private LocalDateTime updateTime;
+    /**
+     * 标签名称，按关联顺序以换行分隔
+     */
+    private String tagNames;
+    /**
+     * 外置正文的引用，正文保存在主表时为空
+     */
+    private String contentRef;
+    /**
+     * 外置正文的压缩算法、原文字节数与压缩数据
+     */
+    private Integer blobCodec;
+    private Integer blobRawLength;
+    private byte[] blobData;
+}
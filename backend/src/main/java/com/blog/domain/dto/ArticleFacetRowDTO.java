@@ -0,0 +1,30 @@
+package com.blog.domain.dto;
+
+import lombok.Data;
+
+/**
+ * 文章筛选维度组合计数，一行对应一个 (分类, 作者, 状态, 类型) 组合
+ */
+@Data
+public class ArticleFacetRowDTO {
+    /**
+     * 分类ID
+     */
+    private Long categoryId;
+    /**
+     * 作者ID
+     */
+    private Long authorId;
+    /**
+     * 发布状态
+     */
+    private Integer status;
+    /**
+     * 文章类型
+     */
+    private Integer articleType;
+    /**
+     * 文章数量
+     */
+    private Long count;
+}
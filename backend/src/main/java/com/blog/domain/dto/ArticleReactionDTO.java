@@ -0,0 +1,22 @@
+package com.blog.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 文章点赞、收藏记录
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleReactionDTO {
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+    /**
+     * 用户ID
+     */
+    private Long userId;
+}
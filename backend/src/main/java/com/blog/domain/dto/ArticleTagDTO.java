@@ -0,0 +1,22 @@
+package com.blog.domain.dto;
+
+import lombok.Data;
+
+/**
+ * 文章与标签的关联行，用于批量组装文章标签
+ */
+@Data
+public class ArticleTagDTO {
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+    /**
+     * 标签ID
+     */
+    private Long tagId;
+    /**
+     * 标签名称
+     */
+    private String name;
+}
@@ -0,0 +1,76 @@
+package com.blog.domain.dto;
+
+import com.blog.enums.OperationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章批量操作任务进度
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobProgress {
+
+    /**
+     * 任务ID
+     */
+    private String jobId;
+
+    /**
+     * 操作类型
+     */
+    private OperationType operationType;
+
+    /**
+     * 是否异步执行
+     */
+    private Boolean async;
+
+    /**
+     * 提交的文章数
+     */
+    @Builder.Default
+    private Integer total = 0;
+
+    /**
+     * 已处理的文章数
+     */
+    @Builder.Default
+    private volatile Integer processed = 0;
+
+    /**
+     * 实际变更的文章数（不满足条件的文章会被跳过）
+     */
+    @Builder.Default
+    private volatile Integer affected = 0;
+
+    /**
+     * 状态: running/completed/failed
+     */
+    @Builder.Default
+    private volatile String status = "running";
+
+    /**
+     * 失败原因
+     */
+    private volatile String error;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private volatile LocalDateTime endTime;
+}
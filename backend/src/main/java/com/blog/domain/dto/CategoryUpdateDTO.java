@@ -3,6 +3,7 @@ package com.blog.domain.dto;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -39,4 +40,8 @@ public class CategoryUpdateDTO {
 
     @Schema(description = "排序值，数值越小排序越前", example = "1")
     private Integer sortOrder;
+
+    @PositiveOrZero(message = "父分类ID不能为负数")
+    @Schema(description = "父分类ID，0或不传表示顶级分类", example = "0")
+    private Long parentId;
 }
@@ -0,0 +1,31 @@
+package com.blog.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 评论发表请求DTO
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Data
+@Accessors(chain = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(description = "评论发表请求")
+public class CommentCreateDTO {
+
+    @NotBlank(message = "评论内容不能为空")
+    @Size(max = 500, message = "评论内容不能超过500字符")
+    @Schema(description = "评论内容", example = "写得很好", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String content;
+
+    @PositiveOrZero(message = "父评论ID不能为负数")
+    @Schema(description = "回复的评论ID，发表根评论时不传或传0", example = "0")
+    private Long parentId;
+}
@@ -0,0 +1,30 @@
+package com.blog.domain.dto;
+
+import com.blog.utils.CollUtils;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "游标分页结果")
+public class CursorPageDTO<T> {
+    @Schema(description = "当前页数据")
+    protected List<T> list;
+    @Schema(description = "下一页游标，为空表示没有更多数据")
+    protected String nextCursor;
+    @Schema(description = "是否还有下一页")
+    protected Boolean hasMore;
+
+    public static <T> CursorPageDTO<T> empty() {
+        return new CursorPageDTO<>(CollUtils.emptyList(), null, false);
+    }
+
+    public static <T> CursorPageDTO<T> of(List<T> list, String nextCursor) {
+        return new CursorPageDTO<>(list, nextCursor, nextCursor != null);
+    }
+}
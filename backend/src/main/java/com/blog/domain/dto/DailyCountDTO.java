@@ -0,0 +1,20 @@
+package com.blog.domain.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 按天分组的计数结果
+ */
+@Data
+public class DailyCountDTO {
+    /**
+     * 日期
+     */
+    private LocalDate day;
+    /**
+     * 数量
+     */
+    private Long count;
+}
@@ -0,0 +1,18 @@
+package com.blog.domain.dto;
+
+import lombok.Data;
+
+/**
+ * 按ID分组的计数结果
+ */
+@Data
+public class IdCountDTO {
+    /**
+     * 分组ID
+     */
+    private Long id;
+    /**
+     * 数量
+     */
+    private Long count;
+}
@@ -0,0 +1,81 @@
+package com.blog.domain.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 文章版本实体类，全文快照或相对上一版本的差异
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Accessors(chain = true)
+@TableName("article_revisions")
+public class ArticleRevision implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 主键ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 文章ID
+     */
+    @TableField("article_id")
+    private Long articleId;
+
+    /**
+     * 版本号，同一文章内从1递增
+     */
+    @TableField("revision_no")
+    private Integer revisionNo;
+
+    /**
+     * 重建所依赖的快照版本号，等于 revisionNo 时本行即为快照
+     */
+    @TableField("base_no")
+    private Integer baseNo;
+
+    /**
+     * 版本标题
+     */
+    @TableField("title")
+    private String title;
+
+    /**
+     * 快照时为全文，否则为相对上一版本的差异
+     */
+    @TableField("payload")
+    private String payload;
+
+    /**
+     * 快照全文在正文存储中的引用，非空时 payload 为空串
+     */
+    @TableField("payload_ref")
+    private String payloadRef;
+
+    /**
+     * 版本正文字符数
+     */
+    @TableField("content_length")
+    private Integer contentLength;
+
+    /**
+     * 版本正文哈希
+     */
+    @TableField("content_hash")
+    private String contentHash;
+
+    /**
+     * 创建时间
+     */
+    @TableField("create_time")
+    private LocalDateTime createTime;
+}
@@ -49,7 +49,7 @@ public class Comment implements Serializable {
     /**
      * 点赞数
      */
-    @TableField("likes")
+    @TableField("like_count")
     private Integer likes;
 
     /**
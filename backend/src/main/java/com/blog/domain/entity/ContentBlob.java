@@ -0,0 +1,51 @@
+package com.blog.domain.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 正文存储实体类，按内容哈希去重的压缩正文
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Accessors(chain = true)
+@TableName("content_blobs")
+public class ContentBlob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 原文的 SHA-256 哈希
+     */
+    @TableId(value = "hash", type = IdType.INPUT)
+    private String hash;
+
+    /**
+     * 压缩算法（1-deflate）
+     */
+    @TableField("codec")
+    private Integer codec;
+
+    /**
+     * 原文字节数
+     */
+    @TableField("raw_length")
+    private Integer rawLength;
+
+    /**
+     * 压缩后的数据
+     */
+    @TableField("data")
+    private byte[] data;
+
+    /**
+     * 创建时间
+     */
+    @TableField("create_time")
+    private LocalDateTime createTime;
+}
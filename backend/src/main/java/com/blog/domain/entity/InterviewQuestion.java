@@ -46,6 +46,30 @@ public class InterviewQuestion implements Serializable {
     @TableField("content_html")
     private String contentHtml;
 
+    /**
+     * 题目目录（JSON数组）
+     */
+    @TableField("content_toc")
+    private String contentToc;
+
+    /**
+     * 最近一次渲染时的内容哈希
+     */
+    @TableField("content_hash")
+    private String contentHash;
+
+    /**
+     * 内容在正文存储中的引用，非空时 content 列为空串
+     */
+    @TableField("content_ref")
+    private String contentRef;
+
+    /**
+     * HTML 在正文存储中的引用，非空时 content_html 列为空串
+     */
+    @TableField("content_html_ref")
+    private String contentHtmlRef;
+
     /**
      * 难度等级（1-简单，2-中等，3-困难）
      */
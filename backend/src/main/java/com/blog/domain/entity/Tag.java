@@ -28,6 +28,12 @@ public class Tag implements Serializable {
     @TableField("name")
     private String name;
 
+    /**
+     * 标签颜色
+     */
+    @TableField("color")
+    private String color;
+
     /**
      * 标签描述
      */
@@ -38,6 +38,24 @@ public class Articles implements Serializable {
     @Schema(description = "文章正文内容，Markdown格式，最大16MB")
     private String content;
 
+    @Schema(description = "正文渲染后的HTML，写入时由content生成")
+    private String contentHtml;
+
+    @Schema(description = "正文目录，JSON数组，写入时由content生成")
+    private String contentToc;
+
+    @Schema(description = "最近一次渲染时的正文哈希，用于判断是否需要重新渲染")
+    private String contentHash;
+
+    @Schema(description = "正文在正文存储中的引用，非空时content列为空串")
+    private String contentRef;
+
+    @Schema(description = "渲染后HTML在正文存储中的引用，非空时content_html列为空串")
+    private String contentHtmlRef;
+
+    @Schema(description = "正文外置时保留的开头片段，供列表生成摘要")
+    private String contentExcerpt;
+
     @Schema(description = "文章摘要，最大500字符，为空时自动从content提取前200字")
     private String summary;
 
@@ -50,7 +68,7 @@ public class Articles implements Serializable {
     @Schema(description = "文章分类ID，关联categories表，可为空")
     private Long categoryId;
 
-    @Schema(description = "发布状态：0-草稿，1-已发布，2-已下架，3-待审核")
+    @Schema(description = "发布状态：0-草稿，1-已发布，2-已下架，3-待审核，4-定时发布")
     @TableField(fill = FieldFill.INSERT)
     private Integer status;
 
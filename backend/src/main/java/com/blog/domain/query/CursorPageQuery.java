@@ -0,0 +1,28 @@
+package com.blog.domain.query;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 游标（Keyset）分页请求参数
+ *
+ * <p>按 (create_time DESC, id DESC) 复合键定位，不使用 OFFSET，翻页深度不影响查询耗时</p>
+ */
+@Data
+@Schema(description = "游标分页请求参数")
+@Accessors(chain = true)
+public class CursorPageQuery {
+    public static final Integer DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    @Schema(description = "游标，取上一页返回的nextCursor，查询首页时不传", example = "MjAyNS0wOS0yNFQxMDowMDowMF8xMjM")
+    private String cursor;
+
+    @Schema(description = "每页大小", example = "20")
+    @Min(value = 1, message = "每页查询数量不能小于1")
+    @Max(value = MAX_PAGE_SIZE, message = "每页查询数量不能大于100")
+    private Integer pageSize = DEFAULT_PAGE_SIZE;
+}
@@ -0,0 +1,43 @@
+package com.blog.domain.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * 文章归档（年）
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "文章归档（年）")
+public class ArchiveYearVO {
+
+    @Schema(description = "年份", example = "2025")
+    private Integer year;
+
+    @Schema(description = "该年已发布文章数", example = "42")
+    private Integer count;
+
+    @Schema(description = "各月归档，按月份倒序，只含有文章的月份")
+    private List<MonthVO> months;
+
+    /**
+     * 月归档
+     */
+    @Data
+    @Accessors(chain = true)
+    @Schema(description = "月归档")
+    public static class MonthVO {
+
+        @Schema(description = "月份，1-12", example = "9")
+        private Integer month;
+
+        @Schema(description = "该月已发布文章数", example = "6")
+        private Integer count;
+    }
+}
@@ -30,6 +30,12 @@ public class ArticleDetailVO {
     @Schema(description = "文章内容(Markdown格式)")
     private String content;
 
+    @Schema(description = "文章内容(HTML格式)，写入时渲染")
+    private String contentHtml;
+
+    @Schema(description = "文章目录")
+    private List<TocItemVO> toc;
+
     @Schema(description = "文章摘要", example = "Spring Boot 3.0带来了革命性的更新...")
     private String summary;
 
@@ -45,7 +51,7 @@ public class ArticleDetailVO {
     @Schema(description = "标签列表")
     private List<TagDetailVO> tags;
 
-    @Schema(description = "文章状态：0-草稿，1-已发布，2-已下架", example = "1")
+    @Schema(description = "文章状态：0-草稿，1-已发布，2-已下架，4-定时发布", example = "1")
     private Integer status;
 
     @Schema(description = "状态文本", example = "已发布")
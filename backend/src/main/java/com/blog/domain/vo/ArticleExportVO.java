@@ -0,0 +1,86 @@
+package com.blog.domain.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文章导出记录，NDJSON 中的一行
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "文章导出记录")
+public class ArticleExportVO {
+
+    @Schema(description = "文章ID", example = "1")
+    private Long id;
+
+    @Schema(description = "文章标题")
+    private String title;
+
+    @Schema(description = "文章摘要")
+    private String summary;
+
+    @Schema(description = "文章内容(Markdown)")
+    private String content;
+
+    @Schema(description = "封面图片URL")
+    private String coverImage;
+
+    @Schema(description = "作者ID")
+    private Long authorId;
+
+    @Schema(description = "分类ID")
+    private Long categoryId;
+
+    @Schema(description = "标签名称")
+    private List<String> tags;
+
+    @Schema(description = "文章状态：0-草稿，1-已发布，2-已下架，3-待审核，4-定时发布")
+    private Integer status;
+
+    @Schema(description = "是否置顶")
+    private Boolean isTop;
+
+    @Schema(description = "是否精选")
+    private Boolean isFeatured;
+
+    @Schema(description = "文章类型：1-原创，2-转载，3-翻译")
+    private Integer articleType;
+
+    @Schema(description = "原文链接")
+    private String originalUrl;
+
+    @Schema(description = "SEO关键词")
+    private String keywords;
+
+    @Schema(description = "SEO描述")
+    private String description;
+
+    @Schema(description = "浏览次数")
+    private Long viewCount;
+
+    @Schema(description = "点赞次数")
+    private Long likeCount;
+
+    @Schema(description = "评论次数")
+    private Long commentCount;
+
+    @Schema(description = "收藏次数")
+    private Long collectCount;
+
+    @Schema(description = "发布时间")
+    private LocalDateTime publishTime;
+
+    @Schema(description = "创建时间")
+    private LocalDateTime createTime;
+
+    @Schema(description = "更新时间")
+    private LocalDateTime updateTime;
+}
@@ -42,7 +42,7 @@ public class ArticleListItemVO {
     @Schema(description = "标签列表")
     private List<TagSimpleVO> tags;
 
-    @Schema(description = "文章状态：0-草稿，1-已发布，2-已下架", example = "1")
+    @Schema(description = "文章状态：0-草稿，1-已发布，2-已下架，4-定时发布", example = "1")
     private Integer status;
 
     @Schema(description = "状态文本", example = "已发布")
@@ -0,0 +1,29 @@
+package com.blog.domain.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 文章点赞、收藏状态
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "文章点赞、收藏状态")
+public class ArticleReactionVO {
+
+    @Schema(description = "当前用户是否已点赞，未登录时为false")
+    private Boolean liked;
+
+    @Schema(description = "当前用户是否已收藏，未登录时为false")
+    private Boolean collected;
+
+    @Schema(description = "点赞数", example = "12")
+    private Long likeCount;
+
+    @Schema(description = "收藏数", example = "3")
+    private Long collectCount;
+}
@@ -0,0 +1,40 @@
+package com.blog.domain.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章版本
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "文章版本")
+public class ArticleRevisionVO {
+
+    @Schema(description = "版本号，同一文章内从1递增", example = "3")
+    private Integer revisionNo;
+
+    @Schema(description = "版本标题")
+    private String title;
+
+    @Schema(description = "正文字符数", example = "5321")
+    private Integer contentLength;
+
+    @Schema(description = "正文哈希")
+    private String contentHash;
+
+    @Schema(description = "是否以全文快照保存")
+    private Boolean snapshot;
+
+    @Schema(description = "保存时间")
+    private LocalDateTime createTime;
+
+    @Schema(description = "正文(Markdown)，仅查询单个版本时返回")
+    private String content;
+}
@@ -0,0 +1,55 @@
+package com.blog.domain.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文章分类
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Data
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "文章分类")
+public class CategoryVO {
+
+    @Schema(description = "分类ID", example = "1")
+    private Long id;
+
+    @Schema(description = "分类名称", example = "技术博客")
+    private String name;
+
+    @Schema(description = "分类描述")
+    private String description;
+
+    @Schema(description = "图标", example = "CodeOutlined")
+    private String icon;
+
+    @Schema(description = "父分类ID，顶级分类为0", example = "0")
+    private Long parentId;
+
+    @Schema(description = "排序值，数值越小越靠前", example = "1")
+    private Integer sortOrder;
+
+    @Schema(description = "直接属于该分类的已发布文章数，未请求统计时不返回", example = "5")
+    private Long articleCount;
+
+    @Schema(description = "该分类及全部子分类的已发布文章数，未请求统计时不返回", example = "12")
+    private Long totalArticleCount;
+
+    @Schema(description = "创建时间")
+    private LocalDateTime createTime;
+
+    @Schema(description = "更新时间")
+    private LocalDateTime updateTime;
+
+    @Schema(description = "子分类，仅树形结构返回")
+    private List<CategoryVO> children;
+}
@@ -0,0 +1,54 @@
+package com.blog.domain.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 评论
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "评论")
+public class CommentVO {
+
+    @Schema(description = "评论ID", example = "1")
+    private Long id;
+
+    @Schema(description = "父评论ID，根评论为0", example = "0")
+    private Long parentId;
+
+    @Schema(description = "评论用户ID", example = "1")
+    private Long userId;
+
+    @Schema(description = "评论用户昵称")
+    private String nickname;
+
+    @Schema(description = "评论用户头像")
+    private String avatar;
+
+    @Schema(description = "被回复用户的昵称，根评论为空")
+    private String replyToNickname;
+
+    @Schema(description = "评论内容")
+    private String content;
+
+    @Schema(description = "点赞数", example = "0")
+    private Integer likeCount;
+
+    @Schema(description = "评论时间")
+    private LocalDateTime createTime;
+
+    @Schema(description = "回复总数（含各层级），只对根评论有值", example = "3")
+    private Integer replyCount;
+
+    @Schema(description = "直接回复，按时间正序")
+    private List<CommentVO> replies = new ArrayList<>();
+}
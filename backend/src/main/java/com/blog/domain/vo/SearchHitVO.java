@@ -0,0 +1,29 @@
+package com.blog.domain.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 全文搜索命中项视图对象
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "全文搜索命中项")
+public class SearchHitVO {
+
+    @Schema(description = "文章或面试题ID", example = "1")
+    private Long id;
+
+    @Schema(description = "标题，命中部分用<em>包裹", example = "<em>Spring</em> Boot 3.0 新特性详解")
+    private String title;
+
+    @Schema(description = "正文片段，命中部分用<em>包裹", example = "...<em>Spring</em> Boot 3.0带来了革命性的更新...")
+    private String snippet;
+
+    @Schema(description = "相关度得分", example = "7.31")
+    private Double score;
+}
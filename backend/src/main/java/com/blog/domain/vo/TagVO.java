@@ -0,0 +1,40 @@
+package com.blog.domain.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * 标签
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "标签")
+public class TagVO {
+
+    @Schema(description = "标签ID", example = "1")
+    private Long id;
+
+    @Schema(description = "标签名称", example = "Java")
+    private String name;
+
+    @Schema(description = "标签颜色", example = "#f50")
+    private String color;
+
+    @Schema(description = "标签描述", example = "Java编程语言")
+    private String description;
+
+    @Schema(description = "使用次数，即关联的未删除文章数", example = "10")
+    private Integer useCount;
+
+    @Schema(description = "创建时间")
+    private LocalDateTime createTime;
+
+    @Schema(description = "更新时间")
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,26 @@
+package com.blog.domain.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * 目录项
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "目录项")
+public class TocItemVO {
+
+    @Schema(description = "标题级别，1-6", example = "2")
+    private Integer level;
+
+    @Schema(description = "锚点ID，与渲染后 HTML 中标题的 id 一致", example = "快速开始")
+    private String id;
+
+    @Schema(description = "标题文本", example = "快速开始")
+    private String text;
+}
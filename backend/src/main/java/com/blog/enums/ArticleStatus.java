@@ -0,0 +1,46 @@
+package com.blog.enums;
+
+/**
+ * 文章发布状态枚举
+ */
+public enum ArticleStatus implements BaseEnum {
+
+    DRAFT(0, "草稿"),
+    PUBLISHED(1, "已发布"),
+    UNPUBLISHED(2, "已下架"),
+    PENDING_REVIEW(3, "待审核"),
+    SCHEDULED(4, "定时发布");
+
+    private final int value;
+    private final String desc;
+
+    ArticleStatus(int value, String desc) {
+        this.value = value;
+        this.desc = desc;
+    }
+
+    @Override
+    public int getValue() {
+        return this.value;
+    }
+
+    @Override
+    public String getDesc() {
+        return this.desc;
+    }
+
+    /**
+     * 根据值获取状态文本，未知值返回null
+     */
+    public static String descOf(Integer value) {
+        if (value == null) {
+            return null;
+        }
+        for (ArticleStatus status : values()) {
+            if (status.getValue() == value) {
+                return status.getDesc();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.blog.enums;
+
+/**
+ * 文章类型枚举
+ */
+public enum ArticleType implements BaseEnum {
+
+    ORIGINAL(1, "原创"),
+    REPRINT(2, "转载"),
+    TRANSLATION(3, "翻译");
+
+    private final int value;
+    private final String desc;
+
+    ArticleType(int value, String desc) {
+        this.value = value;
+        this.desc = desc;
+    }
+
+    @Override
+    public int getValue() {
+        return this.value;
+    }
+
+    @Override
+    public String getDesc() {
+        return this.desc;
+    }
+
+    /**
+     * 根据值获取类型文本，未知值返回null
+     */
+    public static String descOf(Integer value) {
+        if (value == null) {
+            return null;
+        }
+        for (ArticleType type : values()) {
+            if (type.getValue() == value) {
+                return type.getDesc();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.blog.enums;
+
+/**
+ * 文章互动类型枚举
+ */
+public enum ReactionType implements BaseEnum {
+
+    LIKE(1, "点赞", "article_likes", "like_count"),
+    COLLECT(2, "收藏", "article_collections", "collect_count");
+
+    private final int value;
+    private final String desc;
+    private final String table;
+    private final String countColumn;
+
+    ReactionType(int value, String desc, String table, String countColumn) {
+        this.value = value;
+        this.desc = desc;
+        this.table = table;
+        this.countColumn = countColumn;
+    }
+
+    @Override
+    public int getValue() {
+        return this.value;
+    }
+
+    @Override
+    public String getDesc() {
+        return this.desc;
+    }
+
+    /**
+     * 记录表名
+     */
+    public String getTable() {
+        return this.table;
+    }
+
+    /**
+     * 文章表中的计数列
+     */
+    public String getCountColumn() {
+        return this.countColumn;
+    }
+}
@@ -0,0 +1,63 @@
+package com.blog.event;
+
+import com.blog.domain.po.Articles;
+import com.blog.mapper.ArticlesMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 文章变更事件发布器
+ *
+ * <p>写操作前后各取一次状态快照（不含正文），据此发布 {@link ArticleChangedEvent}</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleChangePublisher {
+
+    private final ArticlesMapper articlesMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 查询文章状态快照
+     * @param ids 文章ID集合
+     * @return 文章ID -> 状态快照，已删除或不存在的文章不在结果中
+     */
+    public Map<Long, Articles> snapshot(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+        return articlesMapper.selectStatesByIds(ids).stream()
+                .collect(Collectors.toMap(Articles::getId, Function.identity()));
+    }
+
+    /**
+     * 发布文章变更事件，监听方在事务提交后按变更前后的快照计算增量
+     * @param before 变更前状态
+     * @param after 变更后状态
+     */
+    public void publish(Map<Long, Articles> before, Map<Long, Articles> after) {
+        Set<Long> ids = new LinkedHashSet<>(before.keySet());
+        ids.addAll(after.keySet());
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<ArticleChangedEvent.Change> changes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            changes.add(new ArticleChangedEvent.Change(before.get(id), after.get(id)));
+        }
+        eventPublisher.publishEvent(new ArticleChangedEvent(changes));
+    }
+}
@@ -0,0 +1,69 @@
+package com.blog.event;
+
+import com.blog.domain.po.Articles;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 文章变更事件
+ *
+ * <p>由文章写操作（创建、更新、删除、批量操作）在变更后发布，携带每篇文章变更前后的状态快照，
+ * 监听方据此计算增量，无需重新扫描文章表</p>
+ * <p>快照包含状态列及标题、摘要、封面和正文哈希（不含正文），由 {@code ArticlesMapper#selectStatesByIds} 查询；
+ * 依赖正文的监听方通过 {@link Change#isTextChanged()} 判断是否需要重新读取正文，批量改状态时不读正文</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Getter
+@AllArgsConstructor
+public class ArticleChangedEvent {
+
+    private final List<Change> changes;
+
+    /**
+     * 单篇文章的变更
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Change {
+
+        /**
+         * 变更前状态，为空表示新建
+         */
+        private final Articles before;
+
+        /**
+         * 变更后状态，为空表示已删除
+         */
+        private final Articles after;
+
+        public Long getId() {
+            return after != null ? after.getId() : before.getId();
+        }
+
+        public boolean isCreated() {
+            return before == null;
+        }
+
+        public boolean isDeleted() {
+            return after == null;
+        }
+
+        /**
+         * 新建或标题、摘要、正文有变化；删除时返回false
+         */
+        public boolean isTextChanged() {
+            if (after == null) {
+                return false;
+            }
+            return before == null
+                    || !Objects.equals(before.getContentHash(), after.getContentHash())
+                    || !Objects.equals(before.getTitle(), after.getTitle())
+                    || !Objects.equals(before.getSummary(), after.getSummary());
+        }
+    }
+}
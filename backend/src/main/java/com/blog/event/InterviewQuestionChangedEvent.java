@@ -0,0 +1,21 @@
+package com.blog.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * 面试题变更事件
+ *
+ * <p>面试题新增、修改、删除、状态变更及批量导入后发布，监听方按ID重新加载最新数据</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Getter
+@AllArgsConstructor
+public class InterviewQuestionChangedEvent {
+
+    private final Collection<Long> questionIds;
+}
@@ -0,0 +1,443 @@
+package com.blog.feed;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.domain.po.Articles;
+import com.blog.enums.ArticleStatus;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.utils.MarkdownUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 站点地图与订阅源
+ *
+ * <p>在内存中维护全部已发布文章的 (ID, 最后修改时间, 发布时间)，站点地图按 ID 分片，
+ * 分片号 = ID / 50000，每个分片最多 50000 个 URL，文章变更只影响所在分片；分片索引列出全部非空分片</p>
+ * <p>RSS 与 Atom 只包含发布时间最新的 {@code blog.feed.size} 篇文章，变更涉及当前订阅源中的文章或可能进入订阅源时才重新生成</p>
+ * <p>文章变更事件只标记脏分片，由定时任务重新生成脏分片的字节和 ETag，读取时直接返回生成好的字节；
+ * 定时对账用于同步其他实例上发生的变更</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FeedGenerator {
+
+    /**
+     * 单个站点地图文件的 URL 上限（sitemaps.org 协议限制）
+     */
+    public static final int SHARD_SIZE = 50_000;
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int SUMMARY_LENGTH = 200;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final ArticlesMapper articlesMapper;
+
+    @Value("${blog.feed.site-url:http://localhost:3000}")
+    private String siteUrl;
+
+    @Value("${blog.feed.title:技术博客}")
+    private String title;
+
+    @Value("${blog.feed.description:}")
+    private String description;
+
+    @Value("${blog.feed.size:20}")
+    private int size;
+
+    /**
+     * 生成好的文档
+     *
+     * @param body 响应字节
+     * @param etag 内容哈希
+     * @param lastModified 生成时间，毫秒
+     */
+    public record Document(byte[] body, String etag, long lastModified) {
+    }
+
+    /**
+     * 已发布文章，只在持有锁时读写
+     * 分片号 -> (文章ID -> 最后修改时间)
+     */
+    private final Map<Integer, TreeMap<Long, LocalDateTime>> shardEntries = new HashMap<>();
+    private final Map<Long, LocalDateTime> publishTimes = new HashMap<>();
+    private final TreeSet<Long> latest = new TreeSet<>(Comparator
+            .comparing((Long id) -> publishTimes.get(id)).reversed()
+            .thenComparing(Comparator.reverseOrder()));
+    private final Set<Integer> dirtyShards = new HashSet<>();
+    private boolean feedDirty;
+
+    /**
+     * 生成过程串行执行，避免较早开始的生成覆盖较新的结果
+     */
+    private final Object renderLock = new Object();
+
+    private final Map<Integer, Document> shards = new ConcurrentHashMap<>();
+    private volatile Document index;
+    private volatile Document rss;
+    private volatile Document atom;
+    private volatile List<Long> feedIds = List.of();
+
+    public Document sitemapIndex() {
+        return index;
+    }
+
+    public Document sitemap(int shard) {
+        return shards.get(shard);
+    }
+
+    public Document rss() {
+        return rss;
+    }
+
+    public Document atom() {
+        return atom;
+    }
+
+    /**
+     * 启动时全量加载并生成
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        reconcile();
+    }
+
+    /**
+     * 对账：重新加载已发布文章，与内存状态不一致的分片标记为脏
+     */
+    @Scheduled(initialDelayString = "${blog.feed.reconcile-interval:10m}",
+            fixedDelayString = "${blog.feed.reconcile-interval:10m}")
+    public void reconcile() {
+        try {
+            Map<Integer, TreeMap<Long, LocalDateTime>> freshShards = new HashMap<>();
+            Map<Long, LocalDateTime> freshPublishTimes = new HashMap<>();
+            long lastId = 0;
+            while (true) {
+                List<Articles> batch = articlesMapper.selectList(Wrappers.<Articles>lambdaQuery()
+                        .select(Articles::getId, Articles::getPublishTime, Articles::getCreateTime, Articles::getUpdateTime)
+                        .eq(Articles::getStatus, ArticleStatus.PUBLISHED.getValue())
+                        .gt(Articles::getId, lastId)
+                        .orderByAsc(Articles::getId)
+                        .last("LIMIT " + BATCH_SIZE));
+                for (Articles article : batch) {
+                    freshShards.computeIfAbsent(shardOf(article.getId()), k -> new TreeMap<>())
+                            .put(article.getId(), lastModified(article));
+                    freshPublishTimes.put(article.getId(), publishTime(article));
+                }
+                if (batch.size() < BATCH_SIZE) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            synchronized (this) {
+                Set<Integer> all = new HashSet<>(shardEntries.keySet());
+                all.addAll(freshShards.keySet());
+                for (Integer shard : all) {
+                    if (!freshShards.getOrDefault(shard, new TreeMap<>()).equals(shardEntries.get(shard))) {
+                        dirtyShards.add(shard);
+                    }
+                }
+                if (!freshPublishTimes.equals(publishTimes)) {
+                    feedDirty = true;
+                }
+                shardEntries.clear();
+                shardEntries.putAll(freshShards);
+                latest.clear();
+                publishTimes.clear();
+                publishTimes.putAll(freshPublishTimes);
+                latest.addAll(freshPublishTimes.keySet());
+                if (rss == null) {
+                    feedDirty = true;
+                }
+            }
+            regenerate();
+            log.info("站点地图对账完成 - 已发布文章：{}，分片：{}", freshPublishTimes.size(), freshShards.size());
+        } catch (Exception e) {
+            log.error("站点地图对账失败", e);
+        }
+    }
+
+    /**
+     * 文章发布、下架、删除或修改后标记受影响的分片和订阅源
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        synchronized (this) {
+            List<Long> currentFeed = feedIds;
+            for (ArticleChangedEvent.Change change : event.getChanges()) {
+                Long id = change.getId();
+                int shard = shardOf(id);
+                TreeMap<Long, LocalDateTime> entries = shardEntries.get(shard);
+                if (entries != null && entries.remove(id) != null) {
+                    latest.remove(id);
+                    publishTimes.remove(id);
+                    dirtyShards.add(shard);
+                    if (entries.isEmpty()) {
+                        shardEntries.remove(shard);
+                    }
+                }
+                Articles after = change.getAfter();
+                if (after != null && Integer.valueOf(ArticleStatus.PUBLISHED.getValue()).equals(after.getStatus())) {
+                    shardEntries.computeIfAbsent(shard, k -> new TreeMap<>()).put(id, lastModified(after));
+                    publishTimes.put(id, publishTime(after));
+                    latest.add(id);
+                    dirtyShards.add(shard);
+                }
+                if (currentFeed.contains(id) || mayEnterFeed(id, currentFeed)) {
+                    feedDirty = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * 重新生成脏分片和订阅源
+     */
+    @Scheduled(fixedDelayString = "${blog.feed.refresh-interval:5s}")
+    public void regenerate() {
+        synchronized (renderLock) {
+            doRegenerate();
+        }
+    }
+
+    private void doRegenerate() {
+        Map<Integer, List<Map.Entry<Long, LocalDateTime>>> changed = new HashMap<>();
+        List<Map.Entry<Integer, LocalDateTime>> shardIndex = new ArrayList<>();
+        boolean indexChanged;
+        List<Long> newFeedIds = null;
+        synchronized (this) {
+            indexChanged = !dirtyShards.isEmpty() || index == null;
+            for (Integer shard : dirtyShards) {
+                TreeMap<Long, LocalDateTime> entries = shardEntries.get(shard);
+                changed.put(shard, entries == null ? List.of() : new ArrayList<>(entries.entrySet()));
+            }
+            dirtyShards.clear();
+            if (indexChanged) {
+                for (Map.Entry<Integer, TreeMap<Long, LocalDateTime>> entry : new TreeMap<>(shardEntries).entrySet()) {
+                    shardIndex.add(Map.entry(entry.getKey(), entry.getValue().values().stream()
+                            .max(Comparator.naturalOrder()).orElse(LocalDateTime.now())));
+                }
+            }
+            if (feedDirty) {
+                newFeedIds = latest.stream().limit(size).toList();
+                feedDirty = false;
+            }
+        }
+        try {
+            for (Map.Entry<Integer, List<Map.Entry<Long, LocalDateTime>>> entry : changed.entrySet()) {
+                if (entry.getValue().isEmpty()) {
+                    shards.remove(entry.getKey());
+                } else {
+                    shards.put(entry.getKey(), document(renderSitemap(entry.getValue())));
+                }
+            }
+            if (indexChanged) {
+                index = document(renderIndex(shardIndex));
+            }
+            if (newFeedIds != null) {
+                List<Articles> items = loadItems(newFeedIds);
+                rss = document(renderRss(items));
+                atom = document(renderAtom(items));
+                feedIds = newFeedIds;
+            }
+        } catch (Exception e) {
+            synchronized (this) {
+                dirtyShards.addAll(changed.keySet());
+                feedDirty |= newFeedIds != null;
+            }
+            log.error("站点地图生成失败", e);
+        }
+    }
+
+    /**
+     * 文章是否会排进当前订阅源，调用方持有锁
+     */
+    private boolean mayEnterFeed(Long id, List<Long> currentFeed) {
+        // latest 的比较器按 publishTimes 取值，成员判断只能查 publishTimes，已移除的文章不能交给比较器
+        if (!publishTimes.containsKey(id)) {
+            return false;
+        }
+        if (currentFeed.size() < size) {
+            return true;
+        }
+        Long last = currentFeed.get(currentFeed.size() - 1);
+        return !publishTimes.containsKey(last) || latest.comparator().compare(id, last) < 0;
+    }
+
+    private List<Articles> loadItems(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Articles> rows = articlesMapper.selectListByIds(ids, SUMMARY_LENGTH).stream()
+                .collect(Collectors.toMap(Articles::getId, Function.identity()));
+        List<Articles> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Articles article = rows.get(id);
+            if (article != null) {
+                items.add(article);
+            }
+        }
+        return items;
+    }
+
+    private String renderIndex(List<Map.Entry<Integer, LocalDateTime>> shardIndex) {
+        StringBuilder xml = new StringBuilder(256 + shardIndex.size() * 128);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        for (Map.Entry<Integer, LocalDateTime> shard : shardIndex) {
+            xml.append("  <sitemap><loc>").append(escape(siteUrl)).append("/sitemap-").append(shard.getKey())
+                    .append(".xml</loc><lastmod>").append(w3c(shard.getValue())).append("</lastmod></sitemap>\n");
+        }
+        return xml.append("</sitemapindex>\n").toString();
+    }
+
+    private String renderSitemap(List<Map.Entry<Long, LocalDateTime>> entries) {
+        StringBuilder xml = new StringBuilder(256 + entries.size() * 120);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        for (Map.Entry<Long, LocalDateTime> entry : entries) {
+            xml.append("  <url><loc>").append(articleUrl(entry.getKey()))
+                    .append("</loc><lastmod>").append(w3c(entry.getValue())).append("</lastmod></url>\n");
+        }
+        return xml.append("</urlset>\n").toString();
+    }
+
+    private String renderRss(List<Articles> items) {
+        StringBuilder xml = new StringBuilder(1024 + items.size() * 512);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<rss version=\"2.0\" xmlns:atom=\"http://www.w3.org/2005/Atom\">\n<channel>\n")
+                .append("  <title>").append(escape(title)).append("</title>\n")
+                .append("  <link>").append(escape(siteUrl)).append("</link>\n")
+                .append("  <description>").append(escape(description)).append("</description>\n")
+                .append("  <atom:link href=\"").append(escape(siteUrl)).append("/rss.xml\" rel=\"self\" type=\"application/rss+xml\"/>\n");
+        if (!items.isEmpty()) {
+            xml.append("  <lastBuildDate>").append(rfc1123(publishTime(items.get(0)))).append("</lastBuildDate>\n");
+        }
+        for (Articles article : items) {
+            String link = articleUrl(article.getId());
+            xml.append("  <item>\n")
+                    .append("    <title>").append(escape(article.getTitle())).append("</title>\n")
+                    .append("    <link>").append(link).append("</link>\n")
+                    .append("    <guid isPermaLink=\"true\">").append(link).append("</guid>\n")
+                    .append("    <pubDate>").append(rfc1123(publishTime(article))).append("</pubDate>\n")
+                    .append("    <description>").append(escape(summary(article))).append("</description>\n")
+                    .append("  </item>\n");
+        }
+        return xml.append("</channel>\n</rss>\n").toString();
+    }
+
+    private String renderAtom(List<Articles> items) {
+        StringBuilder xml = new StringBuilder(1024 + items.size() * 512);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<feed xmlns=\"http://www.w3.org/2005/Atom\">\n")
+                .append("  <title>").append(escape(title)).append("</title>\n")
+                .append("  <id>").append(escape(siteUrl)).append("/</id>\n")
+                .append("  <link href=\"").append(escape(siteUrl)).append("\"/>\n")
+                .append("  <link href=\"").append(escape(siteUrl)).append("/atom.xml\" rel=\"self\"/>\n")
+                .append("  <updated>").append(w3c(items.isEmpty() ? LocalDateTime.now() : lastModified(items.get(0))))
+                .append("</updated>\n");
+        for (Articles article : items) {
+            String link = articleUrl(article.getId());
+            xml.append("  <entry>\n")
+                    .append("    <title>").append(escape(article.getTitle())).append("</title>\n")
+                    .append("    <id>").append(link).append("</id>\n")
+                    .append("    <link href=\"").append(link).append("\"/>\n")
+                    .append("    <published>").append(w3c(publishTime(article))).append("</published>\n")
+                    .append("    <updated>").append(w3c(lastModified(article))).append("</updated>\n")
+                    .append("    <summary>").append(escape(summary(article))).append("</summary>\n")
+                    .append("  </entry>\n");
+        }
+        return xml.append("</feed>\n").toString();
+    }
+
+    private static Document document(String xml) {
+        byte[] body = xml.getBytes(StandardCharsets.UTF_8);
+        return new Document(body, DigestUtil.md5Hex(body), System.currentTimeMillis());
+    }
+
+    private String articleUrl(Long id) {
+        return escape(siteUrl) + "/articles/" + id;
+    }
+
+    private static String summary(Articles article) {
+        if (article.getSummary() != null) {
+            return article.getSummary();
+        }
+        return article.getContent() == null ? "" : MarkdownUtils.excerpt(article.getContent(), SUMMARY_LENGTH);
+    }
+
+    private static int shardOf(Long id) {
+        return (int) (id / SHARD_SIZE);
+    }
+
+    private static LocalDateTime lastModified(Articles article) {
+        return article.getUpdateTime() != null ? article.getUpdateTime() : publishTime(article);
+    }
+
+    private static LocalDateTime publishTime(Articles article) {
+        if (article.getPublishTime() != null) {
+            return article.getPublishTime();
+        }
+        return article.getCreateTime() != null ? article.getCreateTime() : LocalDateTime.now();
+    }
+
+    private static String w3c(LocalDateTime time) {
+        return time.atZone(ZONE).withNano(0).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    private static String rfc1123(LocalDateTime time) {
+        return time.atZone(ZONE).format(DateTimeFormatter.RFC_1123_DATE_TIME);
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&apos;");
+                default -> {
+                    // XML 1.0 不允许的控制字符直接丢弃
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.toString();
+    }
+}
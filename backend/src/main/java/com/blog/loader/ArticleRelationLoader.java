@@ -0,0 +1,115 @@
+package com.blog.loader;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.domain.dto.ArticleTagDTO;
+import com.blog.domain.entity.Category;
+import com.blog.domain.entity.User;
+import com.blog.domain.po.Articles;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.mapper.CategoryMapper;
+import com.blog.mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 文章关联数据加载器（请求作用域）
+ *
+ * <p>组装文章列表或详情时，先 {@link #prime} 登记本页所有文章，再逐篇读取作者、分类、标签；
+ * 每类数据在一次请求内最多一次 IN 查询，同一请求内重复读取直接命中缓存</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class ArticleRelationLoader {
+
+    private final UserMapper userMapper;
+    private final CategoryMapper categoryMapper;
+    private final ArticlesMapper articlesMapper;
+
+    private BatchLoader<Long, User> authors;
+    private BatchLoader<Long, Category> categories;
+    private BatchLoader<Long, List<ArticleTagDTO>> tags;
+
+    /**
+     * 登记一批文章需要的作者、分类、标签
+     */
+    public void prime(Collection<Articles> articles) {
+        for (Articles article : articles) {
+            authors().enqueue(article.getAuthorId());
+            categories().enqueue(article.getCategoryId());
+            tags().enqueue(article.getId());
+        }
+    }
+
+    /**
+     * 获取作者，只包含ID、昵称、头像、简介
+     */
+    public User author(Long authorId) {
+        return authors().get(authorId);
+    }
+
+    /**
+     * 获取分类，只包含ID、名称、描述
+     */
+    public Category category(Long categoryId) {
+        return categories().get(categoryId);
+    }
+
+    /**
+     * 获取文章标签，按关联顺序排列
+     */
+    public List<ArticleTagDTO> tags(Long articleId) {
+        List<ArticleTagDTO> result = tags().get(articleId);
+        return result == null ? new ArrayList<>() : result;
+    }
+
+    private BatchLoader<Long, User> authors() {
+        if (authors == null) {
+            authors = new BatchLoader<>(ids -> userMapper.selectList(Wrappers.<User>lambdaQuery()
+                            .select(User::getId, User::getNickname, User::getAvatar, User::getBio)
+                            .in(User::getId, ids))
+                    .stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity())));
+        }
+        return authors;
+    }
+
+    private BatchLoader<Long, Category> categories() {
+        if (categories == null) {
+            categories = new BatchLoader<>(ids -> categoryMapper.selectList(Wrappers.<Category>lambdaQuery()
+                            .select(Category::getId, Category::getName, Category::getDescription)
+                            .in(Category::getId, ids))
+                    .stream()
+                    .collect(Collectors.toMap(Category::getId, Function.identity())));
+        }
+        return categories;
+    }
+
+    private BatchLoader<Long, List<ArticleTagDTO>> tags() {
+        if (tags == null) {
+            tags = new BatchLoader<>(this::loadTags);
+        }
+        return tags;
+    }
+
+    private Map<Long, List<ArticleTagDTO>> loadTags(Set<Long> articleIds) {
+        Map<Long, List<ArticleTagDTO>> result = new HashMap<>();
+        for (ArticleTagDTO tag : articlesMapper.selectTagsByArticleIds(articleIds)) {
+            result.computeIfAbsent(tag.getArticleId(), k -> new ArrayList<>()).add(tag);
+        }
+        return result;
+    }
+}
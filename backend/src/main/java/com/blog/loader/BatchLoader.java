@@ -0,0 +1,71 @@
+package com.blog.loader;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 批量加载器（DataLoader 模式）
+ *
+ * <p>先用 {@link #enqueue} 登记需要的键，首次 {@link #get} 时把所有未加载的键合并成一次批量查询，结果在加载器生命周期内缓存</p>
+ * <p>非线程安全，应在单个请求内使用</p>
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class BatchLoader<K, V> {
+
+    private final Function<Set<K>, Map<K, V>> batchFunction;
+    private final Map<K, V> loaded = new HashMap<>();
+    private final Set<K> resolved = new LinkedHashSet<>();
+    private final Set<K> pending = new LinkedHashSet<>();
+
+    /**
+     * @param batchFunction 批量查询函数，入参为未加载过的键，返回键到值的映射（不存在的键可缺省）
+     */
+    public BatchLoader(Function<Set<K>, Map<K, V>> batchFunction) {
+        this.batchFunction = batchFunction;
+    }
+
+    /**
+     * 登记需要加载的键，空键和已加载的键会被忽略
+     */
+    public void enqueue(K key) {
+        if (key != null && !resolved.contains(key)) {
+            pending.add(key);
+        }
+    }
+
+    public void enqueueAll(Collection<K> keys) {
+        for (K key : keys) {
+            enqueue(key);
+        }
+    }
+
+    /**
+     * 获取值，有待加载的键时先执行一次批量查询
+     *
+     * @return 值，不存在时返回null
+     */
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        enqueue(key);
+        dispatch();
+        return loaded.get(key);
+    }
+
+    private void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<K> keys = new LinkedHashSet<>(pending);
+        pending.clear();
+        loaded.putAll(batchFunction.apply(keys));
+        resolved.addAll(keys);
+    }
+}
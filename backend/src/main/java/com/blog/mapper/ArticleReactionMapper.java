@@ -0,0 +1,76 @@
+package com.blog.mapper;
+
+import com.blog.domain.dto.ArticleReactionDTO;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章点赞、收藏记录Mapper接口
+ *
+ * <p>表名与计数列由 {@link com.blog.enums.ReactionType} 提供，不接受外部输入</p>
+ */
+@Mapper
+public interface ArticleReactionMapper {
+
+    /**
+     * 查询文章下的全部互动用户ID
+     */
+    @Select("SELECT user_id FROM ${table} WHERE article_id = #{articleId}")
+    List<Long> selectUserIds(@Param("table") String table, @Param("articleId") Long articleId);
+
+    /**
+     * 批量写入互动记录，已存在的记录忽略
+     */
+    @Insert("<script>" +
+            "INSERT IGNORE INTO ${table} (article_id, user_id) VALUES " +
+            "<foreach collection='rows' item='row' separator=','>(#{row.articleId}, #{row.userId})</foreach>" +
+            "</script>")
+    int insertIgnore(@Param("table") String table, @Param("rows") Collection<ArticleReactionDTO> rows);
+
+    /**
+     * 批量删除互动记录
+     */
+    @Delete("<script>" +
+            "DELETE FROM ${table} WHERE (article_id, user_id) IN " +
+            "<foreach collection='rows' item='row' open='(' separator=',' close=')'>(#{row.articleId}, #{row.userId})</foreach>" +
+            "</script>")
+    int deleteBatch(@Param("table") String table, @Param("rows") Collection<ArticleReactionDTO> rows);
+
+    /**
+     * 批量累加文章计数：显式保留 update_time，点赞、收藏不算作编辑
+     */
+    @Update("<script>" +
+            "UPDATE articles SET ${column} = GREATEST(${column} + CASE id " +
+            "<foreach collection='deltas' index='articleId' item='delta'>WHEN #{articleId} THEN #{delta} </foreach>" +
+            "ELSE 0 END, 0), update_time = update_time WHERE id IN " +
+            "<foreach collection='deltas' index='articleId' open='(' separator=',' close=')'>#{articleId}</foreach>" +
+            "</script>")
+    int incrementCounts(@Param("column") String column, @Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 按记录表重算指定ID区间内文章的点赞数与收藏数，只更新不一致的行
+     */
+    @Update("UPDATE articles a " +
+            "LEFT JOIN (SELECT article_id, COUNT(*) AS cnt FROM article_likes " +
+            "           WHERE article_id BETWEEN #{fromId} AND #{toId} GROUP BY article_id) l ON l.article_id = a.id " +
+            "LEFT JOIN (SELECT article_id, COUNT(*) AS cnt FROM article_collections " +
+            "           WHERE article_id BETWEEN #{fromId} AND #{toId} GROUP BY article_id) c ON c.article_id = a.id " +
+            "SET a.like_count = COALESCE(l.cnt, 0), a.collect_count = COALESCE(c.cnt, 0), a.update_time = a.update_time " +
+            "WHERE a.id BETWEEN #{fromId} AND #{toId} " +
+            "AND (a.like_count <> COALESCE(l.cnt, 0) OR a.collect_count <> COALESCE(c.cnt, 0))")
+    int reconcileCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * 文章表最大ID，对账时按区间分段
+     */
+    @Select("SELECT COALESCE(MAX(id), 0) FROM articles")
+    Long selectMaxArticleId();
+}
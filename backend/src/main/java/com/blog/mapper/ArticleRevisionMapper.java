@@ -0,0 +1,12 @@
+package com.blog.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.blog.domain.entity.ArticleRevision;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 文章版本Mapper接口
+ */
+@Mapper
+public interface ArticleRevisionMapper extends BaseMapper<ArticleRevision> {
+}
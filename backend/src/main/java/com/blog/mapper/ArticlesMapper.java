@@ -1,7 +1,21 @@
 package com.blog.mapper;
 
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.blog.domain.dto.ArticleExportRowDTO;
+import com.blog.domain.dto.ArticleFacetRowDTO;
+import com.blog.domain.dto.ArticleQueryDTO;
+import com.blog.domain.dto.ArticleTagDTO;
+import com.blog.domain.dto.DailyCountDTO;
+import com.blog.domain.dto.IdCountDTO;
 import com.blog.domain.po.Articles;
+import com.blog.domain.vo.ArticleStatsVO;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * <p>
@@ -13,4 +27,155 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
  */
 public interface ArticlesMapper extends BaseMapper<Articles> {
 
+    /**
+     * 分页查询文章列表列，不加载正文
+     * 摘要为空的文章会在 content 中返回正文开头 excerptLength 个字符，用于生成摘要
+     *
+     * @param page 分页参数（含排序）
+     * @param excerptLength 截取正文的字符数，0 表示不截取
+     * @return 文章分页结果
+     */
+    Page<Articles> selectListPage(Page<Articles> page, @Param("excerptLength") int excerptLength);
+
+    /**
+     * 按ID查询文章列表列，不加载正文，结果顺序不保证
+     *
+     * @param ids 文章ID集合
+     * @param excerptLength 摘要为空时截取正文的字符数，0 表示不截取
+     * @return 文章列表
+     */
+    List<Articles> selectListByIds(@Param("ids") Collection<Long> ids, @Param("excerptLength") int excerptLength);
+
+    /**
+     * 游标分页查询文章列表列，按 (create_time, id) 倒序定位，不加载正文
+     *
+     * @param createTime 游标创建时间（为空表示首页）
+     * @param id 游标文章ID（为空表示首页）
+     * @param limit 查询条数
+     * @param excerptLength 摘要为空时截取正文的字符数，0 表示不截取
+     * @return 文章列表
+     */
+    List<Articles> selectPageAfter(
+            @Param("createTime") LocalDateTime createTime,
+            @Param("id") Long id,
+            @Param("limit") int limit,
+            @Param("excerptLength") int excerptLength
+    );
+
+    /**
+     * 按ID游标分页查询导出行，每页单独执行，不跨页占用连接
+     *
+     * @param query 筛选条件，分页参数不生效
+     * @param afterId 上一页最后一行的ID，首页传null
+     * @param limit 每页行数
+     * @return 按ID升序的导出行
+     */
+    List<ArticleExportRowDTO> selectExportPage(
+            @Param("query") ArticleQueryDTO query,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * 批量查询文章的标签，按关联顺序返回
+     *
+     * @param articleIds 文章ID集合
+     * @return 文章标签关联行
+     */
+    List<ArticleTagDTO> selectTagsByArticleIds(@Param("articleIds") Collection<Long> articleIds);
+
+    /**
+     * 查询文章关联的全部标签ID（含已删除的标签）
+     *
+     * @param articleId 文章ID
+     * @return 标签ID
+     */
+    List<Long> selectTagIdsByArticleId(@Param("articleId") Long articleId);
+
+    /**
+     * 批量新增文章标签关联，已存在的关联忽略
+     *
+     * @param articleId 文章ID
+     * @param tagIds 标签ID
+     * @return 影响行数
+     */
+    int insertArticleTags(@Param("articleId") Long articleId, @Param("tagIds") Collection<Long> tagIds);
+
+    /**
+     * 批量删除文章标签关联
+     *
+     * @param articleId 文章ID
+     * @param tagIds 标签ID
+     * @return 影响行数
+     */
+    int deleteArticleTags(@Param("articleId") Long articleId, @Param("tagIds") Collection<Long> tagIds);
+
+    /**
+     * 批量累加浏览量，一次UPDATE完成多篇文章
+     *
+     * @param deltas 文章ID -> 浏览量增量
+     * @return 影响行数
+     */
+    int incrementViewCounts(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 批量累加评论数，一次UPDATE完成多篇文章
+     *
+     * @param deltas 文章ID -> 评论数增量
+     * @return 影响行数
+     */
+    int incrementCommentCounts(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 查询文章状态快照（含标题、摘要、封面，不含正文等大字段），仅返回未删除的文章
+     *
+     * @param ids 文章ID集合
+     * @return 文章状态列表
+     */
+    List<Articles> selectStatesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 单次扫描聚合文章统计数据，仅供定时对账使用
+     *
+     * @return 统计结果（不含按时间段统计的字段）
+     */
+    ArticleStatsVO selectStatsAggregate();
+
+    /**
+     * 按天统计指定时间之后创建的文章数
+     *
+     * @param since 起始时间
+     * @return 每天的新增文章数
+     */
+    List<DailyCountDTO> selectDailyCreatedCounts(@Param("since") LocalDateTime since);
+
+    /**
+     * 单次扫描按 (分类, 作者, 状态, 类型) 组合计数，由调用方汇总出各筛选维度，仅供对账使用
+     *
+     * @return 组合计数
+     */
+    List<ArticleFacetRowDTO> selectFacetAggregate();
+
+    /**
+     * 统计各标签关联的未删除文章数，仅供对账使用
+     *
+     * @return 标签ID -> 文章数
+     */
+    List<IdCountDTO> selectTagArticleCounts();
+
+    /**
+     * 查询指定状态的文章ID和发布时间，走 (status, publish_time) 索引，用于定时发布任务恢复
+     *
+     * @param status 文章状态
+     * @return 文章列表，仅包含 id 和 publish_time
+     */
+    List<Articles> selectIdAndPublishTimeByStatus(@Param("status") int status);
+
+    /**
+     * 对文章行加排他锁，需在事务内调用且作为事务的第一条查询，之后的快照读能看到先持锁事务提交的数据
+     *
+     * @param id 文章ID
+     * @return 文章ID，文章不存在时返回null
+     */
+    Long lockById(@Param("id") Long id);
 }
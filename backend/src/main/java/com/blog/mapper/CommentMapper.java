@@ -3,10 +3,52 @@ package com.blog.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.domain.entity.Comment;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 评论Mapper接口
  */
 @Mapper
 public interface CommentMapper extends BaseMapper<Comment> {
+
+    /**
+     * 游标分页查询文章的已发布根评论
+     *
+     * @param articleId 文章ID
+     * @param createTime 游标创建时间，首页为null
+     * @param id 游标ID，首页为null
+     * @param limit 查询条数
+     * @return 按创建时间倒序的根评论
+     */
+    List<Comment> selectRootsAfter(@Param("articleId") Long articleId,
+                                   @Param("createTime") LocalDateTime createTime,
+                                   @Param("id") Long id,
+                                   @Param("limit") int limit);
+
+    /**
+     * 查询根评论下各层级的已发布回复
+     *
+     * @param rootIds 根评论ID
+     * @return 按ID升序的回复
+     */
+    List<Comment> selectRepliesByRootIds(@Param("rootIds") Collection<Long> rootIds);
+
+    /**
+     * 批量写入评论，ID由调用方预先分配
+     *
+     * @param comments 评论
+     * @return 影响行数
+     */
+    int insertBatch(@Param("comments") Collection<Comment> comments);
+
+    /**
+     * 评论表当前最大ID（含已删除），用于校准ID分配器
+     */
+    @Select("SELECT COALESCE(MAX(id), 0) FROM comments")
+    Long selectMaxId();
 }
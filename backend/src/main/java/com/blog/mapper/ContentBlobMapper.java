@@ -0,0 +1,36 @@
+package com.blog.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.blog.domain.entity.ContentBlob;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * 正文存储Mapper接口
+ */
+@Mapper
+public interface ContentBlobMapper extends BaseMapper<ContentBlob> {
+
+    /**
+     * 写入正文；相同哈希已存在时只刷新创建时间，使其重新获得清理宽限期
+     */
+    @Insert("INSERT INTO content_blobs (hash, codec, raw_length, data, create_time) " +
+            "VALUES (#{hash}, #{codec}, #{rawLength}, #{data}, NOW()) " +
+            "ON DUPLICATE KEY UPDATE create_time = NOW()")
+    int upsert(ContentBlob blob);
+
+    /**
+     * 删除指定时间之前创建、且已不被任何文章、面试题或文章版本引用的正文
+     */
+    @Delete("DELETE FROM content_blobs WHERE create_time < #{before} " +
+            "AND NOT EXISTS (SELECT 1 FROM articles a WHERE a.content_ref = content_blobs.hash) " +
+            "AND NOT EXISTS (SELECT 1 FROM articles a WHERE a.content_html_ref = content_blobs.hash) " +
+            "AND NOT EXISTS (SELECT 1 FROM interview_question q WHERE q.content_ref = content_blobs.hash) " +
+            "AND NOT EXISTS (SELECT 1 FROM interview_question q WHERE q.content_html_ref = content_blobs.hash) " +
+            "AND NOT EXISTS (SELECT 1 FROM article_revisions r WHERE r.payload_ref = content_blobs.hash)")
+    int deleteUnreferenced(@Param("before") LocalDateTime before);
+}
@@ -3,10 +3,25 @@ package com.blog.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.domain.entity.InterviewQuestion;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Map;
 
 /**
  * 面试题Mapper接口
  */
 @Mapper
 public interface InterviewQuestionMapper extends BaseMapper<InterviewQuestion> {
+
+    /**
+     * 批量累加浏览量，保留 update_time 不变
+     */
+    @Update("<script>" +
+            "UPDATE interview_question SET view_count = view_count + CASE id " +
+            "<foreach collection='deltas' index='questionId' item='delta'>WHEN #{questionId} THEN #{delta} </foreach>" +
+            "ELSE 0 END, update_time = update_time " +
+            "WHERE id IN <foreach collection='deltas' index='questionId' open='(' separator=',' close=')'>#{questionId}</foreach>" +
+            "</script>")
+    int incrementViewCounts(@Param("deltas") Map<Long, Long> deltas);
 }
@@ -3,10 +3,52 @@ package com.blog.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.blog.domain.entity.Tag;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * 标签Mapper接口
  */
 @Mapper
 public interface TagMapper extends BaseMapper<Tag> {
+
+    /**
+     * 批量累加使用次数：显式保留 update_time，关联文章变化不算作编辑标签
+     *
+     * @param deltas 标签ID -> 使用次数增量
+     * @return 影响行数
+     */
+    @Update("<script>" +
+            "UPDATE tags SET use_count = GREATEST(use_count + CASE id " +
+            "<foreach collection='deltas' index='tagId' item='delta'>WHEN #{tagId} THEN #{delta} </foreach>" +
+            "ELSE 0 END, 0), update_time = update_time WHERE id IN " +
+            "<foreach collection='deltas' index='tagId' open='(' separator=',' close=')'>#{tagId}</foreach>" +
+            "</script>")
+    int incrementUseCounts(@Param("deltas") Map<Long, Long> deltas);
+
+    /**
+     * 按文章标签关联重算使用次数（只统计未删除的文章），只更新不一致的行
+     *
+     * @return 修正的标签数
+     */
+    @Update("UPDATE tags t " +
+            "LEFT JOIN (SELECT at.tag_id, COUNT(*) AS cnt FROM article_tags at " +
+            "           JOIN articles a ON a.id = at.article_id AND a.deleted = 0 " +
+            "           GROUP BY at.tag_id) c ON c.tag_id = t.id " +
+            "SET t.use_count = COALESCE(c.cnt, 0), t.update_time = t.update_time " +
+            "WHERE t.deleted = 0 AND t.use_count <> COALESCE(c.cnt, 0)")
+    int reconcileUseCounts();
+
+    /**
+     * 查询关联了指定标签的文章ID
+     *
+     * @param tagId 标签ID
+     * @return 文章ID
+     */
+    @Select("SELECT article_id FROM article_tags WHERE tag_id = #{tagId}")
+    List<Long> selectArticleIdsByTagId(@Param("tagId") Long tagId);
 }
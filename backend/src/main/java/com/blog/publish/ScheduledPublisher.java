@@ -0,0 +1,169 @@
+package com.blog.publish;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.cache.ArticleDetailCache;
+import com.blog.domain.po.Articles;
+import com.blog.enums.ArticleStatus;
+import com.blog.event.ArticleChangePublisher;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.mapper.ArticlesMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 定时发布
+ *
+ * <p>发布时间在未来的文章保持 {@link ArticleStatus#SCHEDULED} 状态，并放入内存中的分层时间轮；
+ * 时间轮每秒推进一次，到期的文章按块用带条件的 UPDATE 批量改为已发布</p>
+ * <p>登记与取消都由文章变更事件驱动：变更后处于定时状态的文章按新的发布时间登记，其余的取消登记；
+ * 时间轮中的过期登记不做删除，到期时与最新登记比对后丢弃</p>
+ * <p>启动时用一次 (status, publish_time) 索引查询恢复全部定时文章，已过期的在下一次推进时发布</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScheduledPublisher {
+
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 60;
+    private static final int BATCH_SIZE = 500;
+
+    private final ArticlesMapper articlesMapper;
+    private final ArticleDetailCache articleDetailCache;
+    private final ArticleChangePublisher articleChangePublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final TimingWheel<Task> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+
+    /**
+     * 文章ID -> 当前登记的发布时间（毫秒），用于识别时间轮中的过期登记
+     */
+    private final Map<Long, Long> scheduled = new ConcurrentHashMap<>();
+
+    /**
+     * 登记时已到期、等待下一次推进发布的文章
+     */
+    private final List<Long> due = new ArrayList<>();
+
+    /**
+     * 判断按给定发布时间发布的文章是否应进入定时状态
+     */
+    public static boolean isScheduled(LocalDateTime publishTime) {
+        return publishTime != null && publishTime.isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * 文章变更后登记或取消定时发布
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        for (ArticleChangedEvent.Change change : event.getChanges()) {
+            Articles after = change.getAfter();
+            if (after != null && Integer.valueOf(ArticleStatus.SCHEDULED.getValue()).equals(after.getStatus())) {
+                schedule(after.getId(), after.getPublishTime());
+            } else {
+                scheduled.remove(change.getId());
+            }
+        }
+    }
+
+    /**
+     * 启动后恢复所有定时文章
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        try {
+            List<Articles> articles = articlesMapper.selectIdAndPublishTimeByStatus(ArticleStatus.SCHEDULED.getValue());
+            for (Articles article : articles) {
+                schedule(article.getId(), article.getPublishTime());
+            }
+            log.info("定时发布任务恢复完成 - 文章数：{}", articles.size());
+        } catch (Exception e) {
+            log.error("定时发布任务恢复失败", e);
+        }
+    }
+
+    /**
+     * 推进时间轮并发布到期文章
+     */
+    @Scheduled(fixedRate = TICK_MS)
+    public void tick() {
+        List<Long> ids;
+        synchronized (this) {
+            ids = new ArrayList<>(due);
+            due.clear();
+            wheel.advance(System.currentTimeMillis(), task -> {
+                if (Objects.equals(scheduled.get(task.articleId()), task.publishAt())) {
+                    ids.add(task.articleId());
+                }
+            });
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+            try {
+                Integer published = transactionTemplate.execute(status -> publish(chunk));
+                log.info("定时发布完成 - 到期：{}，发布：{}", chunk.size(), published);
+            } catch (Exception e) {
+                // 失败的文章保留登记，一个刻度后重试
+                synchronized (this) {
+                    due.addAll(chunk);
+                }
+                log.error("定时发布失败 - 文章：{}", chunk, e);
+            }
+        }
+    }
+
+    private int publish(List<Long> ids) {
+        Map<Long, Articles> before = articleChangePublisher.snapshot(ids);
+        // 条件与定时状态一致，期间被下架、删除或改期的文章不会被误发布
+        int affected = articlesMapper.update(null, Wrappers.<Articles>lambdaUpdate()
+                .in(Articles::getId, ids)
+                .eq(Articles::getStatus, ArticleStatus.SCHEDULED.getValue())
+                .le(Articles::getPublishTime, LocalDateTime.now())
+                .set(Articles::getStatus, ArticleStatus.PUBLISHED.getValue())
+                .set(Articles::getUpdateTime, LocalDateTime.now()));
+        if (affected > 0) {
+            articleDetailCache.evict(before.keySet());
+            articleChangePublisher.publish(before, articleChangePublisher.snapshot(before.keySet()));
+        }
+        return affected;
+    }
+
+    private void schedule(Long articleId, LocalDateTime publishTime) {
+        long publishAt = publishTime == null ? 0L
+                : publishTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        synchronized (this) {
+            Long previous = scheduled.put(articleId, publishAt);
+            if (Objects.equals(previous, publishAt)) {
+                return;
+            }
+            // 时间轮在刻度开始时即视为到期，向上取整到下一刻度，保证到期时发布时间已过
+            if (!wheel.add(publishAt + TICK_MS - 1, new Task(articleId, publishAt))) {
+                due.add(articleId);
+            }
+        }
+    }
+
+    private record Task(Long articleId, long publishAt) {
+    }
+}
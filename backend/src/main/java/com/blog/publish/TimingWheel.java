@@ -0,0 +1,100 @@
+package com.blog.publish;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 分层时间轮
+ *
+ * <p>每层 {@code wheelSize} 个槽，底层每槽跨度为 {@code tickMs}，上一层每槽跨度为下一层整圈；
+ * 超出本层范围的任务放入上一层，上一层的槽到期后把任务重新放回底层，逐级下沉直至到期</p>
+ * <p>添加与到期都是 O(1)，与待执行任务数量无关；非线程安全，由调用方加锁</p>
+ *
+ * @param <T> 任务类型
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+public class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long interval;
+    private final List<Entry<T>>[] buckets;
+    private long currentTime;
+    private TimingWheel<T> overflow;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.buckets = new List[wheelSize];
+        this.currentTime = startMs - startMs % tickMs;
+    }
+
+    /**
+     * 添加任务
+     *
+     * @param expirationMs 到期时间（毫秒时间戳）
+     * @param task 任务
+     * @return 已到期时返回false，调用方应立即执行
+     */
+    public boolean add(long expirationMs, T task) {
+        if (expirationMs < currentTime + tickMs) {
+            return false;
+        }
+        if (expirationMs < currentTime + interval) {
+            int slot = (int) ((expirationMs / tickMs) % wheelSize);
+            if (buckets[slot] == null) {
+                buckets[slot] = new ArrayList<>();
+            }
+            buckets[slot].add(new Entry<>(expirationMs, task));
+            return true;
+        }
+        if (overflow == null) {
+            overflow = new TimingWheel<>(interval, wheelSize, currentTime);
+        }
+        return overflow.add(expirationMs, task);
+    }
+
+    /**
+     * 推进时钟，回调所有到期任务
+     *
+     * @param nowMs 当前时间（毫秒时间戳）
+     * @param expired 到期任务回调
+     */
+    public void advance(long nowMs, Consumer<T> expired) {
+        advance(nowMs, this, expired);
+    }
+
+    private void advance(long nowMs, TimingWheel<T> root, Consumer<T> expired) {
+        long target = nowMs - nowMs % tickMs;
+        if (target > currentTime) {
+            // 跨越整圈时所有槽都已到期，无需逐格推进
+            long steps = Math.min((target - currentTime) / tickMs, wheelSize);
+            long startTick = currentTime / tickMs;
+            currentTime = target;
+            for (long i = 1; i <= steps; i++) {
+                int slot = (int) ((startTick + i) % wheelSize);
+                List<Entry<T>> bucket = buckets[slot];
+                if (bucket == null) {
+                    continue;
+                }
+                buckets[slot] = null;
+                // 底层时钟已推进到当前时间，重新放入时要么立即到期，要么落入更细的槽
+                for (Entry<T> entry : bucket) {
+                    if (!root.add(entry.expirationMs(), entry.task())) {
+                        expired.accept(entry.task());
+                    }
+                }
+            }
+        }
+        if (overflow != null) {
+            overflow.advance(nowMs, root, expired);
+        }
+    }
+
+    private record Entry<T>(long expirationMs, T task) {
+    }
+}
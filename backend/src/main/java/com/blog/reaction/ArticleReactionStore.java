@@ -0,0 +1,400 @@
+package com.blog.reaction;
+
+import com.blog.cache.ResourceVersions;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.counter.ArticleStatsCounter;
+import com.blog.counter.HotArticleRanking;
+import com.blog.counter.WriteBehindCounter;
+import com.blog.domain.dto.ArticleReactionDTO;
+import com.blog.domain.po.Articles;
+import com.blog.domain.vo.ArticleReactionVO;
+import com.blog.enums.ArticleStatus;
+import com.blog.enums.ReactionType;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.mapper.ArticleReactionMapper;
+import com.blog.mapper.ArticlesMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 文章点赞、收藏存储
+ *
+ * <p>每篇文章的点赞、收藏用户各保存为一个 Redis 位图，偏移量即用户ID，
+ * “我是否点过赞”为一次 GETBIT，计数为一次 BITCOUNT；位图在首次访问时从记录表加载，并设置过期时间</p>
+ * <p>偏移量 0 固定置位作为“已加载”标记（用户ID从1开始），因此计数为 BITCOUNT - 1；设置位与检查位图是否存在在同一脚本中完成，
+ * 位图恰好过期或被清理时不会留下没有标记和过期时间的位图，而是重新加载</p>
+ * <p>点赞、取消等操作先登记到待写队列（同一用户对同一文章只保留最后一次操作），再修改位图；
+ * 定时任务把队列批量写入记录表，并把位图翻转产生的增量合并为一条 {@code UPDATE ... CASE id} 累加到文章计数，
+ * 文章计数再由定时对账按记录表重算</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+public class ArticleReactionStore {
+
+    private static final String KEY_PREFIX = "blog:reaction:";
+
+    /**
+     * Redis 位图的最大偏移量
+     */
+    private static final long MAX_OFFSET = (1L << 32) - 1;
+
+    /**
+     * 单条写入语句包含的最大记录数
+     */
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    /**
+     * 对账时每段的文章ID跨度
+     */
+    private static final long RECONCILE_CHUNK = 1000;
+
+    /**
+     * 位图存在时设置位并返回原值，不存在时返回 -1 且不创建位图，避免产生没有“已加载”标记和过期时间的位图
+     */
+    private static final RedisScript<Long> SET_BIT_IF_LOADED = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "return redis.call('SETBIT', KEYS[1], ARGV[1], ARGV[2])", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ArticleReactionMapper articleReactionMapper;
+    private final ArticlesMapper articlesMapper;
+    private final HotArticleRanking hotArticleRanking;
+    private final ArticleStatsCounter articleStatsCounter;
+    private final ResourceVersions resourceVersions;
+    private final Duration ttl;
+
+    /**
+     * 待写入记录表的操作：true 为新增，false 为删除
+     */
+    private final Map<ReactionType, ConcurrentHashMap<ArticleReactionDTO, Boolean>> pending = new EnumMap<>(ReactionType.class);
+    private final Map<ReactionType, WriteBehindCounter> counts = new EnumMap<>(ReactionType.class);
+
+    public ArticleReactionStore(StringRedisTemplate stringRedisTemplate,
+                                ArticleReactionMapper articleReactionMapper,
+                                ArticlesMapper articlesMapper,
+                                HotArticleRanking hotArticleRanking,
+                                ArticleStatsCounter articleStatsCounter,
+                                ResourceVersions resourceVersions,
+                                @Value("${blog.reaction.ttl:7d}") Duration ttl) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.articleReactionMapper = articleReactionMapper;
+        this.articlesMapper = articlesMapper;
+        this.hotArticleRanking = hotArticleRanking;
+        this.articleStatsCounter = articleStatsCounter;
+        this.resourceVersions = resourceVersions;
+        this.ttl = ttl;
+        for (ReactionType type : ReactionType.values()) {
+            pending.put(type, new ConcurrentHashMap<>());
+            counts.put(type, new WriteBehindCounter());
+        }
+    }
+
+    /**
+     * 设置或取消点赞、收藏，重复操作不产生变化
+     *
+     * @param type 互动类型
+     * @param articleId 文章ID
+     * @param userId 用户ID
+     * @param active true 为点赞/收藏，false 为取消
+     * @return 操作后的状态
+     */
+    public ArticleReactionVO set(ReactionType type, Long articleId, Long userId, boolean active) {
+        if (userId == null || userId <= 0 || userId > MAX_OFFSET) {
+            throw new IllegalArgumentException("用户ID超出范围：" + userId);
+        }
+        ensureLoaded(articleId);
+        ArticleReactionDTO member = new ArticleReactionDTO(articleId, userId);
+        // 先登记待写操作再改位图：位图过期后重新加载时会把尚未写入的操作补回去
+        Boolean queued = pending.get(type).put(member, active);
+        Long result = stringRedisTemplate.execute(SET_BIT_IF_LOADED, List.of(key(type, articleId)),
+                String.valueOf(userId), active ? "1" : "0");
+        boolean previous;
+        if (result == null || result < 0) {
+            // 位图在检查之后过期或被清理，重新加载（已包含本次操作），原状态取待写队列或记录表中的值
+            if (!isPublished(articleId)) {
+                pending.get(type).remove(member, active);
+                throw new RuntimeException("文章不存在");
+            }
+            Set<Long> persisted = load(type, articleId);
+            previous = queued != null ? queued : persisted.contains(userId);
+        } else {
+            previous = result == 1L;
+        }
+        if (previous != active) {
+            counts.get(type).add(articleId, active ? 1 : -1);
+            if (active && type == ReactionType.LIKE) {
+                hotArticleRanking.recordLike(articleId);
+            }
+        }
+        return state(articleId, userId);
+    }
+
+    /**
+     * 查询文章的点赞、收藏数及指定用户的状态
+     *
+     * @param articleId 文章ID
+     * @param userId 用户ID，未登录时为 null
+     */
+    public ArticleReactionVO state(Long articleId, Long userId) {
+        ensureLoaded(articleId);
+        byte[] likeKey = bytes(key(ReactionType.LIKE, articleId));
+        byte[] collectKey = bytes(key(ReactionType.COLLECT, articleId));
+        boolean withUser = userId != null && userId > 0 && userId <= MAX_OFFSET;
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().bitCount(likeKey);
+            connection.stringCommands().bitCount(collectKey);
+            if (withUser) {
+                connection.stringCommands().getBit(likeKey, userId);
+                connection.stringCommands().getBit(collectKey, userId);
+            }
+            return null;
+        });
+        return new ArticleReactionVO()
+                .setLikeCount(bitmapCount(results.get(0)))
+                .setCollectCount(bitmapCount(results.get(1)))
+                .setLiked(withUser && Boolean.TRUE.equals(results.get(2)))
+                .setCollected(withUser && Boolean.TRUE.equals(results.get(3)));
+    }
+
+    /**
+     * 文章下架、删除后清理位图，再次发布后重新从记录表加载
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        List<String> keys = new ArrayList<>();
+        for (ArticleChangedEvent.Change change : event.getChanges()) {
+            if (change.getAfter() == null || !isPublished(change.getAfter())) {
+                for (ReactionType type : ReactionType.values()) {
+                    keys.add(key(type, change.getId()));
+                }
+            }
+        }
+        if (!keys.isEmpty()) {
+            try {
+                stringRedisTemplate.delete(keys);
+            } catch (Exception e) {
+                log.warn("清理文章互动位图失败，等待其自然过期，文章数：{}", keys.size() / ReactionType.values().length, e);
+            }
+        }
+    }
+
+    /**
+     * 定时把待写操作与计数增量写入数据库
+     */
+    @Scheduled(fixedDelayString = "${blog.reaction.flush-interval:2s}")
+    public synchronized void flush() {
+        boolean countsChanged = false;
+        for (ReactionType type : ReactionType.values()) {
+            flushRows(type);
+            countsChanged |= !counts.get(type).isEmpty();
+            long persisted = flushCounts(type);
+            if (persisted != 0) {
+                if (type == ReactionType.LIKE) {
+                    articleStatsCounter.addLikes(persisted);
+                } else {
+                    articleStatsCounter.addCollects(persisted);
+                }
+            }
+        }
+        if (countsChanged) {
+            // 列表项带有点赞、收藏数
+            resourceVersions.bump(ResourceVersions.ARTICLES);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("应用关闭，刷新未持久化的点赞、收藏");
+        flush();
+    }
+
+    /**
+     * 对账：先刷新待写操作，再按记录表分段重算文章的点赞数与收藏数
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${blog.reaction.reconcile-interval:1h}",
+            fixedDelayString = "${blog.reaction.reconcile-interval:1h}")
+    public void reconcile() {
+        try {
+            flush();
+            long maxId = articleReactionMapper.selectMaxArticleId();
+            int fixed = 0;
+            for (long from = 1; from <= maxId; from += RECONCILE_CHUNK) {
+                fixed += articleReactionMapper.reconcileCounts(from, from + RECONCILE_CHUNK - 1);
+            }
+            log.info("文章点赞、收藏数对账完成 - 修正文章数：{}", fixed);
+        } catch (Exception e) {
+            log.error("文章点赞、收藏数对账失败", e);
+        }
+    }
+
+    /**
+     * 位图不存在时校验文章并从记录表加载，加载后补上尚未写入记录表的操作
+     */
+    private void ensureLoaded(Long articleId) {
+        List<ReactionType> missing = new ArrayList<>();
+        for (ReactionType type : ReactionType.values()) {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key(type, articleId)))) {
+                missing.add(type);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        if (!isPublished(articleId)) {
+            throw new RuntimeException("文章不存在");
+        }
+        for (ReactionType type : missing) {
+            load(type, articleId);
+        }
+    }
+
+    private boolean isPublished(Long articleId) {
+        Articles article = articlesMapper.selectOne(Wrappers.<Articles>lambdaQuery()
+                .select(Articles::getId, Articles::getStatus)
+                .eq(Articles::getId, articleId));
+        return article != null && isPublished(article);
+    }
+
+    /**
+     * 从记录表加载位图并补上尚未写入记录表的操作
+     *
+     * @return 记录表中的用户ID，不含待写操作
+     */
+    private Set<Long> load(ReactionType type, Long articleId) {
+        Set<Long> persisted = new HashSet<>(articleReactionMapper.selectUserIds(type.getTable(), articleId));
+        Set<Long> members = new HashSet<>(persisted);
+        Map<Long, Boolean> overrides = new HashMap<>();
+        pending.get(type).forEach((member, active) -> {
+            if (member.getArticleId().equals(articleId)) {
+                overrides.put(member.getUserId(), active);
+            }
+        });
+        overrides.forEach((userId, active) -> {
+            if (active) {
+                members.add(userId);
+            } else {
+                members.remove(userId);
+            }
+        });
+        byte[] key = bytes(key(type, articleId));
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            writeBitmap(connection, key, members);
+            return null;
+        });
+        log.debug("加载文章{}位图 - 文章ID：{}，用户数：{}", type.getDesc(), articleId, members.size());
+        return persisted;
+    }
+
+    private void writeBitmap(RedisConnection connection, byte[] key, Set<Long> members) {
+        connection.stringCommands().setBit(key, 0, true);
+        for (Long userId : members) {
+            if (userId != null && userId > 0 && userId <= MAX_OFFSET) {
+                connection.stringCommands().setBit(key, userId, true);
+            }
+        }
+        connection.keyCommands().pExpire(key, ttl.toMillis());
+    }
+
+    private void flushRows(ReactionType type) {
+        ConcurrentHashMap<ArticleReactionDTO, Boolean> queue = pending.get(type);
+        if (queue.isEmpty()) {
+            return;
+        }
+        Map<ArticleReactionDTO, Boolean> snapshot = new HashMap<>(queue);
+        List<ArticleReactionDTO> inserts = new ArrayList<>();
+        List<ArticleReactionDTO> deletes = new ArrayList<>();
+        snapshot.forEach((member, active) -> (active ? inserts : deletes).add(member));
+        writeRows(type, inserts, true, snapshot, queue);
+        writeRows(type, deletes, false, snapshot, queue);
+    }
+
+    /**
+     * 分批写入记录表，成功的批次才从队列移除；移除时比对值，期间又发生的新操作会保留到下一轮
+     */
+    private void writeRows(ReactionType type, List<ArticleReactionDTO> rows, boolean active,
+                           Map<ArticleReactionDTO, Boolean> snapshot,
+                           ConcurrentHashMap<ArticleReactionDTO, Boolean> queue) {
+        for (int i = 0; i < rows.size(); i += FLUSH_BATCH_SIZE) {
+            List<ArticleReactionDTO> chunk = rows.subList(i, Math.min(i + FLUSH_BATCH_SIZE, rows.size()));
+            try {
+                if (active) {
+                    articleReactionMapper.insertIgnore(type.getTable(), chunk);
+                } else {
+                    articleReactionMapper.deleteBatch(type.getTable(), chunk);
+                }
+                chunk.forEach(member -> queue.remove(member, snapshot.get(member)));
+            } catch (Exception e) {
+                log.error("文章{}记录写入失败，等待下次刷新，条数：{}", type.getDesc(), chunk.size(), e);
+            }
+        }
+    }
+
+    /**
+     * @return 成功写入数据库的计数增量总和
+     */
+    private long flushCounts(ReactionType type) {
+        WriteBehindCounter counter = counts.get(type);
+        if (counter.isEmpty()) {
+            return 0L;
+        }
+        Map<Long, Long> deltas = counter.drain();
+        long persisted = 0L;
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        for (int i = 0; i < entries.size(); i += FLUSH_BATCH_SIZE) {
+            Map<Long, Long> chunk = new HashMap<>();
+            entries.subList(i, Math.min(i + FLUSH_BATCH_SIZE, entries.size()))
+                    .forEach(e -> chunk.put(e.getKey(), e.getValue()));
+            try {
+                articleReactionMapper.incrementCounts(type.getCountColumn(), chunk);
+                persisted += chunk.values().stream().mapToLong(Long::longValue).sum();
+            } catch (Exception e) {
+                log.error("文章{}数刷新失败，增量已放回等待下次刷新，条数：{}", type.getDesc(), chunk.size(), e);
+                counter.restore(chunk);
+            }
+        }
+        return persisted;
+    }
+
+    private static boolean isPublished(Articles article) {
+        return Integer.valueOf(ArticleStatus.PUBLISHED.getValue()).equals(article.getStatus());
+    }
+
+    private static long bitmapCount(Object result) {
+        // 扣除“已加载”标记位
+        return result instanceof Long count ? Math.max(count - 1, 0) : 0L;
+    }
+
+    private static String key(ReactionType type, Long articleId) {
+        return KEY_PREFIX + type.name().toLowerCase() + ":" + articleId;
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,207 @@
+package com.blog.render;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.cache.ArticleDetailCache;
+import com.blog.content.ContentStore;
+import com.blog.domain.entity.InterviewQuestion;
+import com.blog.domain.po.Articles;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.mapper.InterviewQuestionMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 渲染结果回填
+ *
+ * <p>为尚未渲染（content_hash 为空）的文章和面试题生成 HTML 与目录；按主键分批读取，
+ * 每批在与 CPU 核数相同的线程池中并行渲染，再逐行写回；超过阈值的 HTML 写入 {@link ContentStore}</p>
+ * <p>Redis 中记录上次完整回填时的渲染器版本，与 {@link MarkdownRenderer#RENDER_VERSION} 不一致时改为扫描全部行，
+ * 重新渲染内容哈希与当前版本不一致的行，全部完成后再更新记录；版本一致时只处理 content_hash 为空的行</p>
+ * <p>写回条件要求 content_hash 仍为读取时的值，期间被编辑过的行以编辑时的渲染结果为准；
+ * 写回时保持 update_time 不变，回填不算作内容修改</p>
+ * <p>启动后在后台执行一次，可通过 {@code blog.render.backfill-on-startup} 关闭；任务可重复执行，已渲染的行不会再次处理</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentBackfillJob {
+
+    private static final int BATCH_SIZE = 200;
+    private static final String VERSION_KEY = "blog:render:version";
+
+    private final ArticlesMapper articlesMapper;
+    private final InterviewQuestionMapper interviewQuestionMapper;
+    private final ArticleDetailCache articleDetailCache;
+    private final ContentStore contentStore;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${blog.render.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (backfillOnStartup) {
+            Thread thread = new Thread(this::run, "content-backfill");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * 执行回填，已有回填在执行时直接返回
+     */
+    public void run() {
+        synchronized (this) {
+            if (running) {
+                return;
+            }
+            running = true;
+        }
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            long start = System.currentTimeMillis();
+            boolean full = !MarkdownRenderer.RENDER_VERSION.equals(renderedVersion());
+            int articles = backfillArticles(pool, full);
+            int questions = backfillQuestions(pool, full);
+            if (full) {
+                stringRedisTemplate.opsForValue().set(VERSION_KEY, MarkdownRenderer.RENDER_VERSION);
+            }
+            log.info("渲染回填完成 - 文章：{}，面试题：{}，全量检查：{}，耗时：{}ms",
+                    articles, questions, full, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("渲染回填失败", e);
+        } finally {
+            pool.shutdown();
+            running = false;
+        }
+    }
+
+    private int backfillArticles(ForkJoinPool pool, boolean full) throws Exception {
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            List<Articles> batch = articlesMapper.selectList(Wrappers.<Articles>lambdaQuery()
+                    .select(Articles::getId, Articles::getContent, Articles::getContentRef, Articles::getContentHash)
+                    .isNull(!full, Articles::getContentHash)
+                    .gt(Articles::getId, lastId)
+                    .orderByAsc(Articles::getId)
+                    .last("LIMIT " + BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            contentStore.inflate(batch, Articles::getContentRef, Articles::setContent);
+            List<Articles> stale = batch.stream()
+                    .filter(article -> isStale(article.getContent(), article.getContentHash()))
+                    .toList();
+            List<MarkdownRenderer.Rendered> rendered = render(pool, stale.stream().map(Articles::getContent).toList());
+            List<Long> updated = new ArrayList<>(stale.size());
+            for (int i = 0; i < stale.size(); i++) {
+                MarkdownRenderer.Rendered r = rendered.get(i);
+                String previousHash = stale.get(i).getContentHash();
+                ContentStore.Stored html = contentStore.store(r.html());
+                int affected = articlesMapper.update(null, Wrappers.<Articles>lambdaUpdate()
+                        .eq(Articles::getId, stale.get(i).getId())
+                        .isNull(previousHash == null, Articles::getContentHash)
+                        .eq(previousHash != null, Articles::getContentHash, previousHash)
+                        .set(Articles::getContentHtml, html.inline())
+                        .set(Articles::getContentHtmlRef, html.ref())
+                        .set(Articles::getContentToc, r.toc())
+                        .set(Articles::getContentHash, r.hash())
+                        .setSql("update_time = update_time"));
+                if (affected > 0) {
+                    updated.add(stale.get(i).getId());
+                }
+            }
+            articleDetailCache.evict(updated);
+            total += updated.size();
+            if (batch.size() < BATCH_SIZE) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        return total;
+    }
+
+    private int backfillQuestions(ForkJoinPool pool, boolean full) throws Exception {
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            List<InterviewQuestion> batch = interviewQuestionMapper.selectList(Wrappers.<InterviewQuestion>lambdaQuery()
+                    .select(InterviewQuestion::getId, InterviewQuestion::getContent, InterviewQuestion::getContentRef,
+                            InterviewQuestion::getContentHash)
+                    .isNull(!full, InterviewQuestion::getContentHash)
+                    .gt(InterviewQuestion::getId, lastId)
+                    .orderByAsc(InterviewQuestion::getId)
+                    .last("LIMIT " + BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            contentStore.inflate(batch, InterviewQuestion::getContentRef, InterviewQuestion::setContent);
+            List<InterviewQuestion> stale = batch.stream()
+                    .filter(question -> isStale(question.getContent(), question.getContentHash()))
+                    .toList();
+            List<MarkdownRenderer.Rendered> rendered = render(pool, stale.stream().map(InterviewQuestion::getContent).toList());
+            for (int i = 0; i < stale.size(); i++) {
+                MarkdownRenderer.Rendered r = rendered.get(i);
+                String previousHash = stale.get(i).getContentHash();
+                ContentStore.Stored html = contentStore.store(r.html());
+                total += interviewQuestionMapper.update(null, Wrappers.<InterviewQuestion>lambdaUpdate()
+                        .eq(InterviewQuestion::getId, stale.get(i).getId())
+                        .isNull(previousHash == null, InterviewQuestion::getContentHash)
+                        .eq(previousHash != null, InterviewQuestion::getContentHash, previousHash)
+                        .set(InterviewQuestion::getContentHtml, html.inline())
+                        .set(InterviewQuestion::getContentHtmlRef, html.ref())
+                        .set(InterviewQuestion::getContentToc, r.toc())
+                        .set(InterviewQuestion::getContentHash, r.hash())
+                        .setSql("update_time = update_time"));
+            }
+            if (batch.size() < BATCH_SIZE) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        return total;
+    }
+
+    /**
+     * 未渲染或渲染时的版本、内容与当前不一致
+     */
+    private static boolean isStale(String content, String contentHash) {
+        return contentHash == null || !contentHash.equals(MarkdownRenderer.contentHash(content));
+    }
+
+    /**
+     * 上次完整回填时的渲染器版本，读取失败时返回null，按版本变化处理
+     */
+    private String renderedVersion() {
+        try {
+            return stringRedisTemplate.opsForValue().get(VERSION_KEY);
+        } catch (Exception e) {
+            log.warn("读取渲染版本失败，执行全量检查", e);
+            return null;
+        }
+    }
+
+    /**
+     * 在专用线程池中并行渲染，结果顺序与入参一致
+     */
+    private static List<MarkdownRenderer.Rendered> render(ForkJoinPool pool, List<String> contents) throws Exception {
+        return pool.submit(() -> contents.parallelStream()
+                .map(MarkdownRenderer::render)
+                .toList()).get();
+    }
+}
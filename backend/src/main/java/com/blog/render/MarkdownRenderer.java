@@ -0,0 +1,144 @@
+package com.blog.render;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import com.blog.domain.vo.TocItemVO;
+import com.blog.utils.JsonUtils;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.Heading;
+import org.commonmark.node.Node;
+import org.commonmark.node.Text;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Markdown 渲染
+ *
+ * <p>写入时把 Markdown 渲染为 HTML 并提取目录，与原文一起保存，读取时不再渲染</p>
+ * <p>原始 HTML 会被转义、链接会被过滤，避免存储型 XSS；标题带有与目录一致的 id 锚点</p>
+ * <p>内容哈希包含渲染器版本号，修改渲染规则后递增版本号，回填任务会在下次启动时重新渲染哈希不一致的内容</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+public final class MarkdownRenderer {
+
+    /**
+     * 渲染规则变化时递增
+     */
+    public static final String RENDER_VERSION = "1";
+
+    private static final List<Extension> EXTENSIONS = List.of(TablesExtension.create(), StrikethroughExtension.create());
+    private static final Parser PARSER = Parser.builder().extensions(EXTENSIONS).build();
+
+    private MarkdownRenderer() {
+    }
+
+    /**
+     * 渲染结果
+     *
+     * @param html HTML 正文
+     * @param toc 目录（JSON 数组）
+     * @param hash 内容哈希
+     */
+    public record Rendered(String html, String toc, String hash) {
+    }
+
+    /**
+     * 计算内容哈希
+     */
+    public static String contentHash(String markdown) {
+        return DigestUtil.sha256Hex(RENDER_VERSION + ":" + (markdown == null ? "" : markdown));
+    }
+
+    /**
+     * 内容哈希与上次渲染时不同才重新渲染
+     *
+     * @param markdown Markdown 原文，为null表示本次未修改内容
+     * @param previousHash 上次渲染的内容哈希
+     * @return 渲染结果，无需渲染时返回null
+     */
+    public static Rendered renderIfChanged(String markdown, String previousHash) {
+        if (markdown == null) {
+            return null;
+        }
+        String hash = contentHash(markdown);
+        return hash.equals(previousHash) ? null : render(markdown, hash);
+    }
+
+    /**
+     * 渲染 Markdown
+     */
+    public static Rendered render(String markdown) {
+        return render(markdown, contentHash(markdown));
+    }
+
+    private static Rendered render(String markdown, String hash) {
+        Node document = PARSER.parse(markdown == null ? "" : markdown);
+
+        List<TocItemVO> toc = new ArrayList<>();
+        Map<Node, String> anchors = new IdentityHashMap<>();
+        Map<String, Integer> used = new HashMap<>();
+        document.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Heading heading) {
+                String text = textOf(heading).trim();
+                String id = uniqueAnchor(text, used);
+                anchors.put(heading, id);
+                toc.add(new TocItemVO().setLevel(heading.getLevel()).setId(id).setText(text));
+            }
+        });
+
+        // 属性提供器需要本文档的锚点表，每次渲染单独构建，构建本身只是组装扩展
+        HtmlRenderer renderer = HtmlRenderer.builder()
+                .extensions(EXTENSIONS)
+                .escapeHtml(true)
+                .sanitizeUrls(true)
+                .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                    String id = anchors.get(node);
+                    if (id != null) {
+                        attributes.put("id", id);
+                    }
+                })
+                .build();
+        return new Rendered(renderer.render(document), JsonUtils.toJsonStr(toc), hash);
+    }
+
+    private static String textOf(Node node) {
+        StringBuilder text = new StringBuilder();
+        for (Node child = node.getFirstChild(); child != null; child = child.getNext()) {
+            if (child instanceof Text t) {
+                text.append(t.getLiteral());
+            } else if (child instanceof Code code) {
+                text.append(code.getLiteral());
+            } else {
+                text.append(textOf(child));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * 生成锚点：保留字母（含中文）和数字，其余字符替换为连字符，重复时追加序号
+     */
+    private static String uniqueAnchor(String text, Map<String, Integer> used) {
+        String base = text.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", "-")
+                .replaceAll("^-+|-+$", "");
+        if (base.isEmpty()) {
+            base = "heading";
+        }
+        int count = used.merge(base, 1, Integer::sum);
+        return count == 1 ? base : base + "-" + (count - 1);
+    }
+}
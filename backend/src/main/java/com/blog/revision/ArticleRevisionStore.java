@@ -0,0 +1,182 @@
+package com.blog.revision;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.blog.content.ContentStore;
+import com.blog.domain.dto.PageDTO;
+import com.blog.domain.entity.ArticleRevision;
+import com.blog.domain.po.Articles;
+import com.blog.domain.query.PageQuery;
+import com.blog.domain.vo.ArticleRevisionVO;
+import com.blog.mapper.ArticleRevisionMapper;
+import com.blog.render.MarkdownRenderer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 文章版本存储
+ *
+ * <p>每次正文变化记录一个版本：每隔 {@code blog.revision.snapshot-interval} 个版本保存一次全文快照，
+ * 其余版本只保存相对上一版本的按行差异（见 {@link LineDelta}），重建任一版本最多应用 interval - 1 个差异</p>
+ * <p>每个版本记录所依赖的快照版本号，重建时一次范围查询取出快照及其后的差异链</p>
+ * <p>差异过大（超过正文一半或编辑距离超限）时提前改存快照；快照全文经 {@link ContentStore} 保存，
+ * 与文章当前正文相同时共用同一份压缩正文</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleRevisionStore {
+
+    private final ArticleRevisionMapper articleRevisionMapper;
+    private final ContentStore contentStore;
+
+    @Value("${blog.revision.snapshot-interval:16}")
+    private int snapshotInterval;
+
+    /**
+     * 记录新版本，正文与最新版本相同时不记录
+     * <p>调用方需已在同一事务中锁定文章行（{@code ArticlesMapper#lockById}），版本号与差异基准才不会基于过期的快照</p>
+     *
+     * @param articleId 文章ID
+     * @param title 标题
+     * @param content 正文(Markdown)
+     * @param contentHash 正文哈希
+     */
+    public void record(Long articleId, String title, String content, String contentHash) {
+        ArticleRevision latest = articleRevisionMapper.selectOne(Wrappers.<ArticleRevision>lambdaQuery()
+                .select(ArticleRevision::getRevisionNo, ArticleRevision::getBaseNo, ArticleRevision::getContentHash)
+                .eq(ArticleRevision::getArticleId, articleId)
+                .orderByDesc(ArticleRevision::getRevisionNo)
+                .last("LIMIT 1"));
+        if (latest != null && contentHash.equals(latest.getContentHash())) {
+            return;
+        }
+        int revisionNo = latest == null ? 1 : latest.getRevisionNo() + 1;
+        ArticleRevision revision = new ArticleRevision()
+                .setArticleId(articleId)
+                .setRevisionNo(revisionNo)
+                .setTitle(title)
+                .setContentLength(content.length())
+                .setContentHash(contentHash);
+
+        String delta = null;
+        if (latest != null && revisionNo - latest.getBaseNo() < snapshotInterval) {
+            delta = LineDelta.diff(reconstruct(articleId, latest.getRevisionNo()), content);
+            if (delta != null && delta.length() > content.length() / 2) {
+                delta = null;
+            }
+        }
+        if (delta != null) {
+            revision.setBaseNo(latest.getBaseNo()).setPayload(delta).setPayloadRef("");
+        } else {
+            ContentStore.Stored stored = contentStore.store(content);
+            revision.setBaseNo(revisionNo).setPayload(stored.inline()).setPayloadRef(stored.ref());
+        }
+        articleRevisionMapper.insert(revision);
+    }
+
+    /**
+     * 文章还没有任何版本时，把修改前的正文补记为第一个版本，作为后续差异的基准；
+     * 早于版本功能创建的文章在首次修改正文时触发
+     *
+     * @param articleId 文章ID
+     * @param current 读取修改前的文章（标题与完整正文），只在需要补记时调用
+     */
+    public void seedIfAbsent(Long articleId, Supplier<Articles> current) {
+        boolean exists = articleRevisionMapper.exists(Wrappers.<ArticleRevision>lambdaQuery()
+                .eq(ArticleRevision::getArticleId, articleId));
+        if (exists) {
+            return;
+        }
+        Articles article = current.get();
+        if (article == null || article.getContent() == null) {
+            return;
+        }
+        // 旧文章可能还没有内容哈希，按正文重新计算
+        record(articleId, article.getTitle(), article.getContent(), MarkdownRenderer.contentHash(article.getContent()));
+    }
+
+    /**
+     * 分页查询版本列表，按版本号倒序，不含正文
+     */
+    public PageDTO<ArticleRevisionVO> page(Long articleId, PageQuery query) {
+        Page<ArticleRevision> page = articleRevisionMapper.selectPage(new Page<>(query.getPageNo(), query.getPageSize()),
+                Wrappers.<ArticleRevision>lambdaQuery()
+                        .select(ArticleRevision::getRevisionNo, ArticleRevision::getBaseNo, ArticleRevision::getTitle,
+                                ArticleRevision::getContentLength, ArticleRevision::getContentHash,
+                                ArticleRevision::getCreateTime)
+                        .eq(ArticleRevision::getArticleId, articleId)
+                        .orderByDesc(ArticleRevision::getRevisionNo));
+        return PageDTO.of(page, ArticleRevisionStore::toVO);
+    }
+
+    /**
+     * 查询单个版本，含重建后的正文
+     *
+     * @return 版本，不存在时返回null
+     */
+    public ArticleRevisionVO get(Long articleId, Integer revisionNo) {
+        List<ArticleRevision> chain = chain(articleId, revisionNo);
+        if (chain.isEmpty()) {
+            return null;
+        }
+        return toVO(chain.get(chain.size() - 1)).setContent(apply(chain));
+    }
+
+    /**
+     * 重建指定版本的正文
+     */
+    private String reconstruct(Long articleId, Integer revisionNo) {
+        List<ArticleRevision> chain = chain(articleId, revisionNo);
+        if (chain.isEmpty()) {
+            throw new IllegalStateException("文章版本不存在：" + articleId + "#" + revisionNo);
+        }
+        return apply(chain);
+    }
+
+    /**
+     * 查询从快照到指定版本的差异链，按版本号升序，第一项为快照
+     */
+    private List<ArticleRevision> chain(Long articleId, Integer revisionNo) {
+        ArticleRevision target = articleRevisionMapper.selectOne(Wrappers.<ArticleRevision>lambdaQuery()
+                .select(ArticleRevision::getBaseNo)
+                .eq(ArticleRevision::getArticleId, articleId)
+                .eq(ArticleRevision::getRevisionNo, revisionNo));
+        if (target == null) {
+            return List.of();
+        }
+        return articleRevisionMapper.selectList(Wrappers.<ArticleRevision>lambdaQuery()
+                .eq(ArticleRevision::getArticleId, articleId)
+                .between(ArticleRevision::getRevisionNo, target.getBaseNo(), revisionNo)
+                .orderByAsc(ArticleRevision::getRevisionNo));
+    }
+
+    private String apply(List<ArticleRevision> chain) {
+        ArticleRevision snapshot = chain.get(0);
+        String content = snapshot.getPayloadRef() == null || snapshot.getPayloadRef().isEmpty()
+                ? snapshot.getPayload() : contentStore.load(snapshot.getPayloadRef());
+        if (content == null) {
+            throw new IllegalStateException("文章版本快照缺失：" + snapshot.getArticleId() + "#" + snapshot.getRevisionNo());
+        }
+        for (int i = 1; i < chain.size(); i++) {
+            content = LineDelta.apply(content, chain.get(i).getPayload());
+        }
+        return content;
+    }
+
+    private static ArticleRevisionVO toVO(ArticleRevision revision) {
+        return new ArticleRevisionVO()
+                .setRevisionNo(revision.getRevisionNo())
+                .setTitle(revision.getTitle())
+                .setContentLength(revision.getContentLength())
+                .setContentHash(revision.getContentHash())
+                .setSnapshot(revision.getRevisionNo().equals(revision.getBaseNo()))
+                .setCreateTime(revision.getCreateTime());
+    }
+}
@@ -0,0 +1,187 @@
+package com.blog.revision;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 按行差异编码
+ *
+ * <p>用 Myers 差异算法比较两段文本的行，把目标文本编码为对基准文本的“复制行区间”和“插入新行”两种操作：</p>
+ * <pre>
+ * =起始行,行数      从基准文本复制连续的行
+ * +行数             其后若干行原样插入
+ * </pre>
+ * <p>比较前先去掉公共的首尾行，编辑距离超过上限时放弃编码，由调用方改存全文</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+public final class LineDelta {
+
+    /**
+     * 编辑距离上限，超过时差异本身已接近全文，记录全文更合适
+     */
+    private static final int MAX_EDITS = 2000;
+
+    private LineDelta() {
+    }
+
+    /**
+     * 计算差异
+     *
+     * @param base 基准文本
+     * @param target 目标文本
+     * @return 编码后的差异，编辑距离超过上限时返回null
+     */
+    public static String diff(String base, String target) {
+        String[] a = base.split("\n", -1);
+        String[] b = target.split("\n", -1);
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix].equals(b[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix && suffix < b.length - prefix
+                && a[a.length - 1 - suffix].equals(b[b.length - 1 - suffix])) {
+            suffix++;
+        }
+        List<int[]> runs = new ArrayList<>();
+        if (prefix > 0) {
+            runs.add(new int[]{0, 0, prefix});
+        }
+        List<int[]> middle = myers(Arrays.copyOfRange(a, prefix, a.length - suffix),
+                Arrays.copyOfRange(b, prefix, b.length - suffix));
+        if (middle == null) {
+            return null;
+        }
+        for (int[] run : middle) {
+            runs.add(new int[]{run[0] + prefix, run[1] + prefix, run[2]});
+        }
+        if (suffix > 0) {
+            runs.add(new int[]{a.length - suffix, b.length - suffix, suffix});
+        }
+
+        StringBuilder out = new StringBuilder();
+        int next = 0;
+        for (int[] run : runs) {
+            appendInsert(out, b, next, run[1]);
+            out.append('=').append(run[0]).append(',').append(run[2]).append('\n');
+            next = run[1] + run[2];
+        }
+        appendInsert(out, b, next, b.length);
+        return out.toString();
+    }
+
+    /**
+     * 应用差异
+     *
+     * @param base 基准文本
+     * @param delta {@link #diff} 生成的差异
+     * @return 目标文本
+     */
+    public static String apply(String base, String delta) {
+        String[] a = base.split("\n", -1);
+        String[] ops = delta.split("\n", -1);
+        List<String> lines = new ArrayList<>();
+        int i = 0;
+        // 差异以换行结尾，最后一个元素为空串
+        while (i < ops.length - 1) {
+            String op = ops[i++];
+            if (op.startsWith("=")) {
+                int comma = op.indexOf(',');
+                int start = Integer.parseInt(op.substring(1, comma));
+                int count = Integer.parseInt(op.substring(comma + 1));
+                lines.addAll(Arrays.asList(a).subList(start, start + count));
+            } else if (op.startsWith("+")) {
+                int count = Integer.parseInt(op.substring(1));
+                lines.addAll(Arrays.asList(ops).subList(i, i + count));
+                i += count;
+            } else {
+                throw new IllegalArgumentException("无法识别的差异操作：" + op);
+            }
+        }
+        return String.join("\n", lines);
+    }
+
+    private static void appendInsert(StringBuilder out, String[] b, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        out.append('+').append(to - from).append('\n');
+        for (int i = from; i < to; i++) {
+            out.append(b[i]).append('\n');
+        }
+    }
+
+    /**
+     * Myers 差异算法，返回按顺序排列的公共行区间 {基准起始行, 目标起始行, 行数}
+     * 每一步只保存 [-d, d] 范围内的前沿，回溯所需内存为 O(D²)
+     */
+    private static List<int[]> myers(String[] a, String[] b) {
+        int n = a.length;
+        int m = b.length;
+        int max = n + m;
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        List<int[]> trace = new ArrayList<>();
+        int found = -1;
+        for (int d = 0; d <= max; d++) {
+            if (d > MAX_EDITS) {
+                return null;
+            }
+            trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+                if (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) {
+                    x = v[offset + k + 1];
+                } else {
+                    x = v[offset + k - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && a[x].equals(b[y])) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    found = d;
+                    break;
+                }
+            }
+            if (found >= 0) {
+                break;
+            }
+        }
+
+        List<int[]> runs = new ArrayList<>();
+        int x = n;
+        int y = m;
+        for (int d = found; d > 0; d--) {
+            int[] front = trace.get(d);
+            int k = x - y;
+            int prevK;
+            if (k == -d || (k != d && front[k - 1 + d] < front[k + 1 + d])) {
+                prevK = k + 1;
+            } else {
+                prevK = k - 1;
+            }
+            int prevX = front[prevK + d];
+            int prevY = prevX - prevK;
+            // 编辑之后、公共区间之前的位置：插入时 x 不变，删除时 x 前进一行
+            int startX = prevK == k + 1 ? prevX : prevX + 1;
+            int length = x - startX;
+            if (length > 0) {
+                runs.add(new int[]{startX, startX - k, length});
+            }
+            x = prevX;
+            y = prevY;
+        }
+        if (x > 0) {
+            runs.add(new int[]{0, 0, x});
+        }
+        Collections.reverse(runs);
+        return runs;
+    }
+}
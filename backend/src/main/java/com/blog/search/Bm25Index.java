@@ -0,0 +1,185 @@
+package com.blog.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * 内存倒排索引，使用 BM25 打分
+ *
+ * <p>每个文档由标题和正文组成，标题词频按 {@link #TITLE_BOOST} 倍计入；查询为 AND 语义，文档需包含全部查询词项</p>
+ * <p>读写锁保护：查询并发执行，写入（新增、更新、删除文档）互斥</p>
+ */
+public class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 3;
+
+    /**
+     * 词项 -> (文档ID -> 词频)
+     */
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    /**
+     * 文档ID -> 该文档包含的词项，用于更新和删除时撤销倒排；词频只保存在倒排表中
+     */
+    private final Map<Long, String[]> documents = new HashMap<>();
+    /**
+     * 文档ID -> 文档长度（加权词频之和）
+     */
+    private final Map<Long, Integer> lengths = new HashMap<>();
+    private long totalLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 新增或替换文档
+     *
+     * @param id 文档ID
+     * @param title 标题
+     * @param body 正文纯文本
+     */
+    public void put(long id, String title, String body) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : CjkBigramTokenizer.tokenize(title)) {
+            terms.merge(token, TITLE_BOOST, Integer::sum);
+        }
+        for (String token : CjkBigramTokenizer.tokenize(body)) {
+            terms.merge(token, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            documents.put(id, terms.keySet().toArray(new String[0]));
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : terms.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(id, entry.getValue());
+                length += entry.getValue();
+            }
+            lengths.put(id, length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除文档
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            lengths.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查询并按相关度排序
+     *
+     * @param query 查询文本
+     * @param filter 文档过滤条件，为空表示不过滤
+     * @return 命中文档，按得分降序
+     */
+    public List<Hit> search(String query, LongPredicate filter) {
+        Set<String> terms = new LinkedHashSet<>(CjkBigramTokenizer.tokenize(query));
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            // 从文档频率最低的词项开始求交集，候选集最小
+            List<Map<Long, Integer>> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            int docCount = documents.size();
+            double avgLength = docCount == 0 ? 1 : (double) totalLength / docCount;
+            List<Hit> hits = new ArrayList<>();
+            outer:
+            for (Long id : lists.get(0).keySet()) {
+                if (filter != null && !filter.test(id)) {
+                    continue;
+                }
+                int docLength = lengths.get(id);
+                double score = 0;
+                for (Map<Long, Integer> list : lists) {
+                    Integer tf = list.get(id);
+                    if (tf == null) {
+                        continue outer;
+                    }
+                    double idf = Math.log(1 + (docCount - list.size() + 0.5) / (list.size() + 0.5));
+                    score += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLength / avgLength));
+                }
+                hits.add(new Hit(id, score));
+            }
+            hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(long id) {
+        String[] terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= lengths.remove(id);
+    }
+
+    /**
+     * 命中结果
+     *
+     * @param id 文档ID
+     * @param score BM25 得分
+     */
+    public record Hit(long id, double score) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.blog.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 中日韩二元分词器
+ *
+ * <p>连续的中日韩字符按相邻两字切分（单字成词时保留单字），字母数字按整词切分并转小写，其余字符作为分隔符</p>
+ * <p>例如 "Spring Boot数据库优化" 切分为 spring / boot / 数据 / 据库 / 库优 / 优化</p>
+ */
+public final class CjkBigramTokenizer {
+
+    private CjkBigramTokenizer() {
+    }
+
+    /**
+     * 切分文本
+     *
+     * @param text 文本
+     * @return 词项列表，保留重复项，用于统计词频
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            if (isCjk(codePoint)) {
+                int start = i;
+                while (i < length && isCjk(text.codePointAt(i))) {
+                    i += Character.charCount(text.codePointAt(i));
+                }
+                addBigrams(text.substring(start, i), tokens);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int start = i;
+                while (i < length) {
+                    int cp = text.codePointAt(i);
+                    if (isCjk(cp) || !Character.isLetterOrDigit(cp)) {
+                        break;
+                    }
+                    i += Character.charCount(cp);
+                }
+                tokens.add(text.substring(start, i).toLowerCase());
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addBigrams(String run, List<String> tokens) {
+        int[] codePoints = run.codePoints().toArray();
+        if (codePoints.length == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int j = 0; j + 1 < codePoints.length; j++) {
+            tokens.add(new String(codePoints, j, 2));
+        }
+    }
+
+    public static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
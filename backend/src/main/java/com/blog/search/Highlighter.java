@@ -0,0 +1,125 @@
+package com.blog.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 搜索结果高亮
+ *
+ * <p>按查询词项在原文中定位命中区间（合并重叠的二元词），输出 HTML 转义后的文本，命中部分用 &lt;em&gt; 包裹</p>
+ */
+public final class Highlighter {
+
+    private static final String PRE_TAG = "<em>";
+    private static final String POST_TAG = "</em>";
+
+    private Highlighter() {
+    }
+
+    /**
+     * 高亮整段文本，用于标题
+     *
+     * @param text 原文
+     * @param query 查询文本
+     * @return 高亮后的 HTML 片段
+     */
+    public static String highlight(String text, String query) {
+        if (text == null) {
+            return null;
+        }
+        return render(text, 0, text.length(), matchRanges(text, query));
+    }
+
+    /**
+     * 截取首个命中位置附近的片段并高亮，用于正文摘要
+     *
+     * @param text 原文纯文本
+     * @param query 查询文本
+     * @param length 片段长度
+     * @return 高亮后的 HTML 片段，未命中时返回开头部分
+     */
+    public static String snippet(String text, String query, int length) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        List<int[]> ranges = matchRanges(text, query);
+        int start = 0;
+        if (!ranges.isEmpty()) {
+            // 命中位置前保留约四分之一的上下文
+            start = Math.max(0, ranges.get(0)[0] - length / 4);
+        }
+        int end = Math.min(text.length(), start + length);
+        String body = render(text, start, end, ranges);
+        return (start > 0 ? "..." : "") + body + (end < text.length() ? "..." : "");
+    }
+
+    /**
+     * 查找命中区间，结果按起始位置排序且互不重叠
+     */
+    private static List<int[]> matchRanges(String text, String query) {
+        Set<String> terms = new LinkedHashSet<>(CjkBigramTokenizer.tokenize(query));
+        String lower = text.toLowerCase();
+        boolean[] marked = new boolean[text.length()];
+        for (String term : terms) {
+            int from = 0;
+            while (true) {
+                int index = lower.indexOf(term, from);
+                if (index < 0) {
+                    break;
+                }
+                for (int i = index; i < index + term.length() && i < marked.length; i++) {
+                    marked[i] = true;
+                }
+                from = index + 1;
+            }
+        }
+        List<int[]> ranges = new ArrayList<>();
+        int i = 0;
+        while (i < marked.length) {
+            if (!marked[i]) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < marked.length && marked[i]) {
+                i++;
+            }
+            ranges.add(new int[]{start, i});
+        }
+        return ranges;
+    }
+
+    private static String render(String text, int start, int end, List<int[]> ranges) {
+        StringBuilder sb = new StringBuilder(end - start + 16);
+        int cursor = start;
+        for (int[] range : ranges) {
+            if (range[1] <= start || range[0] >= end) {
+                continue;
+            }
+            int from = Math.max(range[0], start);
+            int to = Math.min(range[1], end);
+            escape(text, cursor, from, sb);
+            sb.append(PRE_TAG);
+            escape(text, from, to, sb);
+            sb.append(POST_TAG);
+            cursor = to;
+        }
+        escape(text, cursor, end, sb);
+        return sb.toString();
+    }
+
+    private static void escape(String text, int from, int to, StringBuilder sb) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                default -> sb.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.blog.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+/**
+ * MinHash 签名
+ *
+ * <p>对词项集合计算 {@link #SIZE} 维最小哈希签名，两个签名相同维度的占比即为 Jaccard 相似度的无偏估计</p>
+ * <p>签名按 {@link #BANDS} 段切分用于局部敏感哈希（LSH），任意一段完全相同的文章互为候选</p>
+ */
+public final class MinHash {
+
+    public static final int SIZE = 128;
+    public static final int BANDS = 32;
+    private static final int ROWS = SIZE / BANDS;
+
+    private static final long[] SEEDS = new long[SIZE];
+
+    static {
+        // 固定种子，保证不同节点、不同时间算出的签名一致
+        Random random = new Random(20250924L);
+        for (int i = 0; i < SIZE; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /**
+     * 计算签名
+     *
+     * @param terms 词项集合
+     * @return 签名，集合为空时返回全为最大值的签名
+     */
+    public static int[] signature(Collection<String> terms) {
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String term : terms) {
+            long base = term.hashCode();
+            for (int i = 0; i < SIZE; i++) {
+                int hash = (int) (mix(base ^ SEEDS[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * 估算两个签名对应集合的 Jaccard 相似度
+     */
+    public static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i] && a[i] != Integer.MAX_VALUE) {
+                same++;
+            }
+        }
+        return (double) same / SIZE;
+    }
+
+    /**
+     * 计算签名第 band 段的桶键
+     */
+    public static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = key * 31 + signature[i];
+        }
+        return mix(key);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
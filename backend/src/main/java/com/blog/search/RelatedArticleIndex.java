@@ -0,0 +1,375 @@
+package com.blog.search;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.content.ContentStore;
+import com.blog.domain.dto.ArticleTagDTO;
+import com.blog.domain.po.Articles;
+import com.blog.domain.vo.ArticleDetailVO;
+import com.blog.enums.ArticleStatus;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.utils.MarkdownUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 相关文章预计算
+ *
+ * <p>相似度 = 0.6 × 标题与正文 MinHash 相似度 + 0.25 × 标签 Jaccard + 0.15 × 同分类，每篇文章保留得分最高的 K 篇已发布文章</p>
+ * <p>候选集来自 LSH 分桶碰撞和共享标签，不做两两全量比较；候选不足时用同分类文章补足。关联文章超过
+ * {@code blog.related.max-postings} 的热门标签区分度低，不参与召回（打分时仍计入标签相似度），分类补足也最多取同样数量，
+ * 避免热门标签、大分类让每篇文章的候选集接近全量</p>
+ * <p>启动后在后台线程全量计算一次，不阻塞应用就绪；之后只有正文、标题、分类、封面或发布状态变化的文章才标记为脏数据，
+ * 由定时任务重算脏文章及受其影响的邻居，批量置顶、推荐等不影响相似度的修改不会触发重读正文</p>
+ * <p>详情页读取只是一次 Map 查找</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RelatedArticleIndex {
+
+    private static final int BATCH_SIZE = 500;
+    private static final double CONTENT_WEIGHT = 0.6;
+    private static final double TAG_WEIGHT = 0.25;
+    private static final double CATEGORY_WEIGHT = 0.15;
+
+    private final ArticlesMapper articlesMapper;
+    private final ContentStore contentStore;
+
+    @Value("${blog.related.top-k:5}")
+    private int topK;
+
+    @Value("${blog.related.max-postings:200}")
+    private int maxPostings;
+
+    /**
+     * 文章特征，只在计算线程中读写
+     */
+    private final Map<Long, Features> features = new HashMap<>();
+    private final Map<Long, Set<Long>> bandBuckets = new HashMap<>();
+    private final Map<Long, Set<Long>> tagPostings = new HashMap<>();
+    private final Map<Long, Set<Long>> categoryPostings = new HashMap<>();
+
+    /**
+     * 计算结果，供详情页并发读取
+     */
+    private final Map<Long, List<Long>> neighbours = new ConcurrentHashMap<>();
+    private final Map<Long, ArticleDetailVO.RelatedArticleVO> summaries = new ConcurrentHashMap<>();
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    /**
+     * 查询相关文章
+     *
+     * @param articleId 文章ID
+     * @return 相关文章列表，尚未计算时返回空列表
+     */
+    public List<ArticleDetailVO.RelatedArticleVO> lookup(Long articleId) {
+        List<Long> ids = neighbours.get(articleId);
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        List<ArticleDetailVO.RelatedArticleVO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ArticleDetailVO.RelatedArticleVO summary = summaries.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 影响相似度或相关文章展示的变更标记为脏数据，等待定时任务重算
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        for (ArticleChangedEvent.Change change : event.getChanges()) {
+            if (affectsRelated(change)) {
+                dirty.add(change.getId());
+            }
+        }
+    }
+
+    /**
+     * 标记文章需要重算，用于标签等不经过文章变更事件的修改
+     */
+    public void markDirty(Collection<Long> articleIds) {
+        dirty.addAll(articleIds);
+    }
+
+    /**
+     * 启动后在后台线程全量计算
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Thread.ofPlatform().name("related-article-rebuild").daemon().start(this::build);
+    }
+
+    /**
+     * 全量计算，按主键分批读取；计算期间的变更已标记为脏数据，就绪后由 {@link #refresh()} 重算
+     */
+    private synchronized void build() {
+        long start = System.currentTimeMillis();
+        try {
+            long lastId = 0;
+            while (true) {
+                List<Articles> batch = articlesMapper.selectList(Wrappers.<Articles>lambdaQuery()
+                        .select(Articles::getId, Articles::getTitle, Articles::getContent, Articles::getContentRef,
+                                Articles::getCategoryId, Articles::getStatus, Articles::getCoverImage,
+                                Articles::getViewCount, Articles::getPublishTime)
+                        .gt(Articles::getId, lastId)
+                        .orderByAsc(Articles::getId)
+                        .last("LIMIT " + BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                load(batch);
+                if (batch.size() < BATCH_SIZE) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            for (Long id : features.keySet()) {
+                neighbours.put(id, computeNeighbours(id));
+            }
+            ready = true;
+            log.info("相关文章计算完成 - 文章数：{}，耗时：{}ms", features.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("相关文章计算失败", e);
+        }
+    }
+
+    /**
+     * 增量重算：脏文章本身、与其互为候选的文章、以及原先把它列为相关文章的文章
+     */
+    @Scheduled(initialDelayString = "${blog.related.refresh-interval:1m}",
+            fixedDelayString = "${blog.related.refresh-interval:1m}")
+    public synchronized void refresh() {
+        if (!ready || dirty.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(dirty);
+        dirty.removeAll(ids);
+        try {
+            Set<Long> affected = new HashSet<>(ids);
+            for (Long id : ids) {
+                Features old = features.get(id);
+                if (old != null) {
+                    affected.addAll(candidates(id, old));
+                }
+            }
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+                chunk.forEach(this::unload);
+                load(articlesMapper.selectList(Wrappers.<Articles>lambdaQuery()
+                        .select(Articles::getId, Articles::getTitle, Articles::getContent, Articles::getContentRef,
+                                Articles::getCategoryId, Articles::getStatus, Articles::getCoverImage,
+                                Articles::getViewCount, Articles::getPublishTime)
+                        .in(Articles::getId, chunk)));
+            }
+            for (Long id : ids) {
+                Features current = features.get(id);
+                if (current != null) {
+                    affected.addAll(candidates(id, current));
+                }
+            }
+            Set<Long> idSet = new HashSet<>(ids);
+            for (Map.Entry<Long, List<Long>> entry : neighbours.entrySet()) {
+                for (Long neighbour : entry.getValue()) {
+                    if (idSet.contains(neighbour)) {
+                        affected.add(entry.getKey());
+                        break;
+                    }
+                }
+            }
+            for (Long id : affected) {
+                if (features.containsKey(id)) {
+                    neighbours.put(id, computeNeighbours(id));
+                } else {
+                    neighbours.remove(id);
+                }
+            }
+            log.debug("相关文章增量重算完成 - 变更：{}，重算：{}", ids.size(), affected.size());
+        } catch (Exception e) {
+            // 失败的文章放回脏集合，下次重试
+            dirty.addAll(ids);
+            log.error("相关文章增量重算失败", e);
+        }
+    }
+
+    /**
+     * 新建、删除以及正文、标题、分类、封面、发布状态的变化会影响相似度或相关文章摘要；标签变化通过 {@link #markDirty} 标记
+     */
+    private static boolean affectsRelated(ArticleChangedEvent.Change change) {
+        if (change.isDeleted() || change.isTextChanged()) {
+            return true;
+        }
+        Articles before = change.getBefore();
+        Articles after = change.getAfter();
+        return !Objects.equals(before.getCategoryId(), after.getCategoryId())
+                || !Objects.equals(before.getCoverImage(), after.getCoverImage())
+                || isPublished(before) != isPublished(after);
+    }
+
+    private static boolean isPublished(Articles article) {
+        return Integer.valueOf(ArticleStatus.PUBLISHED.getValue()).equals(article.getStatus());
+    }
+
+    private void load(List<Articles> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        contentStore.inflate(batch, Articles::getContentRef, Articles::setContent);
+        Map<Long, Set<Long>> tags = new HashMap<>();
+        for (ArticleTagDTO tag : articlesMapper.selectTagsByArticleIds(batch.stream().map(Articles::getId).toList())) {
+            tags.computeIfAbsent(tag.getArticleId(), k -> new HashSet<>()).add(tag.getTagId());
+        }
+        for (Articles article : batch) {
+            Set<String> terms = new HashSet<>(CjkBigramTokenizer.tokenize(article.getTitle()));
+            terms.addAll(CjkBigramTokenizer.tokenize(MarkdownUtils.toPlainText(article.getContent())));
+            boolean published = isPublished(article);
+            Features f = new Features(MinHash.signature(terms),
+                    tags.getOrDefault(article.getId(), Set.of()), article.getCategoryId(), published);
+            Long id = article.getId();
+            features.put(id, f);
+            for (int band = 0; band < MinHash.BANDS; band++) {
+                bandBuckets.computeIfAbsent(MinHash.bandKey(f.signature(), band), k -> new HashSet<>()).add(id);
+            }
+            for (Long tagId : f.tagIds()) {
+                tagPostings.computeIfAbsent(tagId, k -> new HashSet<>()).add(id);
+            }
+            if (f.categoryId() != null) {
+                categoryPostings.computeIfAbsent(f.categoryId(), k -> new HashSet<>()).add(id);
+            }
+            if (published) {
+                summaries.put(id, new ArticleDetailVO.RelatedArticleVO()
+                        .setId(id)
+                        .setTitle(article.getTitle())
+                        .setCoverImage(article.getCoverImage())
+                        .setViewCount(article.getViewCount())
+                        .setPublishTime(article.getPublishTime()));
+            }
+        }
+    }
+
+    private void unload(Long id) {
+        summaries.remove(id);
+        Features f = features.remove(id);
+        if (f == null) {
+            return;
+        }
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            removeFrom(bandBuckets, MinHash.bandKey(f.signature(), band), id);
+        }
+        for (Long tagId : f.tagIds()) {
+            removeFrom(tagPostings, tagId, id);
+        }
+        if (f.categoryId() != null) {
+            removeFrom(categoryPostings, f.categoryId(), id);
+        }
+    }
+
+    private static void removeFrom(Map<Long, Set<Long>> postings, Long key, Long id) {
+        Set<Long> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private Set<Long> candidates(Long id, Features f) {
+        Set<Long> result = new HashSet<>();
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            Set<Long> bucket = bandBuckets.get(MinHash.bandKey(f.signature(), band));
+            if (bucket != null) {
+                result.addAll(bucket);
+            }
+        }
+        for (Long tagId : f.tagIds()) {
+            Set<Long> posting = tagPostings.getOrDefault(tagId, Set.of());
+            if (posting.size() <= maxPostings) {
+                result.addAll(posting);
+            }
+        }
+        // 候选不足时用同分类文章补足
+        if (result.size() <= topK && f.categoryId() != null) {
+            int added = 0;
+            for (Long candidate : categoryPostings.getOrDefault(f.categoryId(), Set.of())) {
+                if (added++ >= maxPostings) {
+                    break;
+                }
+                result.add(candidate);
+            }
+        }
+        result.remove(id);
+        return result;
+    }
+
+    private List<Long> computeNeighbours(Long id) {
+        Features f = features.get(id);
+        List<Scored> scored = new ArrayList<>();
+        for (Long candidate : candidates(id, f)) {
+            Features other = features.get(candidate);
+            if (other == null || !other.published()) {
+                continue;
+            }
+            double score = CONTENT_WEIGHT * MinHash.similarity(f.signature(), other.signature())
+                    + TAG_WEIGHT * jaccard(f.tagIds(), other.tagIds())
+                    + (f.categoryId() != null && f.categoryId().equals(other.categoryId()) ? CATEGORY_WEIGHT : 0);
+            if (score > 0) {
+                scored.add(new Scored(candidate, score));
+            }
+        }
+        scored.sort((a, b) -> Double.compare(b.score(), a.score()));
+        List<Long> result = new ArrayList<>(Math.min(topK, scored.size()));
+        for (int i = 0; i < scored.size() && i < topK; i++) {
+            result.add(scored.get(i).id());
+        }
+        return result;
+    }
+
+    private static double jaccard(Set<Long> a, Set<Long> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int intersection = 0;
+        for (Long value : a) {
+            if (b.contains(value)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    /**
+     * 文章相似度特征：正文签名、标签、分类，不保留正文本身
+     */
+    private record Features(int[] signature, Set<Long> tagIds, Long categoryId, boolean published) {
+    }
+
+    private record Scored(Long id, double score) {
+    }
+}
@@ -0,0 +1,271 @@
+package com.blog.search;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.content.ContentStore;
+import com.blog.domain.entity.InterviewQuestion;
+import com.blog.domain.po.Articles;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.event.InterviewQuestionChangedEvent;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.mapper.InterviewQuestionMapper;
+import com.blog.utils.MarkdownUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 全文索引维护
+ *
+ * <p>启动后在后台线程按ID分批加载文章和面试题构建索引，不阻塞应用就绪；之后由变更事件按ID增量重建对应文档。
+ * 构建期间收到的变更在构建结束后再重建一次，避免被构建时读到的旧数据覆盖</p>
+ * <p>文章变更事件带有前后快照：删除直接移出索引，状态变化只更新内存中的状态，都不查询数据库；只有新建或标题、摘要、
+ * 正文变化的文章才重新读取正文，且由定时任务在后台批量完成，不占用提交事务的请求或批量任务线程</p>
+ * <p>构建完成前索引不完整，调用方应通过 {@link #isReady()} 判断是否退回数据库查询</p>
+ * <p>索引包含所有未删除的数据，另外记录每篇文档的状态，查询时按需过滤</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexer {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ArticlesMapper articlesMapper;
+    private final InterviewQuestionMapper interviewQuestionMapper;
+    private final ContentStore contentStore;
+
+    private final Bm25Index articleIndex = new Bm25Index();
+    private final Bm25Index questionIndex = new Bm25Index();
+    private final Map<Long, ArticleState> articleStatus = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> questionStatus = new ConcurrentHashMap<>();
+    private final Set<Long> pendingArticles = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingQuestions = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready;
+
+    public Bm25Index getArticleIndex() {
+        return articleIndex;
+    }
+
+    public Bm25Index getQuestionIndex() {
+        return questionIndex;
+    }
+
+    public Integer articleStatus(long id) {
+        ArticleState state = articleStatus.get(id);
+        return state == null ? null : state.status();
+    }
+
+    public Integer questionStatus(long id) {
+        return questionStatus.get(id);
+    }
+
+    /**
+     * 全量索引是否已构建完成
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 启动后在后台线程全量构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Thread.ofPlatform().name("search-index-rebuild").daemon().start(this::build);
+    }
+
+    /**
+     * 全量构建索引，按主键分批读取，避免一次加载全部正文
+     */
+    private void build() {
+        long start = System.currentTimeMillis();
+        try {
+            long lastId = 0;
+            while (true) {
+                List<Articles> batch = articlesMapper.selectList(Wrappers.<Articles>lambdaQuery()
+                        .select(Articles::getId, Articles::getTitle, Articles::getSummary, Articles::getContent,
+                        Articles::getContentRef, Articles::getStatus, Articles::getUpdateTime)
+                        .gt(Articles::getId, lastId)
+                        .orderByAsc(Articles::getId)
+                        .last("LIMIT " + BATCH_SIZE));
+                contentStore.inflate(batch, Articles::getContentRef, Articles::setContent);
+                batch.forEach(this::indexArticle);
+                if (batch.size() < BATCH_SIZE) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            lastId = 0;
+            while (true) {
+                List<InterviewQuestion> batch = interviewQuestionMapper.selectList(Wrappers.<InterviewQuestion>lambdaQuery()
+                        .select(InterviewQuestion::getId, InterviewQuestion::getTitle, InterviewQuestion::getContent,
+                        InterviewQuestion::getContentRef, InterviewQuestion::getStatus)
+                        .gt(InterviewQuestion::getId, lastId)
+                        .orderByAsc(InterviewQuestion::getId)
+                        .last("LIMIT " + BATCH_SIZE));
+                contentStore.inflate(batch, InterviewQuestion::getContentRef, InterviewQuestion::setContent);
+                batch.forEach(this::indexQuestion);
+                if (batch.size() < BATCH_SIZE) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            ready = true;
+            // 构建期间的变更可能被批量读取的旧数据覆盖，按最新数据再重建一次
+            reindexArticles(drain(pendingArticles));
+            reindexQuestions(drain(pendingQuestions));
+            log.info("全文索引构建完成 - 文章：{}，面试题：{}，耗时：{}ms",
+                    articleIndex.size(), questionIndex.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("全文索引构建失败", e);
+        }
+    }
+
+    /**
+     * 文章变更后按快照更新状态，需要重新读取正文的文章留给 {@link #refresh()}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        for (ArticleChangedEvent.Change change : event.getChanges()) {
+            Long id = change.getId();
+            if (change.isDeleted()) {
+                articleIndex.remove(id);
+                articleStatus.remove(id);
+            } else {
+                updateStatus(change.getAfter());
+            }
+            // 构建期间删除的文章可能已被批量读取，构建结束后再确认一次
+            if (change.isTextChanged() || (!ready && change.isDeleted())) {
+                pendingArticles.add(id);
+            }
+        }
+    }
+
+    /**
+     * 后台重建标题、摘要或正文有变化的文章
+     */
+    @Scheduled(initialDelayString = "${blog.search.refresh-interval:2s}",
+            fixedDelayString = "${blog.search.refresh-interval:2s}")
+    public void refresh() {
+        if (!ready || pendingArticles.isEmpty()) {
+            return;
+        }
+        List<Long> ids = drain(pendingArticles);
+        try {
+            reindexArticles(ids);
+        } catch (Exception e) {
+            // 失败的文章放回待重建集合，下次重试
+            pendingArticles.addAll(ids);
+            log.error("文章索引增量重建失败，条数：{}", ids.size(), e);
+        }
+    }
+
+    /**
+     * 面试题变更后重建对应文档
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionChanged(InterviewQuestionChangedEvent event) {
+        reindexQuestions(event.getQuestionIds());
+    }
+
+    /**
+     * 按主键分批重新读取文章并重建文档，已删除的文章移出索引
+     */
+    private void reindexArticles(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+            Set<Long> missing = new HashSet<>(chunk);
+            List<Articles> rows = articlesMapper.selectList(Wrappers.<Articles>lambdaQuery()
+                    .select(Articles::getId, Articles::getTitle, Articles::getSummary, Articles::getContent,
+                            Articles::getContentRef, Articles::getStatus, Articles::getUpdateTime)
+                    .in(Articles::getId, chunk));
+            contentStore.inflate(rows, Articles::getContentRef, Articles::setContent);
+            for (Articles article : rows) {
+                indexArticle(article);
+                missing.remove(article.getId());
+            }
+            for (Long id : missing) {
+                articleIndex.remove(id);
+                articleStatus.remove(id);
+            }
+        }
+    }
+
+    public void reindexQuestions(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        if (!ready) {
+            pendingQuestions.addAll(ids);
+        }
+        Set<Long> missing = new HashSet<>(ids);
+        List<InterviewQuestion> rows = interviewQuestionMapper.selectList(Wrappers.<InterviewQuestion>lambdaQuery()
+                .select(InterviewQuestion::getId, InterviewQuestion::getTitle, InterviewQuestion::getContent,
+                        InterviewQuestion::getContentRef, InterviewQuestion::getStatus)
+                .in(InterviewQuestion::getId, ids));
+        contentStore.inflate(rows, InterviewQuestion::getContentRef, InterviewQuestion::setContent);
+        for (InterviewQuestion question : rows) {
+            indexQuestion(question);
+            missing.remove(question.getId());
+        }
+        for (Long id : missing) {
+            questionIndex.remove(id);
+            questionStatus.remove(id);
+        }
+    }
+
+    private static List<Long> drain(Set<Long> pending) {
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        return ids;
+    }
+
+    private void indexArticle(Articles article) {
+        String body = MarkdownUtils.toPlainText(article.getContent());
+        if (article.getSummary() != null) {
+            body = article.getSummary() + " " + body;
+        }
+        articleIndex.put(article.getId(), article.getTitle(), body);
+        updateStatus(article);
+    }
+
+    /**
+     * 按更新时间只前进不后退，后台读取的旧数据不会覆盖事件带来的新状态
+     */
+    private void updateStatus(Articles article) {
+        ArticleState state = new ArticleState(article.getStatus() == null ? 0 : article.getStatus(), article.getUpdateTime());
+        articleStatus.merge(article.getId(), state, (old, current) -> current.isBefore(old) ? old : current);
+    }
+
+    private void indexQuestion(InterviewQuestion question) {
+        questionIndex.put(question.getId(), question.getTitle(), MarkdownUtils.toPlainText(question.getContent()));
+        questionStatus.put(question.getId(), question.getStatus() == null ? 0 : question.getStatus());
+    }
+
+    /**
+     * 文章状态及其对应的更新时间
+     */
+    private record ArticleState(int status, LocalDateTime updateTime) {
+
+        boolean isBefore(ArticleState other) {
+            return updateTime != null && other.updateTime != null && updateTime.isBefore(other.updateTime);
+        }
+    }
+}
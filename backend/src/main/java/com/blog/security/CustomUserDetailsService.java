@@ -37,16 +37,12 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("User not found: " + username);
         }
 
-        // 创建UserDetails对象
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(Collections.singletonList(
-                        new SimpleGrantedAuthority("ROLE_" + user.getRole())))
-                .accountExpired(false)
-                .accountLocked(user.getStatus() != 1)
-                .credentialsExpired(false)
-                .disabled(user.getStatus() != 1)
-                .build();
+        // 创建UserDetails对象，携带用户ID
+        return new LoginUser(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getStatus() == 1,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole())));
     }
 }
@@ -1,6 +1,7 @@
 package com.blog.security;
 
 import com.blog.utils.JwtUtils;
+import com.blog.utils.UserContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -62,6 +63,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     
                     // 设置到安全上下文
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                    if (userDetails instanceof LoginUser loginUser) {
+                        UserContext.setUser(loginUser.getId());
+                    }
                     
                     log.debug("Set authentication for user: {}", username);
                 }
@@ -70,8 +74,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         }
         
-        // 继续过滤器链
-        filterChain.doFilter(request, response);
+        // 继续过滤器链，结束后清理线程上的用户信息
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            UserContext.removeUser();
+        }
     }
 
     /**
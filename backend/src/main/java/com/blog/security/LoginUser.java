@@ -0,0 +1,24 @@
+package com.blog.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * 登录用户，在用户名之外携带用户ID，供 {@link com.blog.utils.UserContext} 使用
+ */
+public class LoginUser extends User {
+
+    private final Long id;
+
+    public LoginUser(Long id, String username, String password, boolean enabled,
+                     Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, true, true, enabled, authorities);
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
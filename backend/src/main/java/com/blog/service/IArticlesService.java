@@ -2,12 +2,24 @@ package com.blog.service;
 
 import com.blog.domain.dto.ArticleBatchDTO;
 import com.blog.domain.dto.ArticleCreateDTO;
+import com.blog.domain.dto.ArticleQueryDTO;
+import com.blog.domain.dto.BatchJobProgress;
+import com.blog.domain.dto.CursorPageDTO;
 import com.blog.domain.dto.PageDTO;
 import com.blog.domain.po.Articles;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.blog.domain.query.CursorPageQuery;
 import com.blog.domain.query.PageQuery;
+import com.blog.domain.vo.ArchiveYearVO;
 import com.blog.domain.vo.ArticleDetailVO;
-import com.blog.dto.response.ArticleStatsResponse;
+import com.blog.domain.vo.ArticleFilterOptionsVO;
+import com.blog.domain.vo.ArticleListItemVO;
+import com.blog.domain.vo.ArticleReactionVO;
+import com.blog.domain.vo.ArticleRevisionVO;
+import com.blog.domain.vo.ArticleStatsVO;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 /**
  * <p>
@@ -20,21 +32,133 @@ import com.blog.dto.response.ArticleStatsResponse;
 public interface IArticlesService extends IService<Articles> {
 
 
-    PageDTO<ArticleDetailVO> getArticles(PageQuery query);
+    PageDTO<ArticleListItemVO> getArticles(PageQuery query);
+
+    /**
+     * 游标分页查询文章列表，按创建时间倒序
+     * @param query 游标分页参数
+     * @return 当前页数据及下一页游标
+     */
+    CursorPageDTO<ArticleListItemVO> getArticlesByCursor(CursorPageQuery query);
+
+    /**
+     * 获取热门文章，按随时间衰减的热度排序
+     *
+     * @param limit 数量
+     * @return 文章列表
+     */
+    List<ArticleListItemVO> getHotArticles(int limit);
 
     ArticleDetailVO getArticleById(Long id);
 
+    /**
+     * 记录一次文章浏览，响应直接由缓存写出时使用
+     *
+     * @param id 文章ID
+     */
+    void recordArticleView(Long id);
+
     void addArticle(ArticleCreateDTO dto);
 
     void updateArticle(Long id,ArticleCreateDTO dto);
 
     void deleteArticle(Long id);
 
-    void batchArticle(ArticleBatchDTO dto);
+    /**
+     * 批量操作文章，文章数超过阈值时转为后台任务
+     *
+     * @param dto 批量操作参数
+     * @return 任务进度，同步执行时已是完成状态
+     */
+    BatchJobProgress batchArticle(ArticleBatchDTO dto);
+
+    /**
+     * 查询批量任务进度
+     *
+     * @param jobId 任务ID
+     * @return 任务进度
+     */
+    BatchJobProgress getBatchJob(String jobId);
 
     /**
      * 获取文章统计信息
      * @return 文章统计信息
      */
-    ArticleStatsResponse getArticleStats();
+    ArticleStatsVO getArticleStats();
+
+    /**
+     * 获取文章筛选项（分类、标签、作者、状态、类型及各自文章数）
+     * @return 筛选项
+     */
+    ArticleFilterOptionsVO getFilterOptions();
+
+    /**
+     * 分页查询文章版本，按版本号倒序，不含正文
+     *
+     * @param id 文章ID
+     * @param query 分页参数
+     * @return 版本列表
+     */
+    PageDTO<ArticleRevisionVO> getRevisions(Long id, PageQuery query);
+
+    /**
+     * 查询文章的单个版本
+     *
+     * @param id 文章ID
+     * @param revisionNo 版本号
+     * @return 版本及重建后的正文
+     */
+    ArticleRevisionVO getRevision(Long id, Integer revisionNo);
+
+    /**
+     * 获取文章归档
+     *
+     * @return 按年、月倒序的已发布文章数
+     */
+    List<ArchiveYearVO> getArchive();
+
+    /**
+     * 分页获取某月发布的文章
+     *
+     * @param year 年
+     * @param month 月
+     * @param query 分页参数
+     * @return 按发布时间倒序的文章
+     */
+    PageDTO<ArticleListItemVO> getArchiveMonth(int year, int month, PageQuery query);
+
+    /**
+     * 流式导出文章
+     *
+     * @param query 筛选条件，分页参数不生效
+     * @param gzip 是否以 gzip 压缩输出
+     * @return 响应体，写出响应时才执行查询
+     */
+    StreamingResponseBody exportArticles(ArticleQueryDTO query, boolean gzip);
+
+    /**
+     * 点赞或取消点赞当前登录用户
+     *
+     * @param id 文章ID
+     * @param liked true 为点赞，false 为取消
+     * @return 操作后的点赞、收藏状态
+     */
+    ArticleReactionVO setLiked(Long id, boolean liked);
+
+    /**
+     * 收藏或取消收藏
+     *
+     * @param id 文章ID
+     * @param collected true 为收藏，false 为取消
+     * @return 操作后的点赞、收藏状态
+     */
+    ArticleReactionVO setCollected(Long id, boolean collected);
+
+    /**
+     * 查询文章的点赞、收藏数及当前用户的状态
+     *
+     * @param id 文章ID
+     * @return 点赞、收藏状态，未登录时只返回计数
+     */
+    ArticleReactionVO getReaction(Long id);
 }
@@ -0,0 +1,44 @@
+package com.blog.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.blog.domain.dto.CategoryCreateDTO;
+import com.blog.domain.dto.CategoryUpdateDTO;
+import com.blog.domain.entity.Category;
+import com.blog.domain.vo.CategoryVO;
+
+import java.util.List;
+
+/**
+ * 分类服务接口
+ */
+public interface ICategoryService extends IService<Category> {
+
+    /**
+     * 获取全部分类的平铺列表，按层级先序排列
+     *
+     * @param includeArticleCount 是否包含文章数
+     */
+    List<CategoryVO> getCategories(boolean includeArticleCount);
+
+    /**
+     * 获取分类树
+     *
+     * @param includeArticleCount 是否包含文章数
+     */
+    List<CategoryVO> getCategoryTree(boolean includeArticleCount);
+
+    /**
+     * 创建分类
+     */
+    CategoryVO createCategory(CategoryCreateDTO dto);
+
+    /**
+     * 更新分类，可移动到其他父分类下
+     */
+    CategoryVO updateCategory(Long id, CategoryUpdateDTO dto);
+
+    /**
+     * 删除分类，存在子分类或文章时不允许删除
+     */
+    void deleteCategory(Long id);
+}
@@ -0,0 +1,32 @@
+package com.blog.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.blog.domain.dto.CommentCreateDTO;
+import com.blog.domain.dto.CursorPageDTO;
+import com.blog.domain.entity.Comment;
+import com.blog.domain.query.CursorPageQuery;
+import com.blog.domain.vo.CommentVO;
+
+/**
+ * 评论服务接口
+ */
+public interface ICommentService extends IService<Comment> {
+
+    /**
+     * 游标分页获取文章评论，每页为若干根评论及其全部回复
+     *
+     * @param articleId 文章ID
+     * @param query 游标分页参数
+     * @return 按时间倒序的根评论，回复按时间正序挂在各自的父评论下；当前用户尚未写入数据库的评论一并返回
+     */
+    CursorPageDTO<CommentVO> getCommentTree(Long articleId, CursorPageQuery query);
+
+    /**
+     * 发表评论：同步校验后进入写入队列，数据库写入与评论数累加异步批量完成
+     *
+     * @param articleId 文章ID
+     * @param dto 评论内容
+     * @return 已分配ID的评论
+     */
+    CommentVO addComment(Long articleId, CommentCreateDTO dto);
+}
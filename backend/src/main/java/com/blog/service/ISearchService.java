@@ -0,0 +1,51 @@
+package com.blog.service;
+
+import com.blog.domain.dto.PageDTO;
+import com.blog.domain.vo.SearchHitVO;
+
+import java.util.List;
+
+/**
+ * 全文搜索服务，基于进程内倒排索引，不依赖外部搜索引擎
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+public interface ISearchService {
+
+    /**
+     * 搜索已发布文章，按相关度排序
+     * @param keyword 关键词
+     * @param pageNo 页码
+     * @param pageSize 每页数量
+     * @return 高亮后的命中结果
+     */
+    PageDTO<SearchHitVO> searchArticles(String keyword, Integer pageNo, Integer pageSize);
+
+    /**
+     * 搜索已启用的面试题，按相关度排序
+     * @param keyword 关键词
+     * @param pageNo 页码
+     * @param pageSize 每页数量
+     * @return 高亮后的命中结果
+     */
+    PageDTO<SearchHitVO> searchQuestions(String keyword, Integer pageNo, Integer pageSize);
+
+    /**
+     * 判断关键词能否由全文索引匹配
+     *
+     * <p>索引按二元词项和整词切分，单个汉字、英文单词的片段无法命中；索引尚未构建完成时结果也不完整。
+     * 返回false时调用方应退回 LIKE 查询</p>
+     * @param keyword 关键词
+     * @return 可以由索引匹配时返回true
+     */
+    boolean canMatch(String keyword);
+
+    /**
+     * 查询匹配关键词的全部面试题ID，按相关度排序
+     * @param keyword 关键词
+     * @param enabledOnly 是否只返回已启用的面试题
+     * @return 面试题ID列表
+     */
+    List<Long> matchQuestionIds(String keyword, boolean enabledOnly);
+}
@@ -0,0 +1,42 @@
+package com.blog.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.blog.domain.dto.TagCreateDTO;
+import com.blog.domain.dto.TagUpdateDTO;
+import com.blog.domain.entity.Tag;
+import com.blog.domain.vo.TagVO;
+
+import java.util.List;
+
+/**
+ * 标签服务接口
+ */
+public interface ITagService extends IService<Tag> {
+
+    /**
+     * 获取全部标签，按使用次数倒序
+     */
+    List<TagVO> getTags();
+
+    /**
+     * 获取使用次数最多的标签
+     *
+     * @param limit 数量
+     */
+    List<TagVO> getHotTags(int limit);
+
+    /**
+     * 创建标签
+     */
+    TagVO createTag(TagCreateDTO dto);
+
+    /**
+     * 更新标签
+     */
+    TagVO updateTag(Long id, TagUpdateDTO dto);
+
+    /**
+     * 删除标签，文章与标签的关联保留，但不再展示
+     */
+    void deleteTag(Long id);
+}
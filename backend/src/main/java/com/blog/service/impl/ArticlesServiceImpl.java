@@ -1,25 +1,76 @@
 package com.blog.service.impl;
 
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.blog.archive.ArticleArchive;
+import com.blog.batch.ArticleBatchEngine;
+import com.blog.cache.ArticleDetailCache;
+import com.blog.counter.ArticleFacetCounter;
+import com.blog.counter.ArticleStatsCounter;
+import com.blog.counter.HotArticleRanking;
+import com.blog.counter.TagRanking;
+import com.blog.counter.ViewCountRecorder;
 import com.blog.common.Result;
+import com.blog.content.ContentStore;
+import com.blog.content.ContentWriter;
 import com.blog.domain.dto.ArticleBatchDTO;
 import com.blog.domain.dto.ArticleCreateDTO;
+import com.blog.domain.dto.ArticleQueryDTO;
+import com.blog.domain.dto.BatchJobProgress;
+import com.blog.domain.dto.CursorPageDTO;
 import com.blog.domain.dto.PageDTO;
+import com.blog.domain.entity.Category;
+import com.blog.domain.entity.Tag;
+import com.blog.domain.entity.User;
 import com.blog.domain.po.Articles;
+import com.blog.domain.query.CursorPageQuery;
 import com.blog.domain.query.PageQuery;
+import com.blog.domain.vo.ArchiveYearVO;
 import com.blog.domain.vo.ArticleDetailVO;
-import com.blog.enums.OperationType;
+import com.blog.domain.vo.ArticleFilterOptionsVO;
+import com.blog.domain.vo.ArticleListItemVO;
+import com.blog.domain.vo.ArticleReactionVO;
+import com.blog.domain.vo.ArticleRevisionVO;
+import com.blog.domain.vo.ArticleStatsVO;
+import com.blog.domain.vo.TocItemVO;
+import com.blog.enums.ArticleStatus;
+import com.blog.enums.ArticleType;
+import com.blog.enums.ReactionType;
+import com.blog.event.ArticleChangePublisher;
+import com.blog.exception.BusinessException;
+import com.blog.exception.ErrorCode;
+import com.blog.export.ArticleExporter;
+import com.blog.loader.ArticleRelationLoader;
 import com.blog.mapper.ArticlesMapper;
+import com.blog.mapper.TagMapper;
+import com.blog.publish.ScheduledPublisher;
+import com.blog.reaction.ArticleReactionStore;
+import com.blog.revision.ArticleRevisionStore;
+import com.blog.search.RelatedArticleIndex;
 import com.blog.service.IArticlesService;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.blog.utils.BeanUtils;
-import com.blog.dto.response.ArticleStatsResponse;
+import com.blog.utils.CursorUtils;
+import com.blog.utils.JsonUtils;
+import com.blog.utils.MarkdownUtils;
+import com.blog.utils.StringUtils;
+import com.blog.utils.UserContext;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * <p>
@@ -31,506 +82,429 @@ import java.util.List;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class ArticlesServiceImpl extends ServiceImpl<ArticlesMapper, Articles> implements IArticlesService {
 
+    private final ArticleDetailCache articleDetailCache;
+    private final ViewCountRecorder viewCountRecorder;
+    private final ArticleStatsCounter articleStatsCounter;
+    private final ArticleFacetCounter articleFacetCounter;
+    private final HotArticleRanking hotArticleRanking;
+    private final RelatedArticleIndex relatedArticleIndex;
+    private final ArticleChangePublisher articleChangePublisher;
+    private final ArticleBatchEngine articleBatchEngine;
+    private final ArticleRelationLoader articleRelationLoader;
+    private final ContentStore contentStore;
+    private final ContentWriter contentWriter;
+    private final ArticleRevisionStore articleRevisionStore;
+    private final ArticleExporter articleExporter;
+    private final ArticleArchive articleArchive;
+    private final ArticleReactionStore articleReactionStore;
+    private final TagRanking tagRanking;
+    private final TagMapper tagMapper;
+
+    /**
+     * 列表摘要长度，文章未填写摘要时从正文生成，0 表示不生成
+     */
+    @Value("${blog.article.list.summary-length:200}")
+    private int summaryLength;
+
     @Override
-    public PageDTO<ArticleDetailVO> getArticles(PageQuery query) {
-        Page<Articles> page = lambdaQuery().page(query.toMpPageDefaultSortByCreateTimeDesc());
-        List<Articles> records = page.getRecords();
-        List<ArticleDetailVO> list = BeanUtils.copyList(records, ArticleDetailVO.class);
-        return PageDTO.of(page,list);
+    public PageDTO<ArticleListItemVO> getArticles(PageQuery query) {
+        Page<Articles> page = baseMapper.selectListPage(query.toMpPageDefaultSortByCreateTimeDesc(), excerptFetchLength());
+        return PageDTO.of(page, toListItems(page.getRecords()));
     }
 
     @Override
-    public ArticleDetailVO getArticleById(Long id) {
-        Articles vo = getById(id);
-        if (vo==null){
-            throw new RuntimeException("文章不存在");
+    public CursorPageDTO<ArticleListItemVO> getArticlesByCursor(CursorPageQuery query) {
+        int pageSize = query.getPageSize();
+        CursorUtils.Cursor cursor = StringUtils.isBlank(query.getCursor()) ? null : CursorUtils.decode(query.getCursor());
+        // 多查一条用于判断是否还有下一页
+        List<Articles> records = baseMapper.selectPageAfter(
+                cursor == null ? null : cursor.createTime(),
+                cursor == null ? null : cursor.id(),
+                pageSize + 1,
+                excerptFetchLength());
+        if (records.isEmpty()) {
+            return CursorPageDTO.empty();
         }
-        ArticleDetailVO detailVO = BeanUtils.copyBean(vo, ArticleDetailVO.class);
-        return detailVO;
+        String nextCursor = null;
+        if (records.size() > pageSize) {
+            records = records.subList(0, pageSize);
+            Articles last = records.get(pageSize - 1);
+            nextCursor = CursorUtils.encode(last.getCreateTime(), last.getId());
+        }
+        return CursorPageDTO.of(toListItems(records), nextCursor);
     }
 
     @Override
-    public void addArticle(ArticleCreateDTO dto) {
-        Articles articles = BeanUtils.copyBean(dto, Articles.class);
-        articles.setAuthorId(1L);
-        save(articles);
+    public List<ArticleListItemVO> getHotArticles(int limit) {
+        return toPublishedListItems(hotArticleRanking.top(limit));
     }
 
     @Override
-    public void updateArticle(Long id,ArticleCreateDTO dto) {
-        //todo 判断登录人是否为本人或者管理员
-        //是直接修改
-        Articles articles = BeanUtils.copyBean(dto, Articles.class);
-        updateById(articles);
+    public List<ArchiveYearVO> getArchive() {
+        return articleArchive.tree();
     }
 
     @Override
-    public void deleteArticle(Long id) {
-        //todo 判断登录人是否为本人或者管理员
-        //是
-        Articles byId = getById(id);
-        if (byId==null){
-            throw new RuntimeException("文章不存在");
-        }
-        removeById(byId);
+    public PageDTO<ArticleListItemVO> getArchiveMonth(int year, int month, PageQuery query) {
+        ArticleArchive.MonthPage page = articleArchive.page(year, month, query.getPageNo(), query.getPageSize());
+        long pages = (page.total() + query.getPageSize() - 1) / query.getPageSize();
+        return new PageDTO<>((long) page.total(), pages, toPublishedListItems(page.ids()));
     }
 
-    @Override
-    @Transactional(rollbackFor = Exception.class)
-    public void batchArticle(ArticleBatchDTO dto) {
-        //todo 判断是否为管理员
-        //是,获取批量操作的类型
-        OperationType type = dto.getOperationType();
-        List<Long> articleIds = dto.getIds();
-        
-        // 验证文章ID列表不为空
-        if (articleIds == null || articleIds.isEmpty()) {
-            throw new RuntimeException("文章ID列表不能为空");
+    /**
+     * 按给定ID顺序加载列表项，忽略刚刚下架或删除的文章
+     */
+    private List<ArticleListItemVO> toPublishedListItems(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
-        
-        switch (type) {
-            case BATCH_DELETE:
-                // 批量删除
-                batchDelete(articleIds, dto.getReason());
-                break;
-                
-            case BATCH_PUBLISH:
-                // 批量发布
-                batchPublish(articleIds, dto.getPublishTime(), dto.getReason());
-                break;
-                
-            case BATCH_UNPUBLISH:
-                // 批量下架
-                batchUnpublish(articleIds, dto.getReason());
-                break;
-                
-            case BATCH_SET_TOP:
-                // 批量置顶
-                batchSetTop(articleIds, dto.getReason());
-                break;
-                
-            case BATCH_CANCEL_TOP:
-                // 取消置顶
-                batchCancelTop(articleIds, dto.getReason());
-                break;
-                
-            case BATCH_SET_FEATURED:
-                // 批量精选
-                batchSetFeatured(articleIds, dto.getReason());
-                break;
-                
-            case BATCH_CANCEL_FEATURED:
-                // 取消精选
-                batchCancelFeatured(articleIds, dto.getReason());
-                break;
-                
-            case CATEGORY_MOVE:
-                // 分类移动
-                if (dto.getTargetCategoryId() == null) {
-                    throw new RuntimeException("目标分类 ID不能为空");
-                }
-                batchMoveCategory(articleIds, dto.getTargetCategoryId(), dto.getReason());
-                break;
-                
-            default:
-                throw new RuntimeException("不支持的操作类型: " + type.getDesc());
+        Map<Long, Articles> byId = baseMapper.selectListByIds(ids, excerptFetchLength()).stream()
+                .collect(Collectors.toMap(Articles::getId, article -> article));
+        List<Articles> records = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Articles article = byId.get(id);
+            if (article != null && Integer.valueOf(ArticleStatus.PUBLISHED.getValue()).equals(article.getStatus())) {
+                records.add(article);
+            }
         }
+        return toListItems(records);
     }
 
     /**
-     * 批量删除文章
-     * @param articleIds 文章ID列表
-     * @param reason 操作原因
+     * 列表查询截取正文的字符数，Markdown 标记会在生成摘要时去掉，因此多取一倍；截取自 content_excerpt，最多为正文前1000个字符
      */
-    private void batchDelete(List<Long> articleIds, String reason) {
-        if (articleIds == null || articleIds.isEmpty()) {
-            throw new RuntimeException("文章ID列表不能为空");
-        }
-
-        // 1. 验证文章是否存在
-        List<Articles> existingArticles = lambdaQuery()
-                .in(Articles::getId, articleIds)
-                .eq(Articles::getDeleted, false) // 只查询未删除的文章
-                .list();
-
-        if (existingArticles.isEmpty()) {
-            throw new RuntimeException("未找到可删除的文章");
-        }
-
-        // 2. TODO: 检查权限（是否为作者或管理员）
-        // Long currentUserId = UserContext.getUser();
-        // 检查当前用户是否为文章作者或管理员
-
-        // 3. 执行逻辑删除（更新deleted字段）
-        List<Long> validIds = existingArticles.stream()
-                .map(Articles::getId)
-                .toList();
-
-        boolean result = lambdaUpdate()
-                .in(Articles::getId, validIds)
-                .set(Articles::getDeleted, true)
-                .set(Articles::getUpdateTime, LocalDateTime.now())
-                .update();
-
-        if (!result) {
-            throw new RuntimeException("批量删除失败");
-        }
-
-        log.info("批量删除成功，影响记录数：{}，原因：{}", validIds.size(), reason);
+    private int excerptFetchLength() {
+        return summaryLength > 0 ? summaryLength * 2 : 0;
     }
 
     /**
-     * 批量发布文章
-     * @param articleIds 文章ID列表
-     * @param publishTime 发布时间（可为空，默认当前时间）
-     * @param reason 操作原因
+     * 将列表查询结果组装为列表项，作者、分类、标签由请求内的批量加载器各一次 IN 查询
+     * @param records 列表列查询结果（content 仅为摘要截取的正文开头）
+     * @return 文章列表项
      */
-    private void batchPublish(List<Long> articleIds, LocalDateTime publishTime, String reason) {
-        if (articleIds == null || articleIds.isEmpty()) {
-            throw new RuntimeException("文章ID列表不能为空");
+    private List<ArticleListItemVO> toListItems(List<Articles> records) {
+        if (records.isEmpty()) {
+            return new ArrayList<>();
         }
-
-        // 1. 验证文章是否存在且状态允许发布（草稿或下架状态）
-        List<Articles> existingArticles = lambdaQuery()
-                .in(Articles::getId, articleIds)
-                .eq(Articles::getDeleted, false)
-                .in(Articles::getStatus, 0, 2) // 0-草稿，2-已下架
-                .list();
-
-        if (existingArticles.isEmpty()) {
-            throw new RuntimeException("未找到可发布的文章");
+        articleRelationLoader.prime(records);
+
+        List<ArticleListItemVO> items = new ArrayList<>(records.size());
+        for (Articles article : records) {
+            ArticleListItemVO item = new ArticleListItemVO()
+                    .setId(article.getId())
+                    .setTitle(article.getTitle())
+                    .setSummary(article.getSummary())
+                    .setCoverImage(article.getCoverImage())
+                    .setStatus(article.getStatus())
+                    .setStatusText(ArticleStatus.descOf(article.getStatus()))
+                    .setIsTop(article.getIsTop())
+                    .setIsFeatured(Integer.valueOf(1).equals(article.getIsRecommend()))
+                    .setViewCount(article.getViewCount())
+                    .setLikeCount(article.getLikeCount())
+                    .setCommentCount(article.getCommentCount())
+                    .setCollectCount(article.getCollectCount())
+                    .setArticleType(article.getArticleType())
+                    .setPublishTime(article.getPublishTime())
+                    .setCreateTime(article.getCreateTime())
+                    .setUpdateTime(article.getUpdateTime())
+                    .setAuthor(toAuthorSimple(articleRelationLoader.author(article.getAuthorId())))
+                    .setCategory(toCategorySimple(articleRelationLoader.category(article.getCategoryId())))
+                    .setTags(articleRelationLoader.tags(article.getId()).stream()
+                            .map(tag -> new ArticleListItemVO.TagSimpleVO()
+                                    .setId(tag.getTagId())
+                                    .setName(tag.getName()))
+                            .collect(Collectors.toList()));
+            // 未填写摘要时由正文开头生成
+            if (item.getSummary() == null && article.getContent() != null) {
+                item.setSummary(MarkdownUtils.excerpt(article.getContent(), summaryLength));
+            }
+            items.add(item);
         }
+        return items;
+    }
 
-        // 2. 设置发布时间（为空则使用当前时间）
-        LocalDateTime actualPublishTime = publishTime != null ? publishTime : LocalDateTime.now();
-
-        // 3. 更新文章状态为已发布（1）
-        List<Long> validIds = existingArticles.stream()
-                .map(Articles::getId)
-                .toList();
-
-        boolean result = lambdaUpdate()
-                .in(Articles::getId, validIds)
-                .set(Articles::getStatus, 1) // 1-已发布
-                .set(Articles::getPublishTime, actualPublishTime)
-                .set(Articles::getUpdateTime, LocalDateTime.now())
-                .update();
+    private static ArticleListItemVO.AuthorSimpleVO toAuthorSimple(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new ArticleListItemVO.AuthorSimpleVO()
+                .setId(user.getId())
+                .setNickname(user.getNickname())
+                .setAvatar(user.getAvatar());
+    }
 
-        if (!result) {
-            throw new RuntimeException("批量发布失败");
+    private static ArticleListItemVO.CategorySimpleVO toCategorySimple(Category category) {
+        if (category == null) {
+            return null;
         }
+        return new ArticleListItemVO.CategorySimpleVO()
+                .setId(category.getId())
+                .setName(category.getName());
+    }
+
+    @Override
+    public ArticleDetailVO getArticleById(Long id) {
+        ArticleDetailVO cached = articleDetailCache.get(id, this::loadArticleDetail);
+        recordArticleView(id);
+        // 缓存对象为共享实例，复制后再替换为计数器维护的浏览量，浏览量写回不会清除详情缓存
+        ArticleDetailVO detailVO = BeanUtils.copyBean(cached, ArticleDetailVO.class);
+        detailVO.setViewCount(viewCountRecorder.articleViews(id));
+        // 相关文章由后台任务预先计算，这里只做一次内存查找
+        detailVO.setRelatedArticles(relatedArticleIndex.lookup(id));
+        return detailVO;
+    }
 
-        log.info("批量发布成功，影响记录数：{}，发布时间：{}，原因：{}", 
-                validIds.size(), actualPublishTime, reason);
+    @Override
+    public void recordArticleView(Long id) {
+        viewCountRecorder.recordArticleView(id);
+        hotArticleRanking.recordView(id);
     }
 
     /**
-     * 批量下架文章
-     * @param articleIds 文章ID列表
-     * @param reason 操作原因
+     * 从数据库加载文章详情，仅在两级缓存均未命中时调用
      */
-    private void batchUnpublish(List<Long> articleIds, String reason) {
-        if (articleIds == null || articleIds.isEmpty()) {
-            throw new RuntimeException("文章ID列表不能为空");
+    private ArticleDetailVO loadArticleDetail(Long id) {
+        Articles vo = getById(id);
+        if (vo==null){
+            throw new RuntimeException("文章不存在");
         }
-
-        // 1. 验证文章是否存在且当前状态为已发布
-        List<Articles> existingArticles = lambdaQuery()
-                .in(Articles::getId, articleIds)
-                .eq(Articles::getDeleted, false)
-                .eq(Articles::getStatus, 1) // 1-已发布
-                .list();
-
-        if (existingArticles.isEmpty()) {
-            throw new RuntimeException("未找到可下架的文章");
+        // 外置的正文只在详情加载时解压
+        contentStore.inflate(List.of(vo), Articles::getContentRef, Articles::setContent,
+                Articles::getContentHtmlRef, Articles::setContentHtml);
+        ArticleDetailVO detailVO = BeanUtils.copyBean(vo, ArticleDetailVO.class);
+        detailVO.setStatusText(ArticleStatus.descOf(vo.getStatus()))
+                .setIsFeatured(Integer.valueOf(1).equals(vo.getIsRecommend()))
+                .setArticleTypeText(ArticleType.descOf(vo.getArticleType()))
+                .setMetaDescription(vo.getDescription())
+                .setToc(StringUtils.isBlank(vo.getContentToc()) ? new ArrayList<>()
+                        : JsonUtils.toList(vo.getContentToc(), TocItemVO.class));
+
+        articleRelationLoader.prime(List.of(vo));
+        User author = articleRelationLoader.author(vo.getAuthorId());
+        if (author != null) {
+            detailVO.setAuthor(new ArticleDetailVO.AuthorDetailVO()
+                    .setId(author.getId())
+                    .setNickname(author.getNickname())
+                    .setAvatar(author.getAvatar())
+                    .setBio(author.getBio()));
         }
+        Category category = articleRelationLoader.category(vo.getCategoryId());
+        if (category != null) {
+            detailVO.setCategory(new ArticleDetailVO.CategoryDetailVO()
+                    .setId(category.getId())
+                    .setName(category.getName())
+                    .setDescription(category.getDescription()));
+        }
+        detailVO.setTags(articleRelationLoader.tags(id).stream()
+                .map(tag -> new ArticleDetailVO.TagDetailVO()
+                        .setId(tag.getTagId())
+                        .setName(tag.getName()))
+                .collect(Collectors.toList()));
+        return detailVO;
+    }
 
-        // 2. 更新文章状态为已下架（2）
-        List<Long> validIds = existingArticles.stream()
-                .map(Articles::getId)
-                .toList();
-
-        boolean result = lambdaUpdate()
-                .in(Articles::getId, validIds)
-                .set(Articles::getStatus, 2) // 2-已下架
-                .set(Articles::getUpdateTime, LocalDateTime.now())
-                .update();
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void addArticle(ArticleCreateDTO dto) {
+        Articles articles = BeanUtils.copyBean(dto, Articles.class);
+        articles.setAuthorId(1L);
+        applyScheduledStatus(articles);
+        contentWriter.prepare(articles, null);
+        save(articles);
+        // 新文章的标签使用次数由文章变更事件统计，关联需在发布事件前写入
+        saveTags(articles.getId(), dto.getTagIds());
+        recordRevision(articles, dto);
+        articleChangePublisher.publish(Map.of(), articleChangePublisher.snapshot(List.of(articles.getId())));
+    }
 
-        if (!result) {
-            throw new RuntimeException("批量下架失败");
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void updateArticle(Long id,ArticleCreateDTO dto) {
+        //todo 判断登录人是否为本人或者管理员
+        //是直接修改
+        // 先锁定文章行再做任何读取：并发修改同一文章时后者等待前者提交，随后的快照和版本号都基于前者的结果
+        baseMapper.lockById(id);
+        Map<Long, Articles> before = articleChangePublisher.snapshot(List.of(id));
+        Articles articles = BeanUtils.copyBean(dto, Articles.class);
+        articles.setId(id);
+        applyScheduledStatus(articles);
+        Articles previous = before.get(id);
+        contentWriter.prepare(articles, previous == null ? null : previous.getContentHash());
+        if (previous != null && articles.getContentHash() != null) {
+            articleRevisionStore.seedIfAbsent(id, () -> loadBody(id));
         }
+        updateById(articles);
+        Map<Long, Long> tagDeltas = dto.getTagIds() == null ? Map.of() : saveTags(id, dto.getTagIds());
+        recordRevision(articles, dto);
+        articleDetailCache.evict(id);
+        articleChangePublisher.publish(before, articleChangePublisher.snapshot(List.of(id)));
+        recordTagUsage(tagDeltas);
+    }
 
-        log.info("批量下架成功，影响记录数：{}，原因：{}", validIds.size(), reason);
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void deleteArticle(Long id) {
+        //todo 判断登录人是否为本人或者管理员
+        //是
+        Map<Long, Articles> before = articleChangePublisher.snapshot(List.of(id));
+        Articles byId = before.get(id);
+        if (byId==null){
+            throw new RuntimeException("文章不存在");
+        }
+        removeById(byId);
+        articleDetailCache.evict(id);
+        articleChangePublisher.publish(before, Map.of());
     }
 
     /**
-     * 批量设置置顶
-     * @param articleIds 文章ID列表
-     * @param reason 操作原因
+     * 把文章的标签关联改为给定集合，只增删有变化的关联；不存在或已删除的标签忽略
+     *
+     * @return 标签ID -> 关联数增量
      */
-    private void batchSetTop(List<Long> articleIds, String reason) {
-        if (articleIds == null || articleIds.isEmpty()) {
-            throw new RuntimeException("文章ID列表不能为空");
+    private Map<Long, Long> saveTags(Long articleId, List<Long> tagIds) {
+        Set<Long> target = new HashSet<>();
+        if (tagIds != null && !tagIds.isEmpty()) {
+            tagMapper.selectList(Wrappers.<Tag>lambdaQuery()
+                            .select(Tag::getId)
+                            .in(Tag::getId, tagIds))
+                    .forEach(tag -> target.add(tag.getId()));
         }
-
-        // 1. 验证文章是否存在且未置顶
-        List<Articles> existingArticles = lambdaQuery()
-                .in(Articles::getId, articleIds)
-                .eq(Articles::getDeleted, false)
-                .eq(Articles::getIsTop, false) // 未置顶
-                .list();
-
-        if (existingArticles.isEmpty()) {
-            throw new RuntimeException("未找到可置顶的文章");
+        Set<Long> existing = new HashSet<>(baseMapper.selectTagIdsByArticleId(articleId));
+        List<Long> added = target.stream().filter(tagId -> !existing.contains(tagId)).toList();
+        List<Long> removed = existing.stream().filter(tagId -> !target.contains(tagId)).toList();
+        Map<Long, Long> deltas = new HashMap<>();
+        if (!added.isEmpty()) {
+            baseMapper.insertArticleTags(articleId, added);
+            added.forEach(tagId -> deltas.put(tagId, 1L));
         }
-
-        // 2. 更新文章isTop字段为true
-        List<Long> validIds = existingArticles.stream()
-                .map(Articles::getId)
-                .toList();
-
-        // 3. TODO: 考虑置顶文章数量限制（可选）
-        // 可以在这里添加逻辑检查当前置顶文章总数是否超过限制
-
-        boolean result = lambdaUpdate()
-                .in(Articles::getId, validIds)
-                .set(Articles::getIsTop, true)
-                .set(Articles::getUpdateTime, LocalDateTime.now())
-                .update();
-
-        if (!result) {
-            throw new RuntimeException("批量置顶失败");
+        if (!removed.isEmpty()) {
+            baseMapper.deleteArticleTags(articleId, removed);
+            removed.forEach(tagId -> deltas.put(tagId, -1L));
         }
-
-        log.info("批量置顶成功，影响记录数：{}，原因：{}", validIds.size(), reason);
+        return deltas;
     }
 
     /**
-     * 批量取消置顶
-     * @param articleIds 文章ID列表
-     * @param reason 操作原因
+     * 更新热门标签和筛选项中的标签计数；内存计数无法随事务回滚，处于事务中时在提交后再记录
      */
-    private void batchCancelTop(List<Long> articleIds, String reason) {
-        if (articleIds == null || articleIds.isEmpty()) {
-            throw new RuntimeException("文章ID列表不能为空");
-        }
-
-        // 1. 验证文章是否存在且已置顶
-        List<Articles> existingArticles = lambdaQuery()
-                .in(Articles::getId, articleIds)
-                .eq(Articles::getDeleted, false)
-                .eq(Articles::getIsTop, true) // 已置顶
-                .list();
-
-        if (existingArticles.isEmpty()) {
-            throw new RuntimeException("未找到可取消置顶的文章");
+    private void recordTagUsage(Map<Long, Long> tagDeltas) {
+        if (tagDeltas.isEmpty()) {
+            return;
         }
-
-        // 2. 更新文章isTop字段为false
-        List<Long> validIds = existingArticles.stream()
-                .map(Articles::getId)
-                .toList();
-
-        boolean result = lambdaUpdate()
-                .in(Articles::getId, validIds)
-                .set(Articles::getIsTop, false)
-                .set(Articles::getUpdateTime, LocalDateTime.now())
-                .update();
-
-        if (!result) {
-            throw new RuntimeException("批量取消置顶失败");
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tagRanking.recordUsage(tagDeltas);
+                    articleFacetCounter.recordTagChanges(tagDeltas);
+                }
+            });
+        } else {
+            tagRanking.recordUsage(tagDeltas);
+            articleFacetCounter.recordTagChanges(tagDeltas);
         }
-
-        log.info("批量取消置顶成功，影响记录数：{}，原因：{}", validIds.size(), reason);
     }
 
     /**
-     * 批量设置精选
-     * @param articleIds 文章ID列表
-     * @param reason 操作原因
+     * 正文变化时记录版本，正文未变化时 {@link ContentWriter} 不会设置内容哈希
      */
-    private void batchSetFeatured(List<Long> articleIds, String reason) {
-        if (articleIds == null || articleIds.isEmpty()) {
-            throw new RuntimeException("文章ID列表不能为空");
+    private void recordRevision(Articles articles, ArticleCreateDTO dto) {
+        if (articles.getContentHash() != null) {
+            articleRevisionStore.record(articles.getId(), dto.getTitle(), dto.getContent(), articles.getContentHash());
         }
+    }
 
-        // 1. 验证文章是否存在且未精选
-        List<Articles> existingArticles = lambdaQuery()
-                .in(Articles::getId, articleIds)
-                .eq(Articles::getDeleted, false)
-                .ne(Articles::getIsRecommend, 1) // 未精选 (假设1为精选)
-                .list();
-
-        if (existingArticles.isEmpty()) {
-            throw new RuntimeException("未找到可精选的文章");
-        }
-
-        // 2. 更新文章isRecommend字段为1(精选)
-        List<Long> validIds = existingArticles.stream()
-                .map(Articles::getId)
-                .toList();
-
-        // 3. TODO: 考虑精选文章数量限制（可选）
-        // 可以在这里添加逻辑检查当前精选文章总数是否超过限制
-
-        boolean result = lambdaUpdate()
-                .in(Articles::getId, validIds)
-                .set(Articles::getIsRecommend, 1) // 1-精选
-                .set(Articles::getUpdateTime, LocalDateTime.now())
-                .update();
-
-        if (!result) {
-            throw new RuntimeException("批量设置精选失败");
+    /**
+     * 读取文章当前的标题与完整正文
+     */
+    private Articles loadBody(Long id) {
+        Articles article = getById(id);
+        if (article != null) {
+            contentStore.inflate(List.of(article), Articles::getContentRef, Articles::setContent);
         }
-
-        log.info("批量设置精选成功，影响记录数：{}，原因：{}", validIds.size(), reason);
+        return article;
     }
 
     /**
-     * 批量取消精选
-     * @param articleIds 文章ID列表
-     * @param reason 操作原因
+     * 发布时间在未来的文章改为定时发布状态，到期后由 {@link ScheduledPublisher} 发布
      */
-    private void batchCancelFeatured(List<Long> articleIds, String reason) {
-        if (articleIds == null || articleIds.isEmpty()) {
-            throw new RuntimeException("文章ID列表不能为空");
+    private void applyScheduledStatus(Articles articles) {
+        if (Integer.valueOf(ArticleStatus.PUBLISHED.getValue()).equals(articles.getStatus())
+                && ScheduledPublisher.isScheduled(articles.getPublishTime())) {
+            articles.setStatus(ArticleStatus.SCHEDULED.getValue());
         }
+    }
 
-        // 1. 验证文章是否存在且已精选
-        List<Articles> existingArticles = lambdaQuery()
-                .in(Articles::getId, articleIds)
-                .eq(Articles::getDeleted, false)
-                .eq(Articles::getIsRecommend, 1) // 已精选
-                .list();
-
-        if (existingArticles.isEmpty()) {
-            throw new RuntimeException("未找到可取消精选的文章");
-        }
+    @Override
+    public BatchJobProgress batchArticle(ArticleBatchDTO dto) {
+        //todo 判断是否为管理员
+        // 分块执行，每块独立提交；文章数较多时转为后台任务
+        return articleBatchEngine.submit(dto);
+    }
 
-        // 2. 更新文章isRecommend字段为0(普通)
-        List<Long> validIds = existingArticles.stream()
-                .map(Articles::getId)
-                .toList();
+    @Override
+    public StreamingResponseBody exportArticles(ArticleQueryDTO query, boolean gzip) {
+        return articleExporter.export(query, gzip);
+    }
 
-        boolean result = lambdaUpdate()
-                .in(Articles::getId, validIds)
-                .set(Articles::getIsRecommend, 0) // 0-普通
-                .set(Articles::getUpdateTime, LocalDateTime.now())
-                .update();
+    @Override
+    public PageDTO<ArticleRevisionVO> getRevisions(Long id, PageQuery query) {
+        return articleRevisionStore.page(id, query);
+    }
 
-        if (!result) {
-            throw new RuntimeException("批量取消精选失败");
+    @Override
+    public ArticleRevisionVO getRevision(Long id, Integer revisionNo) {
+        ArticleRevisionVO revision = articleRevisionStore.get(id, revisionNo);
+        if (revision == null) {
+            throw new RuntimeException("文章版本不存在");
         }
-
-        log.info("批量取消精选成功，影响记录数：{}，原因：{}", validIds.size(), reason);
+        return revision;
     }
 
-    /**
-     * 批量移动文章分类
-     * @param articleIds 文章ID列表
-     * @param targetCategoryId 目标分类ID
-     * @param reason 操作原因
-     */
-    private void batchMoveCategory(List<Long> articleIds, Long targetCategoryId, String reason) {
-        if (articleIds == null || articleIds.isEmpty()) {
-            throw new RuntimeException("文章ID列表不能为空");
-        }
+    @Override
+    public ArticleReactionVO setLiked(Long id, boolean liked) {
+        return articleReactionStore.set(ReactionType.LIKE, id, requireLogin(), liked);
+    }
 
-        if (targetCategoryId == null) {
-            throw new RuntimeException("目标分类ID不能为空");
-        }
+    @Override
+    public ArticleReactionVO setCollected(Long id, boolean collected) {
+        return articleReactionStore.set(ReactionType.COLLECT, id, requireLogin(), collected);
+    }
 
-        // 1. 验证文章是否存在
-        List<Articles> existingArticles = lambdaQuery()
-                .in(Articles::getId, articleIds)
-                .eq(Articles::getDeleted, false)
-                .ne(Articles::getCategoryId, targetCategoryId) // 排除已在目标分类中的文章
-                .list();
+    @Override
+    public ArticleReactionVO getReaction(Long id) {
+        return articleReactionStore.state(id, UserContext.getUser());
+    }
 
-        if (existingArticles.isEmpty()) {
-            throw new RuntimeException("未找到需要移动分类的文章");
+    private Long requireLogin() {
+        Long userId = UserContext.getUser();
+        if (userId == null) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "请先登录");
         }
+        return userId;
+    }
 
-        // 2. TODO: 验证目标分类是否存在且可用
-        // 这里可以添加对分类表的查询验证
-        // Category targetCategory = categoryService.getById(targetCategoryId);
-        // if (targetCategory == null || targetCategory.getStatus() != 1) {
-        //     throw new RuntimeException("目标分类不存在或不可用");
-        // }
-
-        // 3. 更新文章categoryId字段
-        List<Long> validIds = existingArticles.stream()
-                .map(Articles::getId)
-                .toList();
-
-        boolean result = lambdaUpdate()
-                .in(Articles::getId, validIds)
-                .set(Articles::getCategoryId, targetCategoryId)
-                .set(Articles::getUpdateTime, LocalDateTime.now())
-                .update();
-
-        if (!result) {
-            throw new RuntimeException("批量移动分类失败");
+    @Override
+    public BatchJobProgress getBatchJob(String jobId) {
+        BatchJobProgress progress = articleBatchEngine.getProgress(jobId);
+        if (progress == null) {
+            throw new RuntimeException("批量任务不存在或已过期");
         }
-
-        // 4. TODO: 更新原分类和目标分类的文章计数
-        // 这里可以添加逻辑更新各个分类的文章数量统计
-
-        log.info("批量移动分类成功，影响记录数：{}，目标分类ID：{}，原因：{}", 
-                validIds.size(), targetCategoryId, reason);
+        return progress;
     }
     
     @Override
-    public ArticleStatsResponse getArticleStats() {
-        try {
-            // 统计总文章数（未删除的文章）
-            Integer total = Math.toIntExact(lambdaQuery()
-                    .eq(Articles::getDeleted, false)
-                    .count());
-            
-            // 统计已发布文章数量 (status=1且未删除)
-            Integer published = Math.toIntExact(lambdaQuery()
-                    .eq(Articles::getStatus, 1)
-                    .eq(Articles::getDeleted, false)
-                    .count());
-            
-            // 统计草稿数量 (status=0且未删除)
-            Integer draft = Math.toIntExact(lambdaQuery()
-                    .eq(Articles::getStatus, 0)
-                    .eq(Articles::getDeleted, false)
-                    .count());
-            
-            // 获取所有未删除文章用于聚合统计
-            List<Articles> allArticles = lambdaQuery()
-                    .eq(Articles::getDeleted, false)
-                    .select(Articles::getViewCount, Articles::getLikeCount, Articles::getCommentCount)
-                    .list();
-            
-            // 手动聚合统计（避免数据库聚合函数的空值问题）
-            Long totalViews = allArticles.stream()
-                    .mapToLong(article -> article.getViewCount() != null ? article.getViewCount() : 0L)
-                    .sum();
-            
-            Long totalLikes = allArticles.stream()
-                    .mapToLong(article -> article.getLikeCount() != null ? article.getLikeCount() : 0L)
-                    .sum();
-            
-            Long totalComments = allArticles.stream()
-                    .mapToLong(article -> article.getCommentCount() != null ? article.getCommentCount() : 0L)
-                    .sum();
-            
-            log.info("文章统计完成 - 总数：{}，已发布：{}，草稿：{}，总浏览：{}，总点赞：{}，总评论：{}",
-                    total, published, draft, totalViews, totalLikes, totalComments);
-            
-            return new ArticleStatsResponse(
-                    total, published, draft, totalViews, totalLikes, totalComments);
-                    
-        } catch (Exception e) {
-            log.error("获取文章统计信息失败", e);
-            // 返回默认统计数据，避免接口报错
-            return new ArticleStatsResponse(0, 0, 0, 0L, 0L, 0L);
-        }
+    public ArticleStatsVO getArticleStats() {
+        // 统计快照由文章变更事件增量维护，并定时对账，这里不再扫描文章表
+        return articleStatsCounter.snapshot();
+    }
+
+    @Override
+    public ArticleFilterOptionsVO getFilterOptions() {
+        // 筛选项计数由文章变更事件增量维护，计数不变时直接返回缓存的视图
+        return articleFacetCounter.snapshot();
     }
 }
@@ -1,15 +1,18 @@
 package com.blog.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.content.ContentWriter;
 import com.blog.domain.dto.*;
 import com.blog.domain.entity.InterviewQuestion;
 import com.blog.domain.entity.InterviewCategory;
+import com.blog.event.InterviewQuestionChangedEvent;
 import com.blog.mapper.InterviewQuestionMapper;
 import com.blog.mapper.InterviewCategoryMapper;
 import com.blog.service.IBatchImportService;
 import com.blog.util.MarkdownParser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,6 +44,8 @@ public class BatchImportServiceImpl implements IBatchImportService {
     private final InterviewQuestionMapper interviewQuestionMapper;
     private final InterviewCategoryMapper interviewCategoryMapper;
     private final MarkdownParser markdownParser;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentWriter contentWriter;
     
     // 导入任务缓存
     private final Map<String, ImportProgress> importTaskCache = new ConcurrentHashMap<>();
@@ -227,6 +232,7 @@ public class BatchImportServiceImpl implements IBatchImportService {
                 } else if ("update".equals(config.getMode())) {
                     // 更新面试题
                     updateInterviewQuestion(existingQuestion, fileInfo, config, categoryCache);
+                    eventPublisher.publishEvent(new InterviewQuestionChangedEvent(List.of(existingQuestion.getId())));
                     return BatchImportResponse.ImportResult.builder()
                         .file(fileInfo.getName())
                         .articleId(existingQuestion.getId())
@@ -236,11 +242,13 @@ public class BatchImportServiceImpl implements IBatchImportService {
                 }
                 // overwrite模式：删除旧面试题，创建新面试题
                 interviewQuestionMapper.deleteById(existingQuestion.getId());
+                eventPublisher.publishEvent(new InterviewQuestionChangedEvent(List.of(existingQuestion.getId())));
             }
             
             // 创建新面试题
             InterviewQuestion question = createInterviewQuestion(fileInfo, config, categoryCache);
             Long questionId = question.getId();
+            eventPublisher.publishEvent(new InterviewQuestionChangedEvent(List.of(questionId)));
             
             return BatchImportResponse.ImportResult.builder()
                 .file(fileInfo.getName())
@@ -329,6 +337,7 @@ public class BatchImportServiceImpl implements IBatchImportService {
         question.setCommentCount(0);
         question.setSortOrder(0);
         question.setIsDeleted(false);
+        contentWriter.prepare(question, null);
         
         interviewQuestionMapper.insert(question);
         
@@ -344,8 +353,10 @@ public class BatchImportServiceImpl implements IBatchImportService {
             ImportConfig config,
             Map<String, Long> categoryCache) {
         
+        String previousHash = question.getContentHash();
         question.setTitle(fileInfo.getTitle());
         question.setContent(fileInfo.getContent());
+        contentWriter.prepare(question, previousHash);
         
         // 更新分类
         if (StringUtils.hasText(fileInfo.getCategory())) {
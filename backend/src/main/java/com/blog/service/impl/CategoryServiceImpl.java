@@ -0,0 +1,160 @@
+package com.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.blog.cache.ArticleDetailCache;
+import com.blog.cache.ResourceVersions;
+import com.blog.counter.CategoryTree;
+import com.blog.domain.dto.CategoryCreateDTO;
+import com.blog.domain.dto.CategoryUpdateDTO;
+import com.blog.domain.entity.Category;
+import com.blog.domain.po.Articles;
+import com.blog.domain.vo.CategoryVO;
+import com.blog.exception.BusinessException;
+import com.blog.exception.ErrorCode;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.mapper.CategoryMapper;
+import com.blog.service.ICategoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 分类服务实现类
+ *
+ * <p>列表与分类树直接读取 {@link CategoryTree} 的快照，写操作落库后重新加载快照并通知其他节点</p>
+ * <p>文章详情和列表带有分类信息，修改分类后清除该分类下文章的详情缓存并递增文章集合版本</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> implements ICategoryService {
+
+    private static final String DEFAULT_ICON = "FolderOutlined";
+
+    private final CategoryTree categoryTree;
+    private final ArticlesMapper articlesMapper;
+    private final ArticleDetailCache articleDetailCache;
+    private final ResourceVersions resourceVersions;
+
+    @Override
+    public List<CategoryVO> getCategories(boolean includeArticleCount) {
+        return categoryTree.list(includeArticleCount);
+    }
+
+    @Override
+    public List<CategoryVO> getCategoryTree(boolean includeArticleCount) {
+        return categoryTree.tree(includeArticleCount);
+    }
+
+    @Override
+    public CategoryVO createCategory(CategoryCreateDTO dto) {
+        checkNameUnique(dto.getName(), null);
+        Long parentId = normalizeParent(dto.getParentId());
+        checkParent(parentId);
+        Category category = new Category()
+                .setName(dto.getName())
+                .setDescription(dto.getDescription() != null ? dto.getDescription() : "")
+                .setIcon(dto.getIcon() != null ? dto.getIcon() : DEFAULT_ICON)
+                .setSortOrder(dto.getSortOrder() != null ? dto.getSortOrder() : 0)
+                .setParentId(parentId);
+        save(category);
+        categoryTree.changed();
+        log.info("创建分类 - ID：{}，名称：{}，父分类：{}", category.getId(), category.getName(), parentId);
+        return toVO(category.getId());
+    }
+
+    @Override
+    public CategoryVO updateCategory(Long id, CategoryUpdateDTO dto) {
+        Category existing = getById(id);
+        if (existing == null) {
+            throw new BusinessException(ErrorCode.CATEGORY_NOT_FOUND);
+        }
+        checkNameUnique(dto.getName(), id);
+        Long parentId = normalizeParent(dto.getParentId());
+        checkParent(parentId);
+        if (parentId != 0 && categoryTree.isSelfOrDescendant(id, parentId)) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR, "不能移动到自身或子分类下");
+        }
+        Category update = new Category()
+                .setId(id)
+                .setName(dto.getName())
+                .setDescription(dto.getDescription() != null ? dto.getDescription() : "")
+                .setIcon(dto.getIcon() != null ? dto.getIcon() : DEFAULT_ICON)
+                .setSortOrder(dto.getSortOrder() != null ? dto.getSortOrder() : 0)
+                .setParentId(parentId);
+        updateById(update);
+        categoryTree.changed();
+        if (!Objects.equals(update.getName(), existing.getName())
+                || !Objects.equals(update.getDescription(), existing.getDescription())) {
+            articlesChanged(id);
+        }
+        return toVO(id);
+    }
+
+    @Override
+    public void deleteCategory(Long id) {
+        if (getById(id) == null) {
+            throw new BusinessException(ErrorCode.CATEGORY_NOT_FOUND);
+        }
+        if (lambdaQuery().eq(Category::getParentId, id).exists()) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR, "请先删除或移走子分类");
+        }
+        if (articlesMapper.exists(Wrappers.<Articles>lambdaQuery()
+                .eq(Articles::getCategoryId, id))) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR, "分类下还有文章，请先移动文章");
+        }
+        removeById(id);
+        categoryTree.changed();
+        log.info("删除分类 - ID：{}", id);
+    }
+
+    /**
+     * 文章详情与列表展示的分类名称、描述发生变化
+     */
+    private void articlesChanged(Long categoryId) {
+        articleDetailCache.evict(articlesMapper.selectList(Wrappers.<Articles>lambdaQuery()
+                        .select(Articles::getId)
+                        .eq(Articles::getCategoryId, categoryId))
+                .stream()
+                .map(Articles::getId)
+                .toList());
+        resourceVersions.bump(ResourceVersions.ARTICLES);
+    }
+
+    private Long normalizeParent(Long parentId) {
+        return parentId == null ? 0L : parentId;
+    }
+
+    private void checkParent(Long parentId) {
+        if (parentId != 0 && getById(parentId) == null) {
+            throw new BusinessException(ErrorCode.CATEGORY_NOT_FOUND, "父分类不存在");
+        }
+    }
+
+    private void checkNameUnique(String name, Long excludeId) {
+        boolean exists = lambdaQuery()
+                .eq(Category::getName, name)
+                .ne(excludeId != null, Category::getId, excludeId)
+                .exists();
+        if (exists) {
+            throw new BusinessException(ErrorCode.CATEGORY_ALREADY_EXISTS);
+        }
+    }
+
+    /**
+     * 从刚重新加载的快照中取出分类，不带文章数
+     */
+    private CategoryVO toVO(Long id) {
+        return categoryTree.list(false).stream()
+                .filter(category -> category.getId().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new BusinessException(ErrorCode.CATEGORY_NOT_FOUND));
+    }
+}
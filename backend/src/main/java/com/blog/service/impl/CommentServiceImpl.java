@@ -0,0 +1,221 @@
+package com.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.blog.cache.CommentPageCache;
+import com.blog.comment.CommentWritePipeline;
+import com.blog.domain.dto.CommentCreateDTO;
+import com.blog.domain.dto.CursorPageDTO;
+import com.blog.domain.entity.Comment;
+import com.blog.domain.entity.User;
+import com.blog.domain.po.Articles;
+import com.blog.domain.query.CursorPageQuery;
+import com.blog.domain.vo.CommentVO;
+import com.blog.enums.ArticleStatus;
+import com.blog.exception.BusinessException;
+import com.blog.exception.ErrorCode;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.mapper.CommentMapper;
+import com.blog.mapper.UserMapper;
+import com.blog.service.ICommentService;
+import com.blog.utils.CursorUtils;
+import com.blog.utils.StringUtils;
+import com.blog.utils.UserContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 评论服务实现类
+ *
+ * <p>根评论按 (create_time, id) 游标分页；一页根评论下的全部回复由一次递归查询取出，
+ * 按ID升序单次遍历挂到父评论下，不再递归组装树，也不做反射拷贝</p>
+ * <p>发表评论只做同步校验，写入交给 {@link CommentWritePipeline} 批量完成；
+ * 作者读取评论时会合并自己尚未写入的评论</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentServiceImpl extends ServiceImpl<CommentMapper, Comment> implements ICommentService {
+
+    private final UserMapper userMapper;
+    private final ArticlesMapper articlesMapper;
+    private final CommentPageCache commentPageCache;
+    private final CommentWritePipeline commentWritePipeline;
+
+    @Override
+    public CursorPageDTO<CommentVO> getCommentTree(Long articleId, CursorPageQuery query) {
+        int pageSize = query.getPageSize();
+        CursorUtils.Cursor cursor = StringUtils.isBlank(query.getCursor()) ? null : CursorUtils.decode(query.getCursor());
+        // 有尚未写入的评论时绕过缓存，在新构建的页面上合并，不修改缓存的共享实例
+        List<Comment> own = commentWritePipeline.pendingOf(articleId, UserContext.getUser());
+        if (own.isEmpty() && cursor == null && pageSize == CursorPageQuery.DEFAULT_PAGE_SIZE) {
+            return commentPageCache.get(articleId, id -> loadPage(id, null, pageSize, own));
+        }
+        return loadPage(articleId, cursor, pageSize, own);
+    }
+
+    @Override
+    public CommentVO addComment(Long articleId, CommentCreateDTO dto) {
+        Long userId = UserContext.getUser();
+        if (userId == null) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "请先登录");
+        }
+        Articles article = articlesMapper.selectOne(Wrappers.<Articles>lambdaQuery()
+                .select(Articles::getId, Articles::getStatus)
+                .eq(Articles::getId, articleId));
+        if (article == null || !Integer.valueOf(ArticleStatus.PUBLISHED.getValue()).equals(article.getStatus())) {
+            throw new BusinessException(ErrorCode.ARTICLE_NOT_FOUND);
+        }
+        long parentId = dto.getParentId() == null ? 0L : dto.getParentId();
+        Comment parent = null;
+        if (parentId != 0) {
+            // 父评论可能还在写入队列中
+            parent = commentWritePipeline.getPending(parentId);
+            if (parent == null) {
+                parent = lambdaQuery()
+                        .select(Comment::getId, Comment::getArticleId, Comment::getUserId, Comment::getStatus)
+                        .eq(Comment::getId, parentId)
+                        .one();
+            }
+            if (parent == null || !articleId.equals(parent.getArticleId()) || !Integer.valueOf(1).equals(parent.getStatus())) {
+                throw new BusinessException(ErrorCode.NOT_FOUND, "回复的评论不存在");
+            }
+        }
+
+        Comment comment = commentWritePipeline.submit(new Comment()
+                .setArticleId(articleId)
+                .setUserId(userId)
+                // 待写的父评论可能因ID冲突被重新分配，以父评论对象上的ID为准
+                .setParentId(parent == null ? 0L : parent.getId())
+                .setContent(dto.getContent().trim())
+                .setLikes(0)
+                .setStatus(1)
+                .setCreateTime(LocalDateTime.now()));
+
+        Set<Long> userIds = new HashSet<>();
+        userIds.add(userId);
+        if (parent != null) {
+            userIds.add(parent.getUserId());
+        }
+        Map<Long, User> users = loadUsers(userIds);
+        CommentVO parentVO = parent == null ? null : toVO(parent, users, null);
+        return toVO(comment, users, parentVO).setReplyCount(parent == null ? 0 : null);
+    }
+
+    /**
+     * @param own 当前用户尚未写入的评论：根评论只合并到第一页，回复挂到本页内的父评论下
+     */
+    private CursorPageDTO<CommentVO> loadPage(Long articleId, CursorUtils.Cursor cursor, int pageSize, List<Comment> own) {
+        // 多查一条用于判断是否还有下一页
+        List<Comment> roots = baseMapper.selectRootsAfter(articleId,
+                cursor == null ? null : cursor.createTime(),
+                cursor == null ? null : cursor.id(),
+                pageSize + 1);
+        String nextCursor = null;
+        if (roots.size() > pageSize) {
+            roots = roots.subList(0, pageSize);
+            Comment last = roots.get(pageSize - 1);
+            nextCursor = CursorUtils.encode(last.getCreateTime(), last.getId());
+        }
+        List<Comment> replies = roots.isEmpty() ? new ArrayList<>() : baseMapper.selectRepliesByRootIds(
+                roots.stream().map(Comment::getId).collect(Collectors.toList()));
+        if (!own.isEmpty()) {
+            List<Comment> mergedRoots = new ArrayList<>();
+            for (Comment comment : own) {
+                if (comment.getParentId() == 0) {
+                    if (cursor == null) {
+                        mergedRoots.add(0, comment);
+                    }
+                } else {
+                    replies.add(comment);
+                }
+            }
+            mergedRoots.addAll(roots);
+            roots = mergedRoots;
+            replies.sort(Comparator.comparing(Comment::getId));
+        }
+        if (roots.isEmpty()) {
+            return CursorPageDTO.empty();
+        }
+        return CursorPageDTO.of(assemble(roots, replies), nextCursor);
+    }
+
+    /**
+     * 组装评论树：回复按ID升序，父评论总是先于子评论出现，一次遍历即可挂到父节点下
+     */
+    private List<CommentVO> assemble(List<Comment> roots, List<Comment> replies) {
+        Map<Long, User> users = loadUsers(roots, replies);
+        Map<Long, CommentVO> nodes = new HashMap<>(roots.size() + replies.size());
+        // 回复ID -> 所属根评论
+        Map<Long, CommentVO> rootOf = new HashMap<>(roots.size() + replies.size());
+
+        List<CommentVO> result = new ArrayList<>(roots.size());
+        for (Comment root : roots) {
+            CommentVO vo = toVO(root, users, null).setReplyCount(0);
+            nodes.put(root.getId(), vo);
+            rootOf.put(root.getId(), vo);
+            result.add(vo);
+        }
+        for (Comment reply : replies) {
+            CommentVO parent = nodes.get(reply.getParentId());
+            if (parent == null) {
+                continue;
+            }
+            CommentVO vo = toVO(reply, users, parent);
+            parent.getReplies().add(vo);
+            nodes.put(reply.getId(), vo);
+            CommentVO root = rootOf.get(reply.getParentId());
+            rootOf.put(reply.getId(), root);
+            root.setReplyCount(root.getReplyCount() + 1);
+        }
+        return result;
+    }
+
+    private CommentVO toVO(Comment comment, Map<Long, User> users, CommentVO parent) {
+        User user = users.get(comment.getUserId());
+        return new CommentVO()
+                .setId(comment.getId())
+                .setParentId(comment.getParentId())
+                .setUserId(comment.getUserId())
+                .setNickname(user == null ? null : user.getNickname())
+                .setAvatar(user == null ? null : user.getAvatar())
+                .setReplyToNickname(parent == null ? null : parent.getNickname())
+                .setContent(comment.getContent())
+                .setLikeCount(comment.getLikes() == null ? 0 : comment.getLikes())
+                .setCreateTime(comment.getCreateTime());
+    }
+
+    private Map<Long, User> loadUsers(List<Comment> roots, List<Comment> replies) {
+        Set<Long> userIds = new HashSet<>();
+        roots.forEach(comment -> userIds.add(comment.getUserId()));
+        replies.forEach(comment -> userIds.add(comment.getUserId()));
+        return loadUsers(userIds);
+    }
+
+    private Map<Long, User> loadUsers(Set<Long> userIds) {
+        userIds.remove(null);
+        if (userIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return userMapper.selectList(Wrappers.<User>lambdaQuery()
+                        .select(User::getId, User::getNickname, User::getAvatar)
+                        .in(User::getId, userIds))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+}
@@ -6,24 +6,33 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.blog.common.exception.BusinessException;
 import com.blog.common.result.ResultEnum;
+import com.blog.content.ContentStore;
+import com.blog.content.ContentWriter;
+import com.blog.counter.ViewCountRecorder;
 import com.blog.domain.dto.InterviewQuestionCreateDTO;
 import com.blog.domain.dto.InterviewQuestionQueryDTO;
 import com.blog.domain.dto.InterviewQuestionResponseDTO;
 import com.blog.domain.dto.InterviewQuestionUpdateDTO;
 import com.blog.domain.entity.InterviewCategory;
 import com.blog.domain.entity.InterviewQuestion;
+import com.blog.event.InterviewQuestionChangedEvent;
 import com.blog.mapper.InterviewCategoryMapper;
 import com.blog.mapper.InterviewQuestionMapper;
 import com.blog.service.IInterviewQuestionService;
+import com.blog.service.ISearchService;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +48,21 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
     @Autowired
     private InterviewCategoryMapper interviewCategoryMapper;
     
+    @Autowired
+    private ViewCountRecorder viewCountRecorder;
+    
+    @Autowired
+    private ISearchService searchService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ContentStore contentStore;
+    
+    @Autowired
+    private ContentWriter contentWriter;
+    
     @Override
     public IPage<InterviewQuestion> getQuestionsByPage(InterviewQuestionQueryDTO queryDTO) {
         // 创建分页对象
@@ -52,13 +76,17 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
             queryWrapper.eq("category_id", queryDTO.getCategoryId());
         }
         
-        // 添加关键词搜索（标题和内容）
+        // 添加关键词搜索（标题和内容）：由全文索引召回全部候选ID，避免对大字段做 LIKE 全表扫描；索引无法匹配时退回 LIKE
         if (StringUtils.hasText(queryDTO.getKeyword())) {
-            queryWrapper.and(wrapper -> wrapper
-                    .like("title", queryDTO.getKeyword())
-                    .or()
-                    .like("content", queryDTO.getKeyword())
-            );
+            if (searchService.canMatch(queryDTO.getKeyword())) {
+                List<Long> matchedIds = searchService.matchQuestionIds(queryDTO.getKeyword(), false);
+                if (matchedIds.isEmpty()) {
+                    return page;
+                }
+                queryWrapper.in("id", matchedIds);
+            } else {
+                likeKeyword(queryWrapper, queryDTO.getKeyword());
+            }
         }
         
         // 添加难度过滤
@@ -81,6 +109,7 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
         
         // 执行查询
         IPage<InterviewQuestion> questionPage = interviewQuestionMapper.selectPage(page, queryWrapper);
+        inflateContent(questionPage.getRecords());
         
         return questionPage;
     }
@@ -91,10 +120,12 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
         if (question == null) {
             throw new BusinessException(ResultEnum.DATA_NOT_FOUND, "面试题不存在");
         }
+        inflateContent(question);
         
-        // 增加查看次数
-        question.setViewCount(question.getViewCount() + 1);
-        interviewQuestionMapper.updateById(question);
+        // 增加查看次数：先记入内存计数器，由定时任务批量写回，返回值合并尚未持久化的增量
+        viewCountRecorder.recordQuestionView(id);
+        int viewCount = question.getViewCount() != null ? question.getViewCount() : 0;
+        question.setViewCount(viewCount + (int) viewCountRecorder.pendingQuestionViews(id));
         
         return question;
     }
@@ -117,6 +148,7 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
         question.setCollectCount(0);
         question.setLikeCount(0);
         question.setCommentCount(0);
+        contentWriter.prepare(question, null);
         
         // 保存到数据库
         int result = interviewQuestionMapper.insert(question);
@@ -124,6 +156,8 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
             throw new BusinessException(ResultEnum.OPERATION_FAILED, "创建面试题失败");
         }
         
+        eventPublisher.publishEvent(new InterviewQuestionChangedEvent(List.of(question.getId())));
+        inflateContent(question);
         return question;
     }
     
@@ -149,6 +183,7 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
         InterviewQuestion question = new InterviewQuestion();
         BeanUtils.copyProperties(updateDTO, question);
         question.setUpdateTime(LocalDateTime.now());
+        contentWriter.prepare(question, existingQuestion.getContentHash());
         
         // 只更新非空字段
         int result = interviewQuestionMapper.updateById(question);
@@ -156,11 +191,29 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
             throw new BusinessException(ResultEnum.OPERATION_FAILED, "更新面试题失败");
         }
         
+        eventPublisher.publishEvent(new InterviewQuestionChangedEvent(List.of(id)));
+        
         // 重新查询并返回
         InterviewQuestion updatedQuestion = interviewQuestionMapper.selectById(updateDTO.getId());
+        inflateContent(updatedQuestion);
         return updatedQuestion;
     }
     
+    /**
+     * 填充外置到正文存储的内容和 HTML，多条记录合并为一次查询
+     */
+    private void inflateContent(Collection<InterviewQuestion> questions) {
+        if (questions == null || questions.isEmpty()) {
+            return;
+        }
+        contentStore.inflate(questions, InterviewQuestion::getContentRef, InterviewQuestion::setContent,
+                InterviewQuestion::getContentHtmlRef, InterviewQuestion::setContentHtml);
+    }
+
+    private void inflateContent(InterviewQuestion question) {
+        inflateContent(List.of(question));
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public boolean deleteById(Long id) {
@@ -175,6 +228,7 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
             throw new BusinessException(ResultEnum.OPERATION_FAILED, "删除面试题失败");
         }
         
+        eventPublisher.publishEvent(new InterviewQuestionChangedEvent(List.of(id)));
         return true;
     }
     
@@ -190,6 +244,7 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
             throw new BusinessException(ResultEnum.OPERATION_FAILED, "批量删除面试题失败");
         }
         
+        eventPublisher.publishEvent(new InterviewQuestionChangedEvent(ids));
         return true;
     }
     
@@ -217,6 +272,7 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
             throw new BusinessException(ResultEnum.OPERATION_FAILED, "更新状态失败");
         }
         
+        eventPublisher.publishEvent(new InterviewQuestionChangedEvent(List.of(id)));
         return true;
     }
     
@@ -246,7 +302,9 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
                    .orderByAsc("sort_order")
                    .orderByDesc("create_time");
         
-        return interviewQuestionMapper.selectList(queryWrapper);
+        List<InterviewQuestion> questions = interviewQuestionMapper.selectList(queryWrapper);
+        inflateContent(questions);
+        return questions;
     }
     
     @Override
@@ -272,21 +330,36 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
     public IPage<InterviewQuestion> search(String keyword, Integer pageNo, Integer pageSize) {
         Page<InterviewQuestion> page = new Page<>(pageNo != null ? pageNo : 1, pageSize != null ? pageSize : 10);
         
-        QueryWrapper<InterviewQuestion> queryWrapper = new QueryWrapper<>();
-        
-        if (StringUtils.hasText(keyword)) {
-            queryWrapper.and(wrapper -> wrapper
-                    .like("title", keyword)
-                    .or()
-                    .like("content", keyword)
-            );
+        // 无关键词或索引无法匹配时按默认顺序列出已启用题目
+        if (!StringUtils.hasText(keyword) || !searchService.canMatch(keyword)) {
+            QueryWrapper<InterviewQuestion> queryWrapper = new QueryWrapper<>();
+            if (StringUtils.hasText(keyword)) {
+                likeKeyword(queryWrapper, keyword);
+            }
+            queryWrapper.eq("status", 1)
+                       .orderByAsc("sort_order")
+                       .orderByDesc("create_time");
+            IPage<InterviewQuestion> questionPage = interviewQuestionMapper.selectPage(page, queryWrapper);
+            inflateContent(questionPage.getRecords());
+            return questionPage;
         }
         
-        queryWrapper.eq("status", 1)
-                   .orderByAsc("sort_order")
-                   .orderByDesc("create_time");
-        
-        return interviewQuestionMapper.selectPage(page, queryWrapper);
+        // 有关键词时由全文索引按相关度排序，只回表读取当前页
+        List<Long> matchedIds = searchService.matchQuestionIds(keyword, true);
+        page.setTotal(matchedIds.size());
+        int from = (int) ((page.getCurrent() - 1) * page.getSize());
+        if (from >= matchedIds.size()) {
+            return page;
+        }
+        List<Long> pageIds = matchedIds.subList(from, (int) Math.min(matchedIds.size(), from + page.getSize()));
+        Map<Long, InterviewQuestion> questions = interviewQuestionMapper.selectBatchIds(pageIds).stream()
+                .collect(Collectors.toMap(InterviewQuestion::getId, Function.identity()));
+        page.setRecords(pageIds.stream()
+                .map(questions::get)
+                .filter(question -> question != null)
+                .collect(Collectors.toList()));
+        inflateContent(page.getRecords());
+        return page;
     }
     
     @Override
@@ -301,6 +374,21 @@ public class InterviewQuestionServiceImpl extends ServiceImpl<InterviewQuestionM
         queryWrapper.last("ORDER BY RAND() LIMIT 1");
         
         List<InterviewQuestion> questions = interviewQuestionMapper.selectList(queryWrapper);
-        return questions.isEmpty() ? null : questions.get(0);
+        if (questions.isEmpty()) {
+            return null;
+        }
+        inflateContent(questions.get(0));
+        return questions.get(0);
+    }
+    
+    /**
+     * 标题或正文包含关键词，用于全文索引无法匹配的关键词（如单个汉字）
+     */
+    private static void likeKeyword(QueryWrapper<InterviewQuestion> queryWrapper, String keyword) {
+        queryWrapper.and(wrapper -> wrapper
+                .like("title", keyword)
+                .or()
+                .like("content", keyword)
+        );
     }
 }
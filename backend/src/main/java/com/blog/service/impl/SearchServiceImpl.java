@@ -0,0 +1,161 @@
+package com.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.blog.content.ContentStore;
+import com.blog.domain.dto.PageDTO;
+import com.blog.domain.entity.InterviewQuestion;
+import com.blog.domain.po.Articles;
+import com.blog.domain.vo.SearchHitVO;
+import com.blog.mapper.ArticlesMapper;
+import com.blog.mapper.InterviewQuestionMapper;
+import com.blog.search.Bm25Index;
+import com.blog.search.CjkBigramTokenizer;
+import com.blog.search.Highlighter;
+import com.blog.search.SearchIndexer;
+import com.blog.service.ISearchService;
+import com.blog.utils.MarkdownUtils;
+import com.blog.utils.StringUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 全文搜索服务实现类
+ *
+ * <p>索引只负责召回和排序，当前页的标题、正文按主键回表读取后再生成高亮片段</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements ISearchService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int SNIPPET_LENGTH = 120;
+
+    private final SearchIndexer searchIndexer;
+    private final ArticlesMapper articlesMapper;
+    private final InterviewQuestionMapper interviewQuestionMapper;
+    private final ContentStore contentStore;
+
+    @Override
+    public PageDTO<SearchHitVO> searchArticles(String keyword, Integer pageNo, Integer pageSize) {
+        if (StringUtils.isBlank(keyword)) {
+            return PageDTO.empty(0L, 0L);
+        }
+        List<Bm25Index.Hit> hits = searchIndexer.getArticleIndex()
+                .search(keyword, id -> Integer.valueOf(1).equals(searchIndexer.articleStatus(id)));
+        List<Bm25Index.Hit> pageHits = slice(hits, pageNo, pageSize);
+        if (pageHits.isEmpty()) {
+            return PageDTO.empty((long) hits.size(), pages(hits.size(), pageSize));
+        }
+        Map<Long, Articles> rows = articlesMapper.selectList(Wrappers.<Articles>lambdaQuery()
+                        .select(Articles::getId, Articles::getTitle, Articles::getSummary, Articles::getContent,
+                                Articles::getContentRef)
+                        .in(Articles::getId, pageHits.stream().map(Bm25Index.Hit::id).toList()))
+                .stream()
+                .collect(Collectors.toMap(Articles::getId, Function.identity()));
+        // 摘要要围绕命中的关键词截取，外置的正文需要解压，每页只查询一次
+        contentStore.inflate(rows.values(), Articles::getContentRef, Articles::setContent);
+        List<SearchHitVO> list = new ArrayList<>(pageHits.size());
+        for (Bm25Index.Hit hit : pageHits) {
+            Articles article = rows.get(hit.id());
+            if (article == null) {
+                continue;
+            }
+            String text = MarkdownUtils.toPlainText(article.getContent());
+            if (text.isEmpty() && article.getSummary() != null) {
+                text = article.getSummary();
+            }
+            list.add(toHit(hit, article.getTitle(), text, keyword));
+        }
+        return new PageDTO<>((long) hits.size(), pages(hits.size(), pageSize), list);
+    }
+
+    @Override
+    public PageDTO<SearchHitVO> searchQuestions(String keyword, Integer pageNo, Integer pageSize) {
+        if (StringUtils.isBlank(keyword)) {
+            return PageDTO.empty(0L, 0L);
+        }
+        List<Bm25Index.Hit> hits = searchIndexer.getQuestionIndex()
+                .search(keyword, id -> Integer.valueOf(1).equals(searchIndexer.questionStatus(id)));
+        List<Bm25Index.Hit> pageHits = slice(hits, pageNo, pageSize);
+        if (pageHits.isEmpty()) {
+            return PageDTO.empty((long) hits.size(), pages(hits.size(), pageSize));
+        }
+        Map<Long, InterviewQuestion> rows = interviewQuestionMapper.selectList(Wrappers.<InterviewQuestion>lambdaQuery()
+                        .select(InterviewQuestion::getId, InterviewQuestion::getTitle, InterviewQuestion::getContent,
+                                InterviewQuestion::getContentRef)
+                        .in(InterviewQuestion::getId, pageHits.stream().map(Bm25Index.Hit::id).toList()))
+                .stream()
+                .collect(Collectors.toMap(InterviewQuestion::getId, Function.identity()));
+        contentStore.inflate(rows.values(), InterviewQuestion::getContentRef, InterviewQuestion::setContent);
+        List<SearchHitVO> list = new ArrayList<>(pageHits.size());
+        for (Bm25Index.Hit hit : pageHits) {
+            InterviewQuestion question = rows.get(hit.id());
+            if (question == null) {
+                continue;
+            }
+            list.add(toHit(hit, question.getTitle(), MarkdownUtils.toPlainText(question.getContent()), keyword));
+        }
+        return new PageDTO<>((long) hits.size(), pages(hits.size(), pageSize), list);
+    }
+
+    @Override
+    public boolean canMatch(String keyword) {
+        if (StringUtils.isBlank(keyword) || !searchIndexer.isReady()) {
+            return false;
+        }
+        List<String> tokens = CjkBigramTokenizer.tokenize(keyword);
+        // 单个汉字只会与单字成段的文本匹配，正文中的汉字都已切成二元词项
+        return !tokens.isEmpty() && tokens.stream()
+                .noneMatch(token -> token.codePointCount(0, token.length()) == 1 && CjkBigramTokenizer.isCjk(token.codePointAt(0)));
+    }
+
+    @Override
+    public List<Long> matchQuestionIds(String keyword, boolean enabledOnly) {
+        if (StringUtils.isBlank(keyword)) {
+            return new ArrayList<>();
+        }
+        return searchIndexer.getQuestionIndex()
+                .search(keyword, enabledOnly ? id -> Integer.valueOf(1).equals(searchIndexer.questionStatus(id)) : null)
+                .stream()
+                .map(Bm25Index.Hit::id)
+                .collect(Collectors.toList());
+    }
+
+    private static SearchHitVO toHit(Bm25Index.Hit hit, String title, String text, String keyword) {
+        return new SearchHitVO()
+                .setId(hit.id())
+                .setTitle(Highlighter.highlight(title, keyword))
+                .setSnippet(Highlighter.snippet(text, keyword, SNIPPET_LENGTH))
+                .setScore(hit.score());
+    }
+
+    private static List<Bm25Index.Hit> slice(List<Bm25Index.Hit> hits, Integer pageNo, Integer pageSize) {
+        int size = normalizeSize(pageSize);
+        int from = (Math.max(pageNo == null ? 1 : pageNo, 1) - 1) * size;
+        if (from >= hits.size()) {
+            return new ArrayList<>();
+        }
+        return hits.subList(from, Math.min(hits.size(), from + size));
+    }
+
+    private static long pages(int total, Integer pageSize) {
+        int size = normalizeSize(pageSize);
+        return (total + size - 1) / size;
+    }
+
+    private static int normalizeSize(Integer pageSize) {
+        if (pageSize == null || pageSize < 1) {
+            return 10;
+        }
+        return Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+}
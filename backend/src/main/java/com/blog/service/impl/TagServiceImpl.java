@@ -0,0 +1,122 @@
+package com.blog.service.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.blog.cache.ArticleDetailCache;
+import com.blog.cache.ResourceVersions;
+import com.blog.counter.TagRanking;
+import com.blog.domain.dto.TagCreateDTO;
+import com.blog.domain.dto.TagUpdateDTO;
+import com.blog.domain.entity.Tag;
+import com.blog.domain.vo.TagVO;
+import com.blog.exception.BusinessException;
+import com.blog.exception.ErrorCode;
+import com.blog.mapper.TagMapper;
+import com.blog.service.ITagService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 标签服务实现类
+ *
+ * <p>列表与热门标签直接读取 {@link TagRanking} 的快照，写操作落库后增量更新快照</p>
+ * <p>文章详情和列表带有标签名称，标签改名或删除后清除关联文章的详情缓存并递增文章集合版本</p>
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements ITagService {
+
+    private static final String DEFAULT_COLOR = "#1890ff";
+
+    private final TagRanking tagRanking;
+    private final ArticleDetailCache articleDetailCache;
+    private final ResourceVersions resourceVersions;
+
+    @Override
+    public List<TagVO> getTags() {
+        return tagRanking.all();
+    }
+
+    @Override
+    public List<TagVO> getHotTags(int limit) {
+        return tagRanking.hot(limit);
+    }
+
+    @Override
+    public TagVO createTag(TagCreateDTO dto) {
+        checkNameUnique(dto.getName(), null);
+        Tag tag = new Tag()
+                .setName(dto.getName())
+                .setDescription(dto.getDescription() != null ? dto.getDescription() : "")
+                .setColor(dto.getColor() != null ? dto.getColor() : DEFAULT_COLOR)
+                .setUseCount(0);
+        save(tag);
+        TagVO vo = TagRanking.toVO(tag);
+        tagRanking.saved(vo);
+        return vo;
+    }
+
+    @Override
+    public TagVO updateTag(Long id, TagUpdateDTO dto) {
+        Tag existing = getById(id);
+        if (existing == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND, "标签不存在");
+        }
+        checkNameUnique(dto.getName(), id);
+        // use_count 由关联增量维护，这里不更新
+        Tag update = new Tag()
+                .setId(id)
+                .setName(dto.getName())
+                .setDescription(dto.getDescription() != null ? dto.getDescription() : "")
+                .setColor(dto.getColor() != null ? dto.getColor() : DEFAULT_COLOR);
+        updateById(update);
+
+        TagVO cached = tagRanking.get(id);
+        TagVO vo = TagRanking.toVO(existing)
+                .setName(update.getName())
+                .setDescription(update.getDescription())
+                .setColor(update.getColor())
+                .setUpdateTime(update.getUpdateTime());
+        if (cached != null) {
+            vo.setUseCount(cached.getUseCount());
+        }
+        tagRanking.saved(vo);
+        if (!update.getName().equals(existing.getName())) {
+            articlesChanged(id);
+        }
+        return vo;
+    }
+
+    @Override
+    public void deleteTag(Long id) {
+        if (!removeById(id)) {
+            throw new BusinessException(ErrorCode.NOT_FOUND, "标签不存在");
+        }
+        tagRanking.removed(id);
+        articlesChanged(id);
+    }
+
+    /**
+     * 关联文章展示的标签发生变化
+     */
+    private void articlesChanged(Long tagId) {
+        articleDetailCache.evict(baseMapper.selectArticleIdsByTagId(tagId));
+        resourceVersions.bump(ResourceVersions.ARTICLES);
+    }
+
+    private void checkNameUnique(String name, Long excludeId) {
+        boolean exists = lambdaQuery()
+                .eq(Tag::getName, name)
+                .ne(excludeId != null, Tag::getId, excludeId)
+                .exists();
+        if (exists) {
+            throw new BusinessException(ErrorCode.PARAM_ERROR, "标签名称已存在");
+        }
+    }
+}
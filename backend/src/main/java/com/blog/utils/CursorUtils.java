@@ -0,0 +1,60 @@
+package com.blog.utils;
+
+import com.blog.common.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标分页工具类
+ *
+ * <p>将 (create_time, id) 复合键编码为不透明的 URL 安全字符串，客户端只需原样回传</p>
+ */
+public class CursorUtils {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final char SEPARATOR = '_';
+
+    private CursorUtils() {
+    }
+
+    /**
+     * 编码游标
+     * @param createTime 当前页最后一条记录的创建时间
+     * @param id 当前页最后一条记录的ID
+     * @return 游标字符串
+     */
+    public static String encode(LocalDateTime createTime, Long id) {
+        String raw = createTime.format(FORMATTER) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     * @param cursor 游标字符串
+     * @return 游标对应的复合键
+     */
+    public static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            if (idx <= 0) {
+                throw new BadRequestException("无效的分页游标");
+            }
+            LocalDateTime createTime = LocalDateTime.parse(raw.substring(0, idx), FORMATTER);
+            Long id = Long.valueOf(raw.substring(idx + 1));
+            return new Cursor(createTime, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("无效的分页游标", e);
+        }
+    }
+
+    /**
+     * 游标复合键
+     */
+    public record Cursor(LocalDateTime createTime, Long id) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.blog.utils;
+
+import java.util.regex.Pattern;
+
+/**
+ * Markdown 文本处理工具
+ */
+public class MarkdownUtils {
+
+    private static final Pattern FENCED_CODE = Pattern.compile("```[\\s\\S]*?(```|$)");
+    private static final Pattern IMAGE = Pattern.compile("!\\[[^\\]]*]\\([^)]*\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern LINE_PREFIX = Pattern.compile("(?m)^\\s*(#{1,6}\\s+|>\\s?|[-*+]\\s+|\\d+\\.\\s+)");
+    private static final Pattern EMPHASIS = Pattern.compile("[*_~`]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private MarkdownUtils() {
+    }
+
+    /**
+     * 去除 Markdown 标记，得到单行纯文本
+     *
+     * @param markdown Markdown 文本
+     * @return 纯文本，入参为空时返回空串
+     */
+    public static String toPlainText(String markdown) {
+        if (StringUtils.isBlank(markdown)) {
+            return "";
+        }
+        String text = FENCED_CODE.matcher(markdown).replaceAll(" ");
+        text = IMAGE.matcher(text).replaceAll("");
+        text = LINK.matcher(text).replaceAll("$1");
+        text = HTML_TAG.matcher(text).replaceAll("");
+        text = LINE_PREFIX.matcher(text).replaceAll("");
+        text = EMPHASIS.matcher(text).replaceAll("");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    /**
+     * 从 Markdown 文本生成摘要
+     *
+     * @param markdown Markdown 文本
+     * @param maxLength 摘要最大字符数
+     * @return 纯文本摘要，超出长度时以省略号结尾
+     */
+    public static String excerpt(String markdown, int maxLength) {
+        String text = toPlainText(markdown);
+        if (text.length() <= maxLength) {
+            return text;
+        }
+        return text.substring(0, maxLength) + "...";
+    }
+}
@@ -23,6 +23,11 @@ CREATE TABLE IF NOT EXISTS interview_question (
     category_id BIGINT NOT NULL COMMENT '分类ID',
     title VARCHAR(255) NOT NULL COMMENT '题目标题',
     content LONGTEXT NOT NULL COMMENT '题目内容（Markdown格式）',
+    content_html LONGTEXT COMMENT '题目内容（HTML格式），写入时渲染',
+    content_toc TEXT COMMENT '题目目录（JSON）',
+    content_hash CHAR(64) COMMENT '最近一次渲染时的内容哈希',
+    content_ref CHAR(64) COMMENT '内容在content_blobs中的引用，非空时content为空串',
+    content_html_ref CHAR(64) COMMENT 'HTML在content_blobs中的引用，非空时content_html为空串',
     difficulty INT NOT NULL COMMENT '难度等级：1-简单，2-中等，3-困难',
     status INT DEFAULT 1 COMMENT '状态：0-禁用，1-启用',
     source VARCHAR(100) COMMENT '来源',
@@ -40,6 +45,8 @@ CREATE TABLE IF NOT EXISTS interview_question (
     KEY idx_sort_order (sort_order),
     KEY idx_view_count (view_count),
     KEY idx_create_time (create_time),
+    KEY idx_content_ref (content_ref),
+    KEY idx_content_html_ref (content_html_ref),
     FOREIGN KEY (category_id) REFERENCES interview_category(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='面试题表';
 
@@ -0,0 +1,121 @@
+package com.blog.counter;
+
+import com.blog.domain.dto.ArticleFacetRowDTO;
+import com.blog.domain.po.Articles;
+import com.blog.enums.ArticleStatus;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.mapper.ArticlesMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文章筛选项计数器测试
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+class ArticleFacetCounterTest {
+
+    private final List<String> sent = new ArrayList<>();
+    private final List<ArticleFacetRowDTO> aggregate = new ArrayList<>();
+
+    /**
+     * 聚合查询执行期间触发的回调，模拟对账查询与文章变更并发
+     */
+    private Runnable duringAggregate = () -> { };
+
+    private ArticleFacetCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = newCounter();
+    }
+
+    @Test
+    void movesPublishedCountBetweenCategories() {
+        counter.onArticleChanged(event(published(1L, 10L), published(1L, 20L)));
+
+        assertEquals(Map.of(20L, 1L), counter.publishedCategoryCounts());
+    }
+
+    @Test
+    void skipsBroadcastWhenNothingCounted() {
+        counter.onArticleChanged(event(published(1L, 10L), published(1L, 10L)));
+
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void keepsDeltasReceivedDuringReconcile() {
+        aggregate.add(row(10L, 2L));
+        duringAggregate = () -> counter.onArticleChanged(event(published(3L, 10L), draft(3L, 10L)));
+
+        counter.reconcile();
+
+        assertEquals(Map.of(10L, 1L), counter.publishedCategoryCounts());
+    }
+
+    @Test
+    void appliesDeltasFromOtherNodes() {
+        counter.onArticleChanged(event(draft(1L, 10L), published(1L, 10L)));
+        ArticleFacetCounter other = newCounter();
+        ReflectionTestUtils.setField(other, "epoch", "other");
+
+        other.onMessage(new DefaultMessage("blog:article:facet".getBytes(StandardCharsets.UTF_8),
+                sent.get(0).getBytes(StandardCharsets.UTF_8)), null);
+
+        assertEquals(Map.of(10L, 1L), other.publishedCategoryCounts());
+    }
+
+    private ArticleFacetCounter newCounter() {
+        ArticlesMapper mapper = (ArticlesMapper) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ArticlesMapper.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "selectFacetAggregate" -> {
+                        duringAggregate.run();
+                        yield aggregate;
+                    }
+                    case "selectTagArticleCounts" -> List.of();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        StringRedisTemplate redis = new StringRedisTemplate() {
+            @Override
+            public Long convertAndSend(String channel, Object message) {
+                sent.add((String) message);
+                return 1L;
+            }
+        };
+        return new ArticleFacetCounter(mapper, null, null, null, redis, null);
+    }
+
+    private static ArticleChangedEvent event(Articles before, Articles after) {
+        return new ArticleChangedEvent(List.of(new ArticleChangedEvent.Change(before, after)));
+    }
+
+    private static Articles published(Long id, Long categoryId) {
+        return new Articles().setId(id).setCategoryId(categoryId).setStatus(ArticleStatus.PUBLISHED.getValue());
+    }
+
+    private static Articles draft(Long id, Long categoryId) {
+        return new Articles().setId(id).setCategoryId(categoryId).setStatus(ArticleStatus.DRAFT.getValue());
+    }
+
+    private static ArticleFacetRowDTO row(Long categoryId, Long count) {
+        ArticleFacetRowDTO row = new ArticleFacetRowDTO();
+        row.setCategoryId(categoryId);
+        row.setStatus(ArticleStatus.PUBLISHED.getValue());
+        row.setCount(count);
+        return row;
+    }
+}
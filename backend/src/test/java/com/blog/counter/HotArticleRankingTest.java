@@ -0,0 +1,101 @@
+package com.blog.counter;
+
+import com.blog.domain.po.Articles;
+import com.blog.enums.ArticleStatus;
+import com.blog.event.ArticleChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 热门文章排行测试
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+class HotArticleRankingTest {
+
+    private HotArticleRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        ranking = new HotArticleRanking(null);
+        ReflectionTestUtils.setField(ranking, "halfLife", Duration.ofHours(24));
+        ReflectionTestUtils.setField(ranking, "size", 2);
+    }
+
+    @Test
+    void publishesSeveralArticlesIntoNonEmptyRanking() {
+        ranking.onArticleChanged(publish(1L, 2L, 3L));
+        ranking.onArticleChanged(publish(4L));
+
+        assertEquals(2, ranking.top(10).size());
+    }
+
+    @Test
+    void ordersByAccumulatedScore() {
+        ranking.onArticleChanged(publish(1L, 2L, 3L));
+        ranking.recordView(3L);
+        ranking.recordComment(2L);
+        ranking.apply();
+
+        assertEquals(List.of(2L, 3L), ranking.top(10));
+
+        ranking.recordLike(1L);
+        ranking.recordLike(1L);
+        ranking.recordLike(1L);
+        ranking.apply();
+
+        assertEquals(List.of(1L, 2L), ranking.top(10));
+    }
+
+    @Test
+    void refillsFromRemainingScoresWhenUnpublished() {
+        ranking.onArticleChanged(publish(1L, 2L, 3L));
+        ranking.recordComment(1L);
+        ranking.recordLike(2L);
+        ranking.recordView(3L);
+        ranking.apply();
+
+        ranking.onArticleChanged(new ArticleChangedEvent(List.of(
+                new ArticleChangedEvent.Change(published(1L), unpublished(1L)))));
+
+        assertEquals(List.of(2L, 3L), ranking.top(10));
+    }
+
+    @Test
+    void ignoresEventsOfUnknownArticles() {
+        ranking.onArticleChanged(publish(1L));
+        ranking.recordView(99L);
+        ranking.apply();
+
+        assertEquals(List.of(1L), ranking.top(10));
+
+        ranking.onArticleChanged(new ArticleChangedEvent(List.of(
+                new ArticleChangedEvent.Change(published(99L), null))));
+
+        assertEquals(List.of(1L), ranking.top(10));
+    }
+
+    private static ArticleChangedEvent publish(Long... ids) {
+        List<ArticleChangedEvent.Change> changes = new ArrayList<>();
+        for (Long id : ids) {
+            changes.add(new ArticleChangedEvent.Change(null, published(id)));
+        }
+        return new ArticleChangedEvent(changes);
+    }
+
+    private static Articles published(Long id) {
+        return new Articles().setId(id).setStatus(ArticleStatus.PUBLISHED.getValue());
+    }
+
+    private static Articles unpublished(Long id) {
+        return new Articles().setId(id).setStatus(ArticleStatus.UNPUBLISHED.getValue());
+    }
+}
@@ -0,0 +1,80 @@
+package com.blog.revision;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 按行差异编码测试
+ *
+ * @author 梁俊荣
+ * @since 2025-09-24
+ */
+class LineDeltaTest {
+
+    @Test
+    void roundTripsTypicalEdits() {
+        String base = "# 标题\n\n第一段\n第二段\n第三段\n";
+        assertRoundTrip(base, base);
+        assertRoundTrip(base, "# 标题\n\n第一段\n新增一行\n第二段\n第三段\n");
+        assertRoundTrip(base, "# 标题\n\n第二段\n第三段\n");
+        assertRoundTrip(base, "# 新标题\n\n第一段\n第二段\n第三段");
+        assertRoundTrip("", "只有一行");
+        assertRoundTrip("只有一行", "");
+        assertRoundTrip("a\nb\nc", "c\nb\na");
+    }
+
+    @Test
+    void givesUpWhenEditDistanceExceedsLimit() {
+        StringBuilder base = new StringBuilder();
+        StringBuilder target = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            base.append("旧").append(i).append('\n');
+            target.append("新").append(i).append('\n');
+        }
+        assertNull(LineDelta.diff(base.toString(), target.toString()));
+    }
+
+    @Test
+    void roundTripsRandomEdits() {
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            List<String> lines = randomLines(random, random.nextInt(30));
+            String base = String.join("\n", lines);
+            List<String> edited = new ArrayList<>(lines);
+            int edits = random.nextInt(6);
+            for (int i = 0; i < edits; i++) {
+                int op = random.nextInt(3);
+                if (op == 0 || edited.isEmpty()) {
+                    edited.add(random.nextInt(edited.size() + 1), "行" + random.nextInt(5));
+                } else if (op == 1) {
+                    edited.remove(random.nextInt(edited.size()));
+                } else {
+                    edited.set(random.nextInt(edited.size()), "改" + random.nextInt(5));
+                }
+            }
+            assertRoundTrip(base, String.join("\n", edited));
+        }
+    }
+
+    private static void assertRoundTrip(String base, String target) {
+        String delta = LineDelta.diff(base, target);
+        assertNotNull(delta);
+        assertEquals(target, LineDelta.apply(base, delta));
+    }
+
+    private static List<String> randomLines(Random random, int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // 取值范围小，制造大量重复行
+            lines.add("行" + random.nextInt(5));
+        }
+        return lines;
+    }
+}
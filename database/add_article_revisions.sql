@@ -0,0 +1,24 @@
+-- ================================================
+-- 文章版本历史 - 新增脚本
+-- ================================================
+-- 创建时间: 2025-09-24
+-- 说明: 每次正文变化记录一个版本，定期保存全文快照，其余版本只保存相对上一版本的按行差异；
+--       快照全文可外置到 content_blobs，由 payload_ref 引用
+-- ================================================
+
+USE blog_system;
+
+CREATE TABLE IF NOT EXISTS article_revisions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    article_id BIGINT NOT NULL COMMENT '文章ID',
+    revision_no INT NOT NULL COMMENT '版本号，同一文章内从1递增',
+    base_no INT NOT NULL COMMENT '重建所依赖的快照版本号，等于revision_no时为快照',
+    title VARCHAR(200) COMMENT '版本标题',
+    payload LONGTEXT COMMENT '快照时为全文，否则为相对上一版本的按行差异',
+    payload_ref CHAR(64) COMMENT '快照全文在content_blobs中的引用，非空时payload为空串',
+    content_length INT COMMENT '版本正文字符数',
+    content_hash CHAR(64) COMMENT '版本正文哈希',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_article_revision (article_id, revision_no),
+    INDEX idx_payload_ref (payload_ref)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='文章版本表';
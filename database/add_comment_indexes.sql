@@ -0,0 +1,11 @@
+-- ================================================
+-- 评论树查询 - 索引脚本
+-- ================================================
+-- 创建时间: 2025-09-24
+-- 说明: 根评论按 (create_time, id) 游标分页，添加 (article_id, parent_id, status, create_time) 联合索引；
+--       回复按 parent_id 递归展开，沿用 idx_parent_id
+-- ================================================
+
+USE blog_system;
+
+ALTER TABLE comments ADD INDEX idx_article_parent_status_time (article_id, parent_id, status, create_time);
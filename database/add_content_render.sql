@@ -0,0 +1,19 @@
+-- ================================================
+-- Markdown 写入时渲染 - 新增脚本
+-- ================================================
+-- 创建时间: 2025-09-24
+-- 说明: 文章与面试题保存渲染后的 HTML、目录和内容哈希；
+--       已有数据由应用启动后的回填任务渲染（content_hash 为空的行）
+-- ================================================
+
+USE blog_system;
+
+ALTER TABLE articles
+    ADD COLUMN content_html LONGTEXT COMMENT '文章内容(HTML)，写入时由Markdown渲染' AFTER content,
+    ADD COLUMN content_toc TEXT COMMENT '文章目录(JSON)' AFTER content_html,
+    ADD COLUMN content_hash CHAR(64) COMMENT '最近一次渲染时的内容哈希' AFTER content_toc;
+
+-- interview_question 已有 content_html 列
+ALTER TABLE interview_question
+    ADD COLUMN content_toc TEXT COMMENT '题目目录（JSON）' AFTER content_html,
+    ADD COLUMN content_hash CHAR(64) COMMENT '最近一次渲染时的内容哈希' AFTER content_toc;
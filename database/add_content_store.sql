@@ -0,0 +1,31 @@
+-- ================================================
+-- 正文压缩存储 - 新增脚本
+-- ================================================
+-- 创建时间: 2025-09-24
+-- 说明: 超过阈值的文章与面试题正文（Markdown 与 HTML）压缩后存入 content_blobs，按 SHA-256 去重，
+--       主表只保留引用；已有数据由应用启动后的迁移任务分批迁移
+-- ================================================
+
+USE blog_system;
+
+CREATE TABLE IF NOT EXISTS content_blobs (
+    hash CHAR(64) PRIMARY KEY COMMENT '原文SHA-256哈希',
+    codec TINYINT NOT NULL COMMENT '压缩算法: 1-deflate',
+    raw_length INT NOT NULL COMMENT '原文字节数',
+    data LONGBLOB NOT NULL COMMENT '压缩后的数据',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_create_time (create_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='正文存储表';
+
+ALTER TABLE articles
+    ADD COLUMN content_ref CHAR(64) COMMENT '正文在content_blobs中的引用，非空时content为空串' AFTER content_hash,
+    ADD COLUMN content_html_ref CHAR(64) COMMENT 'HTML在content_blobs中的引用，非空时content_html为空串' AFTER content_ref,
+    ADD COLUMN content_excerpt VARCHAR(1000) COMMENT '正文开头片段，用于生成列表摘要' AFTER content_html_ref,
+    ADD INDEX idx_content_ref (content_ref),
+    ADD INDEX idx_content_html_ref (content_html_ref);
+
+ALTER TABLE interview_question
+    ADD COLUMN content_ref CHAR(64) COMMENT '内容在content_blobs中的引用，非空时content为空串' AFTER content_hash,
+    ADD COLUMN content_html_ref CHAR(64) COMMENT 'HTML在content_blobs中的引用，非空时content_html为空串' AFTER content_ref,
+    ADD INDEX idx_content_ref (content_ref),
+    ADD INDEX idx_content_html_ref (content_html_ref);
@@ -0,0 +1,15 @@
+-- ================================================
+-- 定时发布 - 新增脚本
+-- ================================================
+-- 创建时间: 2025-09-24
+-- 说明: 新增文章状态 4-定时发布，并为启动时恢复定时任务添加 (status, publish_time) 联合索引
+-- ================================================
+
+USE blog_system;
+
+ALTER TABLE articles MODIFY COLUMN status INT DEFAULT 0 COMMENT '状态: 0-草稿 1-已发布 2-已下架 3-待审核 4-定时发布';
+
+ALTER TABLE articles ADD INDEX idx_status_publish_time (status, publish_time);
+
+-- 已设置未来发布时间但已被标记为发布的文章改为定时发布
+UPDATE articles SET status = 4 WHERE status = 1 AND publish_time > NOW() AND deleted = 0;
@@ -0,0 +1,16 @@
+-- ================================================
+-- 正文开头片段回填 - 数据脚本
+-- ================================================
+-- 创建时间: 2025-09-24
+-- 说明: 列表摘要改为只读取 content_excerpt，不再读取 content 大字段；
+--       content_excerpt 原先只在正文外置时填写，这里为未外置的已有文章补齐（与应用写入时一样保留前1000个字符）
+--       需在 add_content_store.sql 之后执行，可重复执行
+-- ================================================
+
+USE blog_system;
+
+UPDATE articles
+SET content_excerpt = LEFT(content, 1000), update_time = update_time
+WHERE (content_excerpt IS NULL OR content_excerpt = '')
+  AND (content_ref IS NULL OR content_ref = '')
+  AND content IS NOT NULL AND content != '';
@@ -43,6 +43,7 @@ CREATE TABLE IF NOT EXISTS tags (
     name VARCHAR(50) UNIQUE NOT NULL COMMENT '标签名称',
     color VARCHAR(20) COMMENT '标签颜色',
     description TEXT COMMENT '标签描述',
+    use_count INT DEFAULT 0 COMMENT '使用次数，关联的未删除文章数',
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     deleted INT DEFAULT 0,
@@ -54,11 +55,17 @@ CREATE TABLE IF NOT EXISTS articles (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     title VARCHAR(200) NOT NULL COMMENT '文章标题',
     content LONGTEXT COMMENT '文章内容(Markdown)',
+    content_html LONGTEXT COMMENT '文章内容(HTML)，写入时由Markdown渲染',
+    content_toc TEXT COMMENT '文章目录(JSON)',
+    content_hash CHAR(64) COMMENT '最近一次渲染时的内容哈希',
+    content_ref CHAR(64) COMMENT '正文在content_blobs中的引用，非空时content为空串',
+    content_html_ref CHAR(64) COMMENT 'HTML在content_blobs中的引用，非空时content_html为空串',
+    content_excerpt VARCHAR(1000) COMMENT '正文开头片段，用于生成列表摘要',
     summary TEXT COMMENT '文章摘要',
     cover_image VARCHAR(255) COMMENT '封面图片URL',
     author_id BIGINT NOT NULL COMMENT '作者ID',
     category_id BIGINT COMMENT '分类ID',
-    status INT DEFAULT 0 COMMENT '状态: 0-草稿 1-已发布 2-已下架',
+    status INT DEFAULT 0 COMMENT '状态: 0-草稿 1-已发布 2-已下架 3-待审核 4-定时发布',
     is_top INT DEFAULT 0 COMMENT '是否置顶',
     is_recommend INT DEFAULT 0 COMMENT '是否推荐',
     view_count BIGINT DEFAULT 0 COMMENT '浏览量',
@@ -77,6 +84,10 @@ CREATE TABLE IF NOT EXISTS articles (
     INDEX idx_category_id (category_id),
     INDEX idx_status (status),
     INDEX idx_publish_time (publish_time),
+    INDEX idx_status_publish_time (status, publish_time),
+    INDEX idx_deleted_create_time_id (deleted, create_time DESC, id DESC),
+    INDEX idx_content_ref (content_ref),
+    INDEX idx_content_html_ref (content_html_ref),
     FULLTEXT idx_fulltext (title, content, summary)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='文章表';
 
@@ -105,7 +116,8 @@ CREATE TABLE IF NOT EXISTS comments (
     deleted INT DEFAULT 0,
     INDEX idx_article_id (article_id),
     INDEX idx_user_id (user_id),
-    INDEX idx_parent_id (parent_id)
+    INDEX idx_parent_id (parent_id),
+    INDEX idx_article_parent_status_time (article_id, parent_id, status, create_time)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='评论表';
 
 -- 面试题分类表
@@ -202,6 +214,32 @@ CREATE TABLE IF NOT EXISTS article_collections (
     INDEX idx_user_id (user_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='文章收藏记录表';
 
+-- 正文存储表：超过阈值的正文压缩后按哈希去重保存
+CREATE TABLE IF NOT EXISTS content_blobs (
+    hash CHAR(64) PRIMARY KEY COMMENT '原文SHA-256哈希',
+    codec TINYINT NOT NULL COMMENT '压缩算法: 1-deflate',
+    raw_length INT NOT NULL COMMENT '原文字节数',
+    data LONGBLOB NOT NULL COMMENT '压缩后的数据',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_create_time (create_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='正文存储表';
+
+-- 文章版本表：定期全文快照，其余版本保存相对上一版本的差异
+CREATE TABLE IF NOT EXISTS article_revisions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    article_id BIGINT NOT NULL COMMENT '文章ID',
+    revision_no INT NOT NULL COMMENT '版本号，同一文章内从1递增',
+    base_no INT NOT NULL COMMENT '重建所依赖的快照版本号，等于revision_no时为快照',
+    title VARCHAR(200) COMMENT '版本标题',
+    payload LONGTEXT COMMENT '快照时为全文，否则为相对上一版本的按行差异',
+    payload_ref CHAR(64) COMMENT '快照全文在content_blobs中的引用，非空时payload为空串',
+    content_length INT COMMENT '版本正文字符数',
+    content_hash CHAR(64) COMMENT '版本正文哈希',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_article_revision (article_id, revision_no),
+    INDEX idx_payload_ref (payload_ref)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='文章版本表';
+
 -- 插入初始数据
 -- 插入管理员用户
 INSERT INTO users (username, password, email, nickname, role, status) VALUES